@@ -0,0 +1,55 @@
+package com.finova.account.cache;
+
+import com.finova.account.dto.AccountResponse;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache for account lookups.
+ *
+ * <p>Responses are cached by account ID. Account numbers never change once assigned, so lookups
+ * by number only cache the number-to-ID mapping and resolve the response through the ID cache;
+ * invalidating an account therefore only touches one key. Puts and evictions issued inside a
+ * transaction are deferred until it commits.
+ */
+@Component
+public class AccountLookupCache {
+
+  public static final String ACCOUNTS_BY_ID = "accountsById";
+  public static final String ACCOUNT_IDS_BY_NUMBER = "accountIdsByNumber";
+
+  private final Cache accountsById;
+  private final Cache accountIdsByNumber;
+
+  public AccountLookupCache(CacheManager cacheManager) {
+    this.accountsById = new TransactionAwareCacheDecorator(cacheManager.getCache(ACCOUNTS_BY_ID));
+    this.accountIdsByNumber = cacheManager.getCache(ACCOUNT_IDS_BY_NUMBER);
+  }
+
+  public AccountResponse getById(Long id, Callable<AccountResponse> loader) {
+    return get(accountsById, id, loader);
+  }
+
+  public Long getIdByNumber(String accountNumber, Callable<Long> loader) {
+    return get(accountIdsByNumber, accountNumber, loader);
+  }
+
+  public void evict(Long id) {
+    accountsById.evict(id);
+  }
+
+  private static <T> T get(Cache cache, Object key, Callable<T> loader) {
+    try {
+      return cache.get(key, loader);
+    } catch (Cache.ValueRetrievalException e) {
+      // Surface the loader's own exception, e.g. "Account not found"
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.finova.account.config;
+
+import com.finova.account.cache.AccountLookupCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${account.cache.maximum-size:100000}") long maximumSize,
+      @Value("${account.cache.expire-after-write-seconds:30}") long expireAfterWriteSeconds) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    // Stats feed the cache.gets / cache.evictions meters bound by actuator at startup
+    cacheManager.setCaffeine(
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+            .recordStats());
+    // Fixed cache names so the caches exist (and are metered) before the first lookup
+    cacheManager.setCacheNames(
+        List.of(AccountLookupCache.ACCOUNTS_BY_ID, AccountLookupCache.ACCOUNT_IDS_BY_NUMBER));
+    return cacheManager;
+  }
+}
@@ -4,19 +4,30 @@ import com.finova.account.dto.AccountCreateRequest;
 import com.finova.account.dto.AccountResponse;
 import com.finova.account.dto.AccountUpdateRequest;
 import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.dto.BalanceUpdateResult;
+import com.finova.account.dto.CursorPage;
 import com.finova.account.model.Account;
+import com.finova.account.repository.AccountSummary;
+import com.finova.account.service.AccountExportService;
 import com.finova.account.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,6 +43,7 @@ import org.springframework.web.bind.annotation.*;
 public class AccountController {
 
   private final AccountService accountService;
+  private final AccountExportService accountExportService;
 
   // --- Common Role Definitions for Readability ---
   private static final String ROLE_EMPLOYEE_MANAGER_ADMIN =
@@ -108,6 +120,57 @@ public class AccountController {
     return ResponseEntity.ok(responses);
   }
 
+  @GetMapping("/summaries")
+  @Operation(
+      summary = "Get account summaries",
+      description = "Retrieve a lightweight, paginated account listing")
+  @PreAuthorize(ROLE_EMPLOYEE_MANAGER_ADMIN)
+  public ResponseEntity<Page<AccountSummary>> getAccountSummaries(
+      @Parameter(description = "Pagination information") Pageable pageable,
+      @RequestParam(required = false) Account.AccountType accountType,
+      @RequestParam(required = false) Account.AccountStatus status) {
+    log.debug("Retrieving account summaries with pagination");
+    Page<AccountSummary> summaries =
+        accountService.getAccountSummaries(pageable, accountType, status);
+    return ResponseEntity.ok(summaries);
+  }
+
+  @GetMapping("/seek")
+  @Operation(
+      summary = "Get accounts by cursor",
+      description =
+          "Keyset-paginated account listing; pass nextCursor from the previous page to continue")
+  @PreAuthorize(ROLE_EMPLOYEE_MANAGER_ADMIN)
+  public ResponseEntity<CursorPage<AccountSummary>> getAccountsAfter(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size,
+      @RequestParam(required = false) Account.AccountType accountType,
+      @RequestParam(required = false) Account.AccountStatus status) {
+    log.debug("Retrieving accounts after cursor: {}", cursor);
+    CursorPage<AccountSummary> page =
+        accountService.getAccountsAfter(cursor, size, accountType, status);
+    return ResponseEntity.ok(page);
+  }
+
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export all accounts",
+      description = "Stream the full account book as newline-delimited JSON or CSV")
+  @PreAuthorize(ROLE_MANAGER_ADMIN_COMPLIANCE)
+  public void exportAccounts(
+      @RequestParam(defaultValue = "NDJSON") AccountExportService.ExportFormat format,
+      HttpServletResponse response)
+      throws IOException {
+    log.info("Exporting all accounts as {}", format);
+    boolean csv = format == AccountExportService.ExportFormat.CSV;
+    response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"accounts." + (csv ? "csv" : "ndjson") + "\"");
+    long rows = accountExportService.exportAccounts(format, response.getOutputStream());
+    log.info("Exported {} accounts", rows);
+  }
+
   // ----------------------------------------------------------------------------------
   // 3. Balance Retrieval
   // ----------------------------------------------------------------------------------
@@ -162,6 +225,19 @@ public class AccountController {
     return ResponseEntity.ok(response);
   }
 
+  @PatchMapping("/balances")
+  @Operation(
+      summary = "Update balances in bulk",
+      description =
+          "Apply credits/debits across many accounts in one transaction with a per-item result")
+  @PreAuthorize(ROLE_EMPLOYEE_MANAGER_ADMIN)
+  public ResponseEntity<List<BalanceUpdateResult>> updateBalances(
+      @RequestBody @NotEmpty @Size(max = 5000) List<@Valid BalanceUpdateRequest> requests) {
+    log.info("Applying {} balance updates in bulk", requests.size());
+    List<BalanceUpdateResult> results = accountService.updateBalances(requests);
+    return ResponseEntity.ok(results);
+  }
+
   // ----------------------------------------------------------------------------------
   // 5. Account Status Management (Freeze/Unfreeze/Status)
   // ----------------------------------------------------------------------------------
@@ -232,4 +308,11 @@ public class AccountController {
     boolean isValid = accountService.validateTransaction(id, amount, transactionType);
     return ResponseEntity.ok(isValid);
   }
-}
\ No newline at end of file
+
+  // Amounts the ledger cannot post exactly, and other arguments the service refuses
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<String> invalidArgument(IllegalArgumentException e) {
+    log.warn("Rejected request: {}", e.getMessage());
+    return ResponseEntity.badRequest().body(e.getMessage());
+  }
+}
@@ -47,4 +47,45 @@ public class AccountResponse {
   private String createdBy;
   private String updatedBy;
   private Long version;
+
+  /**
+   * Copies an entity into a response with the all-args constructor, avoiding the intermediate
+   * builder on the hot read path. Argument order follows the field declarations above.
+   */
+  public static AccountResponse from(Account account) {
+    return new AccountResponse(
+        account.getId(),
+        account.getAccountNumber(),
+        account.getCustomerId(),
+        account.getAccountName(),
+        account.getAccountType(),
+        account.getStatus(),
+        account.getBalance(),
+        account.getAvailableBalance(),
+        account.getOverdraftLimit(),
+        account.getMinimumBalance(),
+        account.getInterestRate(),
+        account.getCurrency(),
+        account.getBranchCode(),
+        account.getRoutingNumber(),
+        account.getIban(),
+        account.getSwiftCode(),
+        account.getIsFrozen(),
+        account.getFreezeReason(),
+        account.getFrozenAt(),
+        account.getFrozenBy(),
+        account.getLastTransactionDate(),
+        account.getLastStatementDate(),
+        account.getNextStatementDate(),
+        account.getMaturityDate(),
+        account.getOpenedBy(),
+        account.getClosedAt(),
+        account.getClosedBy(),
+        account.getClosureReason(),
+        account.getCreatedAt(),
+        account.getUpdatedAt(),
+        account.getCreatedBy(),
+        account.getUpdatedBy(),
+        account.getVersion());
+  }
 }
@@ -2,6 +2,7 @@ package com.finova.account.dto;
 
 import java.math.BigDecimal;
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -10,8 +11,12 @@ import lombok.Data;
 @Data
 public class BalanceUpdateRequest {
 
+  // Only read by the bulk endpoint; the single-item endpoint takes the ID from the path
+  private Long accountId;
+
   @NotNull(message = "Amount is required")
   @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+  @Digits(integer = 17, fraction = 2, message = "Amount must have at most two decimal places")
   private BigDecimal amount;
 
   @NotBlank(message = "Transaction type is required")
@@ -0,0 +1,21 @@
+package com.finova.account.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceUpdateResult {
+
+  private int index;
+  private Long accountId;
+  private boolean success;
+  private BigDecimal balance;
+  private BigDecimal availableBalance;
+  private String error;
+}
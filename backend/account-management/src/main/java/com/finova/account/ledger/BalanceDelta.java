@@ -0,0 +1,14 @@
+package com.finova.account.ledger;
+
+import java.time.LocalDateTime;
+import lombok.Value;
+
+/** Coalesced balance change for one account, applied to the accounts table as a relative UPDATE. */
+@Value
+public class BalanceDelta {
+  Long accountId;
+  long balanceCents;
+  long availableBalanceCents;
+  LocalDateTime lastTransactionDate;
+  String updatedBy;
+}
@@ -0,0 +1,51 @@
+package com.finova.account.ledger;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes coalesced ledger deltas with relative JDBC batch updates. Runs in its own transaction so
+ * a flush triggered from inside a service call is not rolled back together with that call.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceDeltaWriter {
+
+  private static final String UPDATE_SQL =
+      "UPDATE accounts SET balance = balance + ?, available_balance = available_balance + ?,"
+          + " last_transaction_date = ?, updated_by = ?, updated_at = ?, version = version + 1"
+          + " WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void write(List<BalanceDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        UPDATE_SQL,
+        deltas,
+        deltas.size(),
+        (ps, delta) -> {
+          ps.setBigDecimal(1, BigDecimal.valueOf(delta.getBalanceCents(), 2));
+          ps.setBigDecimal(2, BigDecimal.valueOf(delta.getAvailableBalanceCents(), 2));
+          ps.setTimestamp(
+              3,
+              delta.getLastTransactionDate() != null
+                  ? Timestamp.valueOf(delta.getLastTransactionDate())
+                  : null);
+          ps.setString(4, delta.getUpdatedBy());
+          ps.setTimestamp(5, now);
+          ps.setLong(6, delta.getAccountId());
+        });
+  }
+}
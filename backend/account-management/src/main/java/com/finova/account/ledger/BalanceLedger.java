@@ -0,0 +1,268 @@
+package com.finova.account.ledger;
+
+import com.finova.account.model.Account;
+import com.finova.account.repository.AccountRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write-behind balance engine for hot accounts.
+ *
+ * <p>Balances are held as {@code long} cents per account and guarded by a fixed array of striped
+ * locks, so concurrent postings to one account serialize on a monitor instead of colliding on the
+ * entity {@code @Version}. Pending deltas are coalesced per account and flushed to the {@code
+ * accounts} table in JDBC batches on a fixed delay. Entries are loaded lazily on first posting and
+ * must be invalidated by every non-balance mutation of the account.
+ *
+ * <p>The ledger is per-node: with more than one instance, balance postings for an account must be
+ * routed to a single node.
+ */
+@Component
+@Slf4j
+public class BalanceLedger {
+
+  private final AccountRepository accountRepository;
+  private final BalanceDeltaWriter deltaWriter;
+  private final boolean enabled;
+  private final int batchSize;
+  private final ReentrantLock[] stripes;
+  // Serializes flush and evict so a drained delta is never dropped by a concurrent eviction
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Map<Long, LedgerEntry> entries = new ConcurrentHashMap<>();
+  private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+  public BalanceLedger(
+      AccountRepository accountRepository,
+      BalanceDeltaWriter deltaWriter,
+      @Value("${account.ledger.enabled:false}") boolean enabled,
+      @Value("${account.ledger.stripes:64}") int stripeCount,
+      @Value("${account.ledger.batch-size:500}") int batchSize) {
+    this.accountRepository = accountRepository;
+    this.deltaWriter = deltaWriter;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    // Round up to a power of two so the stripe index is a mask
+    int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Applies a CREDIT or DEBIT posting using the same eligibility rules as {@link
+   * Account#canCredit()} and {@link Account#canDebit(BigDecimal)}.
+   */
+  public LedgerPosting apply(
+      Long accountId, String transactionType, BigDecimal amount, String processedBy) {
+    long amountCents = toCents(amount);
+    ReentrantLock lock = stripeFor(accountId);
+    lock.lock();
+    try {
+      LedgerEntry entry = entries.get(accountId);
+      if (entry == null) {
+        Account account =
+            accountRepository
+                .findById(accountId)
+                .orElseThrow(
+                    () -> new RuntimeException("Account not found with ID: " + accountId));
+        entry = new LedgerEntry(account);
+        entries.put(accountId, entry);
+      }
+
+      if ("CREDIT".equals(transactionType)) {
+        if (!entry.canCredit()) {
+          throw new RuntimeException("Account cannot accept credits in current state");
+        }
+        entry.credit(amountCents);
+      } else if ("DEBIT".equals(transactionType)) {
+        if (!entry.canDebit(amountCents)) {
+          throw new RuntimeException("Insufficient funds or account cannot be debited");
+        }
+        entry.debit(amountCents);
+      } else {
+        throw new RuntimeException("Invalid transaction type: " + transactionType);
+      }
+
+      entry.touch(LocalDateTime.now(), processedBy);
+      dirty.add(accountId);
+      return entry.snapshot();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the in-memory position if the account is currently held by the ledger. */
+  public Optional<LedgerPosting> peek(Long accountId) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    ReentrantLock lock = stripeFor(accountId);
+    lock.lock();
+    try {
+      LedgerEntry entry = entries.get(accountId);
+      return entry == null ? Optional.empty() : Optional.of(entry.snapshot());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes out any pending delta for the account and drops it from the ledger, so the caller can
+   * read and mutate the row through JPA. The entry is dropped again after the surrounding
+   * transaction commits, so a posting that raced the mutation reloads the committed state.
+   */
+  public void invalidate(Long accountId) {
+    if (!enabled) {
+      return;
+    }
+    evict(accountId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              evict(accountId);
+            }
+          });
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${account.ledger.flush-interval-ms:200}")
+  public void flush() {
+    if (dirty.isEmpty()) {
+      return;
+    }
+    flushLock.lock();
+    try {
+      drainAndWrite();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void drainAndWrite() {
+    List<BalanceDelta> batch = new ArrayList<>(Math.min(batchSize, dirty.size()));
+    for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+      Long accountId = it.next();
+      it.remove();
+      ReentrantLock lock = stripeFor(accountId);
+      lock.lock();
+      try {
+        LedgerEntry entry = entries.get(accountId);
+        BalanceDelta delta = entry != null ? entry.drain() : null;
+        if (delta != null) {
+          batch.add(delta);
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (batch.size() >= batchSize) {
+        writeBatch(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    writeBatch(batch);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    log.info("Flushing balance ledger before shutdown, {} dirty accounts", dirty.size());
+    flush();
+  }
+
+  private void evict(Long accountId) {
+    flushLock.lock();
+    ReentrantLock lock = stripeFor(accountId);
+    lock.lock();
+    try {
+      LedgerEntry entry = entries.get(accountId);
+      if (entry == null) {
+        return;
+      }
+      BalanceDelta delta = entry.drain();
+      if (delta != null) {
+        // Written under the stripe lock: if this fails the entry stays and keeps its delta
+        try {
+          deltaWriter.write(List.of(delta));
+        } catch (RuntimeException e) {
+          entry.restore(delta);
+          throw e;
+        }
+      }
+      entries.remove(accountId);
+      dirty.remove(accountId);
+    } finally {
+      lock.unlock();
+      flushLock.unlock();
+    }
+  }
+
+  private void writeBatch(List<BalanceDelta> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      deltaWriter.write(batch);
+      log.debug("Flushed {} coalesced balance deltas", batch.size());
+    } catch (RuntimeException e) {
+      log.error("Failed to flush {} balance deltas, will retry: {}", batch.size(), e.getMessage());
+      for (BalanceDelta delta : batch) {
+        ReentrantLock lock = stripeFor(delta.getAccountId());
+        lock.lock();
+        try {
+          LedgerEntry entry = entries.get(delta.getAccountId());
+          if (entry != null) {
+            entry.restore(delta);
+            dirty.add(delta.getAccountId());
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+
+  private ReentrantLock stripeFor(Long accountId) {
+    int h = accountId.hashCode();
+    h ^= (h >>> 16);
+    return stripes[h & (stripes.length - 1)];
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code amount} has more than two decimal places; posting
+   *     a rounded amount would move a different sum than the caller asked for
+   */
+  static long toCents(BigDecimal amount) {
+    if (amount == null) {
+      return 0L;
+    }
+    BigDecimal cents;
+    try {
+      cents = amount.setScale(2, RoundingMode.UNNECESSARY);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount has more than two decimal places: " + amount);
+    }
+    return cents.unscaledValue().longValueExact();
+  }
+}
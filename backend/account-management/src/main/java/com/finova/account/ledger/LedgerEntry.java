@@ -0,0 +1,102 @@
+package com.finova.account.ledger;
+
+import com.finova.account.model.Account;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Mutable in-memory position of a single account. All access is guarded by the stripe lock that
+ * {@link BalanceLedger} assigns to the account id, so no field here is volatile.
+ */
+final class LedgerEntry {
+
+  private final Account account;
+  private final long overdraftCents;
+
+  private long balanceCents;
+  private long availableBalanceCents;
+  private long pendingBalanceCents;
+  private long pendingAvailableBalanceCents;
+  private LocalDateTime lastTransactionDate;
+  private String updatedBy;
+
+  LedgerEntry(Account account) {
+    this.account = account;
+    this.overdraftCents = BalanceLedger.toCents(account.getOverdraftLimit());
+    this.balanceCents = BalanceLedger.toCents(account.getBalance());
+    this.availableBalanceCents = BalanceLedger.toCents(account.getAvailableBalance());
+    this.lastTransactionDate = account.getLastTransactionDate();
+    this.updatedBy = account.getUpdatedBy();
+  }
+
+  // Mirrors Account.canCredit()
+  boolean canCredit() {
+    return !Boolean.TRUE.equals(account.getIsFrozen())
+        && (account.getStatus() == Account.AccountStatus.ACTIVE
+            || account.getStatus() == Account.AccountStatus.DORMANT);
+  }
+
+  // Mirrors Account.canDebit(amount)
+  boolean canDebit(long amountCents) {
+    if (Boolean.TRUE.equals(account.getIsFrozen())
+        || account.getStatus() != Account.AccountStatus.ACTIVE) {
+      return false;
+    }
+    return amountCents <= availableBalanceCents + overdraftCents;
+  }
+
+  void credit(long amountCents) {
+    balanceCents = Math.addExact(balanceCents, amountCents);
+    availableBalanceCents = Math.addExact(availableBalanceCents, amountCents);
+    pendingBalanceCents += amountCents;
+    pendingAvailableBalanceCents += amountCents;
+  }
+
+  void debit(long amountCents) {
+    balanceCents = Math.subtractExact(balanceCents, amountCents);
+    availableBalanceCents = Math.subtractExact(availableBalanceCents, amountCents);
+    pendingBalanceCents -= amountCents;
+    pendingAvailableBalanceCents -= amountCents;
+  }
+
+  void touch(LocalDateTime when, String by) {
+    this.lastTransactionDate = when;
+    this.updatedBy = by;
+  }
+
+  boolean hasPending() {
+    return pendingBalanceCents != 0 || pendingAvailableBalanceCents != 0;
+  }
+
+  /** Hands the coalesced pending delta to the caller and resets it. */
+  BalanceDelta drain() {
+    if (!hasPending()) {
+      return null;
+    }
+    BalanceDelta delta =
+        new BalanceDelta(
+            account.getId(),
+            pendingBalanceCents,
+            pendingAvailableBalanceCents,
+            lastTransactionDate,
+            updatedBy);
+    pendingBalanceCents = 0;
+    pendingAvailableBalanceCents = 0;
+    return delta;
+  }
+
+  /** Puts a drained delta back after a failed write so the next flush retries it. */
+  void restore(BalanceDelta delta) {
+    pendingBalanceCents += delta.getBalanceCents();
+    pendingAvailableBalanceCents += delta.getAvailableBalanceCents();
+  }
+
+  LedgerPosting snapshot() {
+    return new LedgerPosting(
+        account,
+        BigDecimal.valueOf(balanceCents, 2),
+        BigDecimal.valueOf(availableBalanceCents, 2),
+        lastTransactionDate,
+        updatedBy);
+  }
+}
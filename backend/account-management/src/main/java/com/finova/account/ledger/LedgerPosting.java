@@ -0,0 +1,19 @@
+package com.finova.account.ledger;
+
+import com.finova.account.model.Account;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Value;
+
+/**
+ * Result of applying a posting to the ledger. {@code account} is the detached entity the entry was
+ * loaded from; its balance fields are stale and must not be read or mutated.
+ */
+@Value
+public class LedgerPosting {
+  Account account;
+  BigDecimal balance;
+  BigDecimal availableBalance;
+  LocalDateTime lastTransactionDate;
+  String updatedBy;
+}
@@ -17,8 +17,10 @@ import org.hibernate.annotations.UpdateTimestamp;
     indexes = {
       @Index(name = "idx_account_number", columnList = "accountNumber", unique = true),
       @Index(name = "idx_customer_id", columnList = "customerId"),
-      @Index(name = "idx_account_type", columnList = "accountType"),
-      @Index(name = "idx_status", columnList = "status")
+      // Keyset pagination: equality filters first, then the id seek column
+      @Index(name = "idx_account_type_id", columnList = "accountType, id"),
+      @Index(name = "idx_status_id", columnList = "status, id"),
+      @Index(name = "idx_account_type_status_id", columnList = "accountType, status, id")
     })
 @Data
 @Builder
@@ -199,15 +201,31 @@ public class Account {
 
   // Business methods
   public boolean canDebit(BigDecimal amount) {
-    if (isFrozen || status != AccountStatus.ACTIVE) {
+    return canDebit(isFrozen, status, availableBalance, overdraftLimit, amount);
+  }
+
+  public boolean canCredit() {
+    return canCredit(isFrozen, status);
+  }
+
+  // Shared with callers that only hold a snapshot of the account, e.g. a cached response
+  public static boolean canDebit(
+      Boolean isFrozen,
+      AccountStatus status,
+      BigDecimal availableBalance,
+      BigDecimal overdraftLimit,
+      BigDecimal amount) {
+    if (Boolean.TRUE.equals(isFrozen) || status != AccountStatus.ACTIVE) {
       return false;
     }
-    BigDecimal totalAvailable = availableBalance.add(overdraftLimit);
+    BigDecimal totalAvailable =
+        availableBalance.add(overdraftLimit != null ? overdraftLimit : BigDecimal.ZERO);
     return amount.compareTo(totalAvailable) <= 0;
   }
 
-  public boolean canCredit() {
-    return !isFrozen && (status == AccountStatus.ACTIVE || status == AccountStatus.DORMANT);
+  public static boolean canCredit(Boolean isFrozen, AccountStatus status) {
+    return !Boolean.TRUE.equals(isFrozen)
+        && (status == AccountStatus.ACTIVE || status == AccountStatus.DORMANT);
   }
 
   public void freeze(String reason, String frozenBy) {
@@ -0,0 +1,22 @@
+package com.finova.account.model;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** HiLo counter backing account number generation; one row per sequence name. */
+@Entity
+@Table(name = "account_number_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountNumberBlock {
+
+  @Id
+  @Column(name = "sequence_name", length = 50)
+  private String sequenceName;
+
+  @Column(name = "next_hi", nullable = false)
+  private Long nextHi;
+}
@@ -0,0 +1,11 @@
+package com.finova.account.numbering;
+
+/**
+ * Hands out the "hi" half of a HiLo sequence. Each call returns a value no other caller on any node
+ * has received for the same sequence name, so the block {@code [hi * blockSize, (hi + 1) *
+ * blockSize)} belongs exclusively to the caller.
+ */
+public interface AccountNumberBlockAllocator {
+
+  long allocate(String sequenceName);
+}
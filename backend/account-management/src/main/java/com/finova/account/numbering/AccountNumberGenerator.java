@@ -0,0 +1,7 @@
+package com.finova.account.numbering;
+
+/** Produces account numbers that are unique across nodes without consulting the accounts table. */
+public interface AccountNumberGenerator {
+
+  String next();
+}
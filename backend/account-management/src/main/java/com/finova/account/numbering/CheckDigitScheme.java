@@ -0,0 +1,86 @@
+package com.finova.account.numbering;
+
+/** Check digit algorithms appended to the numeric payload of an account number. */
+public enum CheckDigitScheme {
+
+  /** Mod-10 Luhn, one digit. Catches all single-digit errors and most adjacent transpositions. */
+  LUHN(1) {
+    @Override
+    void append(char[] digits, int payloadLength) {
+      int sum = 0;
+      boolean doubleIt = true;
+      for (int i = payloadLength - 1; i >= 0; i--) {
+        int d = digits[i] - '0';
+        if (doubleIt) {
+          d *= 2;
+          if (d > 9) {
+            d -= 9;
+          }
+        }
+        sum += d;
+        doubleIt = !doubleIt;
+      }
+      digits[payloadLength] = (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    @Override
+    public boolean isValid(CharSequence number) {
+      int sum = 0;
+      boolean doubleIt = false;
+      for (int i = number.length() - 1; i >= 0; i--) {
+        int d = number.charAt(i) - '0';
+        if (doubleIt) {
+          d *= 2;
+          if (d > 9) {
+            d -= 9;
+          }
+        }
+        sum += d;
+        doubleIt = !doubleIt;
+      }
+      return sum % 10 == 0;
+    }
+  },
+
+  /** ISO 7064 MOD 97-10 as used by IBAN, two digits. */
+  MOD97(2) {
+    @Override
+    void append(char[] digits, int payloadLength) {
+      int check = 98 - (mod97(digits, payloadLength) * 100) % 97;
+      digits[payloadLength] = (char) ('0' + check / 10);
+      digits[payloadLength + 1] = (char) ('0' + check % 10);
+    }
+
+    @Override
+    public boolean isValid(CharSequence number) {
+      int remainder = 0;
+      for (int i = 0; i < number.length(); i++) {
+        remainder = (remainder * 10 + (number.charAt(i) - '0')) % 97;
+      }
+      return remainder == 1;
+    }
+  };
+
+  private final int digits;
+
+  CheckDigitScheme(int digits) {
+    this.digits = digits;
+  }
+
+  public int getDigits() {
+    return digits;
+  }
+
+  /** Writes the check digits into {@code digits[payloadLength ..]}. */
+  abstract void append(char[] digits, int payloadLength);
+
+  public abstract boolean isValid(CharSequence number);
+
+  private static int mod97(char[] digits, int length) {
+    int remainder = 0;
+    for (int i = 0; i < length; i++) {
+      remainder = (remainder * 10 + (digits[i] - '0')) % 97;
+    }
+    return remainder;
+  }
+}
@@ -0,0 +1,121 @@
+package com.finova.account.numbering;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed-length numeric account numbers: {@code prefix + zero-padded sequence + check digits}.
+ *
+ * <p>Sequence values come from blocks reserved through an {@link AccountNumberBlockAllocator}, so
+ * each node draws from its own range and numbers never collide. Within a block, threads claim
+ * values with a single {@code getAndIncrement}; only the thread that exhausts a block takes a lock
+ * to reserve the next one.
+ */
+@Component
+@Slf4j
+public class HiLoAccountNumberGenerator implements AccountNumberGenerator {
+
+  private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+  private final AccountNumberBlockAllocator allocator;
+  private final char[] prefix;
+  private final int length;
+  private final int sequenceWidth;
+  private final long sequenceLimit;
+  private final int blockSize;
+  private final CheckDigitScheme checkDigitScheme;
+  private final String sequenceName;
+
+  private volatile Block current = new Block(0, 0);
+
+  public HiLoAccountNumberGenerator(
+      AccountNumberBlockAllocator allocator,
+      @Value("${account.number.prefix:1001}") String prefix,
+      @Value("${account.number.length:16}") int length,
+      @Value("${account.number.block-size:1000}") int blockSize,
+      @Value("${account.number.check-digit:LUHN}") CheckDigitScheme checkDigitScheme) {
+    if (!prefix.chars().allMatch(Character::isDigit)) {
+      throw new IllegalArgumentException("Account number prefix must be numeric: " + prefix);
+    }
+    this.allocator = allocator;
+    this.prefix = prefix.toCharArray();
+    this.length = length;
+    this.sequenceWidth = length - prefix.length() - checkDigitScheme.getDigits();
+    if (sequenceWidth < 1 || sequenceWidth > 18) {
+      throw new IllegalArgumentException("Account number length leaves no room for a sequence");
+    }
+    long limit = 1;
+    for (int i = 0; i < sequenceWidth; i++) {
+      limit *= 10;
+    }
+    this.sequenceLimit = limit;
+    this.blockSize = blockSize;
+    this.checkDigitScheme = checkDigitScheme;
+    this.sequenceName = "account-number-" + prefix;
+  }
+
+  @Override
+  public String next() {
+    long value = nextSequenceValue();
+    if (value >= sequenceLimit) {
+      throw new IllegalStateException("Account number space exhausted for prefix " + sequenceName);
+    }
+
+    char[] digits = new char[length];
+    System.arraycopy(prefix, 0, digits, 0, prefix.length);
+    int payloadLength = prefix.length + sequenceWidth;
+    for (int i = payloadLength - 1; i >= prefix.length; i--) {
+      digits[i] = (char) ('0' + (int) (value % 10));
+      value /= 10;
+    }
+    checkDigitScheme.append(digits, payloadLength);
+    return new String(digits);
+  }
+
+  public CheckDigitScheme getCheckDigitScheme() {
+    return checkDigitScheme;
+  }
+
+  private long nextSequenceValue() {
+    for (; ; ) {
+      Block block = current;
+      long value = block.next.getAndIncrement();
+      if (value < block.end) {
+        return value;
+      }
+      refill(block);
+    }
+  }
+
+  private synchronized void refill(Block exhausted) {
+    if (current != exhausted) {
+      return; // another thread already swapped in a fresh block
+    }
+    for (int attempt = 1; ; attempt++) {
+      try {
+        long hi = allocator.allocate(sequenceName);
+        current = new Block(hi * blockSize, (hi + 1) * blockSize);
+        log.debug("Reserved account number block {} for {}", hi, sequenceName);
+        return;
+      } catch (DataIntegrityViolationException e) {
+        // Two nodes created the sequence row at the same time; the loser retries
+        if (attempt >= MAX_ALLOCATION_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private static final class Block {
+    private final long end;
+    private final AtomicLong next;
+
+    private Block(long start, long end) {
+      this.end = end;
+      this.next = new AtomicLong(start);
+    }
+  }
+}
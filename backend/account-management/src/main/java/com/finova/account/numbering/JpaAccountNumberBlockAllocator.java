@@ -0,0 +1,30 @@
+package com.finova.account.numbering;
+
+import com.finova.account.model.AccountNumberBlock;
+import com.finova.account.repository.AccountNumberBlockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Reserves HiLo blocks by incrementing a row-locked counter in its own short transaction. */
+@Component
+@RequiredArgsConstructor
+public class JpaAccountNumberBlockAllocator implements AccountNumberBlockAllocator {
+
+  private final AccountNumberBlockRepository blockRepository;
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long allocate(String sequenceName) {
+    AccountNumberBlock block =
+        blockRepository
+            .findForUpdate(sequenceName)
+            .orElseGet(() -> new AccountNumberBlock(sequenceName, 0L));
+    long hi = block.getNextHi();
+    block.setNextHi(hi + 1);
+    // Flush here so a concurrent first insert fails inside this call and can be retried
+    blockRepository.saveAndFlush(block);
+    return hi;
+  }
+}
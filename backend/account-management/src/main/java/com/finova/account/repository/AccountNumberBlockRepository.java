@@ -0,0 +1,18 @@
+package com.finova.account.repository;
+
+import com.finova.account.model.AccountNumberBlock;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountNumberBlockRepository extends JpaRepository<AccountNumberBlock, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM AccountNumberBlock b WHERE b.sequenceName = :sequenceName")
+  Optional<AccountNumberBlock> findForUpdate(@Param("sequenceName") String sequenceName);
+}
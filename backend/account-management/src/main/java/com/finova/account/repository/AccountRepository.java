@@ -1,11 +1,20 @@
 package com.finova.account.repository;
 
 import com.finova.account.model.Account;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -20,4 +29,57 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
   Page<Account> findByAccountType(Account.AccountType accountType, Pageable pageable);
 
   Page<Account> findByStatus(Account.AccountStatus status, Pageable pageable);
+
+  // Projected listings, e.g. AccountSummary.class
+  <T> Page<T> findByAccountTypeAndStatus(
+      Account.AccountType accountType,
+      Account.AccountStatus status,
+      Pageable pageable,
+      Class<T> projection);
+
+  <T> Page<T> findByAccountType(
+      Account.AccountType accountType, Pageable pageable, Class<T> projection);
+
+  <T> Page<T> findByStatus(Account.AccountStatus status, Pageable pageable, Class<T> projection);
+
+  <T> Page<T> findAllBy(Pageable pageable, Class<T> projection);
+
+  // Keyset listings: seek past the last seen id instead of using an offset, and skip count(*)
+  List<AccountSummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+  List<AccountSummary> findByAccountTypeAndIdGreaterThanOrderByIdAsc(
+      Account.AccountType accountType, Long afterId, Pageable limit);
+
+  List<AccountSummary> findByStatusAndIdGreaterThanOrderByIdAsc(
+      Account.AccountStatus status, Long afterId, Pageable limit);
+
+  List<AccountSummary> findByAccountTypeAndStatusAndIdGreaterThanOrderByIdAsc(
+      Account.AccountType accountType,
+      Account.AccountStatus status,
+      Long afterId,
+      Pageable limit);
+
+  // Server-side cursor for exports; must be consumed inside a read-only transaction and closed
+  @QueryHints({
+    @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+    @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+    @QueryHint(name = "org.hibernate.cacheable", value = "false")
+  })
+  @Query("SELECT a FROM Account a ORDER BY a.id")
+  Stream<Account> streamAllOrderedById();
+
+  @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+  Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+  // Single-column balance reads
+  @Query("SELECT a.balance FROM Account a WHERE a.id = :id")
+  Optional<BigDecimal> findBalanceById(@Param("id") Long id);
+
+  @Query("SELECT a.availableBalance FROM Account a WHERE a.id = :id")
+  Optional<BigDecimal> findAvailableBalanceById(@Param("id") Long id);
+
+  // Row locks are taken in ascending ID order so concurrent batches cannot deadlock
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+  List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,28 @@
+package com.finova.account.repository;
+
+import com.finova.account.model.Account;
+import java.math.BigDecimal;
+
+/**
+ * Closed projection for account listings. Spring Data selects only these columns and returns them
+ * without creating managed {@link Account} entities.
+ */
+public interface AccountSummary {
+  Long getId();
+
+  String getAccountNumber();
+
+  String getCustomerId();
+
+  String getAccountName();
+
+  Account.AccountType getAccountType();
+
+  Account.AccountStatus getStatus();
+
+  BigDecimal getBalance();
+
+  BigDecimal getAvailableBalance();
+
+  String getCurrency();
+}
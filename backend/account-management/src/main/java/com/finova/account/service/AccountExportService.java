@@ -0,0 +1,15 @@
+package com.finova.account.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AccountExportService {
+
+  enum ExportFormat {
+    NDJSON,
+    CSV
+  }
+
+  /** Streams the whole account book to {@code out} in constant memory; returns the row count. */
+  long exportAccounts(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,148 @@
+package com.finova.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.finova.account.dto.AccountResponse;
+import com.finova.account.model.Account;
+import com.finova.account.repository.AccountRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountExportServiceImpl implements AccountExportService {
+
+  // Streamed entities are detached in chunks so the persistence context stays bounded
+  private static final int CLEAR_INTERVAL = 1000;
+
+  private static final String CSV_HEADER =
+      "id,accountNumber,customerId,accountName,accountType,status,balance,availableBalance,"
+          + "currency,isFrozen,createdAt,updatedAt";
+
+  private final AccountRepository accountRepository;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportAccounts(ExportFormat format, OutputStream out) throws IOException {
+    log.info("Starting {} account export", format);
+    long rows;
+    try (Stream<Account> accounts = accountRepository.streamAllOrderedById()) {
+      rows =
+          format == ExportFormat.CSV
+              ? writeCsv(accounts.iterator(), out)
+              : writeNdjson(accounts.iterator(), out);
+    }
+    log.info("Finished {} account export, {} rows", format, rows);
+    return rows;
+  }
+
+  private long writeNdjson(Iterator<Account> accounts, OutputStream out) throws IOException {
+    long rows = 0;
+    try (SequenceWriter writer =
+        objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("\n")
+            .writeValues(out)) {
+      while (accounts.hasNext()) {
+        writer.write(AccountResponse.from(accounts.next()));
+        rows = clearPeriodically(rows + 1);
+      }
+      if (rows > 0) {
+        // The separator only goes between values; terminate the last line as well
+        writer.flush();
+        out.write('\n');
+      }
+    }
+    return rows;
+  }
+
+  private long writeCsv(Iterator<Account> accounts, OutputStream out) throws IOException {
+    long rows = 0;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 65536);
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+    while (accounts.hasNext()) {
+      Account account = accounts.next();
+      writer.write(String.valueOf(account.getId()));
+      writeCsvField(writer, account.getAccountNumber());
+      writeCsvField(writer, account.getCustomerId());
+      writeCsvField(writer, account.getAccountName());
+      writeCsvField(writer, account.getAccountType());
+      writeCsvField(writer, account.getStatus());
+      writeCsvField(writer, account.getBalance());
+      writeCsvField(writer, account.getAvailableBalance());
+      writeCsvField(writer, account.getCurrency());
+      writeCsvField(writer, account.getIsFrozen());
+      writeCsvField(writer, account.getCreatedAt());
+      writeCsvField(writer, account.getUpdatedAt());
+      writer.write('\n');
+      rows = clearPeriodically(rows + 1);
+    }
+    writer.flush();
+    return rows;
+  }
+
+  private long clearPeriodically(long rows) {
+    if (rows % CLEAR_INTERVAL == 0) {
+      entityManager.clear();
+    }
+    return rows;
+  }
+
+  private static void writeCsvField(Writer writer, Object value) throws IOException {
+    writer.write(',');
+    if (value == null) {
+      return;
+    }
+    if (value instanceof BigDecimal) {
+      writer.write(((BigDecimal) value).toPlainString());
+      return;
+    }
+    String text = value.toString();
+    // Free-text values that a spreadsheet would evaluate as a formula are prefixed with an
+    // apostrophe so they open as literal text; amounts above are the only signed values.
+    boolean formula = value instanceof String && startsLikeFormula(text);
+    if (formula) {
+      text = "'" + text;
+    }
+    boolean quote =
+        formula
+            || text.indexOf(',') >= 0
+            || text.indexOf('"') >= 0
+            || text.indexOf('\n') >= 0
+            || text.indexOf('\r') >= 0;
+    if (!quote) {
+      writer.write(text);
+      return;
+    }
+    writer.write('"');
+    writer.write(text.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  private static boolean startsLikeFormula(String text) {
+    if (text.isEmpty()) {
+      return false;
+    }
+    char first = text.charAt(0);
+    return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t'
+        || first == '\r';
+  }
+}
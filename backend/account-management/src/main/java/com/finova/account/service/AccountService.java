@@ -4,7 +4,10 @@ import com.finova.account.dto.AccountCreateRequest;
 import com.finova.account.dto.AccountResponse;
 import com.finova.account.dto.AccountUpdateRequest;
 import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.dto.BalanceUpdateResult;
+import com.finova.account.dto.CursorPage;
 import com.finova.account.model.Account;
+import com.finova.account.repository.AccountSummary;
 import java.math.BigDecimal;
 import java.util.List;
 import org.springframework.data.domain.Page;
@@ -21,6 +24,12 @@ public interface AccountService {
   Page<AccountResponse> getAllAccounts(
       Pageable pageable, Account.AccountType accountType, Account.AccountStatus status);
 
+  Page<AccountSummary> getAccountSummaries(
+      Pageable pageable, Account.AccountType accountType, Account.AccountStatus status);
+
+  CursorPage<AccountSummary> getAccountsAfter(
+      String cursor, int size, Account.AccountType accountType, Account.AccountStatus status);
+
   AccountResponse createAccount(AccountCreateRequest request);
 
   AccountResponse updateAccount(Long id, AccountUpdateRequest request);
@@ -34,6 +43,8 @@ public interface AccountService {
 
   AccountResponse updateBalance(Long id, BalanceUpdateRequest request);
 
+  List<BalanceUpdateResult> updateBalances(List<BalanceUpdateRequest> requests);
+
   // Account status operations
   AccountResponse freezeAccount(Long id, String reason);
 
@@ -1,21 +1,36 @@
 package com.finova.account.service;
 
+import com.finova.account.cache.AccountLookupCache;
 import com.finova.account.dto.AccountCreateRequest;
 import com.finova.account.dto.AccountResponse;
 import com.finova.account.dto.AccountUpdateRequest;
 import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.dto.BalanceUpdateResult;
+import com.finova.account.dto.CursorPage;
+import com.finova.account.ledger.BalanceLedger;
+import com.finova.account.ledger.LedgerPosting;
 import com.finova.account.model.Account;
+import com.finova.account.numbering.AccountNumberGenerator;
 import com.finova.account.repository.AccountRepository;
+import com.finova.account.repository.AccountSummary;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -25,29 +40,33 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccountServiceImpl implements AccountService {
 
   private final AccountRepository accountRepository;
-  private final Random random = new Random();
+  private final BalanceLedger balanceLedger;
+  private final AccountLookupCache accountLookupCache;
+  private final AccountNumberGenerator accountNumberGenerator;
 
+  // SUPPORTS: a cache hit must not open a transaction or check out a connection
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public AccountResponse getAccountById(Long id) {
     log.debug("Fetching account by ID: {}", id);
-    Account account =
-        accountRepository
-            .findById(id)
-            .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
-    return mapToResponse(account);
+    return accountLookupCache.getById(id, () -> loadAccount(id));
   }
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public AccountResponse getAccountByNumber(String accountNumber) {
     log.debug("Fetching account by account number: {}", accountNumber);
-    Account account =
-        accountRepository
-            .findByAccountNumber(accountNumber)
-            .orElseThrow(
-                () -> new RuntimeException("Account not found with number: " + accountNumber));
-    return mapToResponse(account);
+    Long id =
+        accountLookupCache.getIdByNumber(
+            accountNumber,
+            () ->
+                accountRepository
+                    .findIdByAccountNumber(accountNumber)
+                    .orElseThrow(
+                        () ->
+                            new RuntimeException(
+                                "Account not found with number: " + accountNumber)));
+    return getAccountById(id);
   }
 
   @Override
@@ -79,12 +98,61 @@ public class AccountServiceImpl implements AccountService {
     return accounts.map(this::mapToResponse);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Page<AccountSummary> getAccountSummaries(
+      Pageable pageable, Account.AccountType accountType, Account.AccountStatus status) {
+    log.debug("Fetching account summaries - Type: {}, Status: {}", accountType, status);
+
+    if (accountType != null && status != null) {
+      return accountRepository.findByAccountTypeAndStatus(
+          accountType, status, pageable, AccountSummary.class);
+    } else if (accountType != null) {
+      return accountRepository.findByAccountType(accountType, pageable, AccountSummary.class);
+    } else if (status != null) {
+      return accountRepository.findByStatus(status, pageable, AccountSummary.class);
+    }
+    return accountRepository.findAllBy(pageable, AccountSummary.class);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<AccountSummary> getAccountsAfter(
+      String cursor, int size, Account.AccountType accountType, Account.AccountStatus status) {
+    log.debug(
+        "Fetching accounts after cursor {} - Type: {}, Status: {}", cursor, accountType, status);
+
+    Long afterId = decodeCursor(cursor);
+    // One extra row tells us whether there is a next page without a count query
+    PageRequest limit = PageRequest.of(0, size + 1);
+
+    List<AccountSummary> rows;
+    if (accountType != null && status != null) {
+      rows =
+          accountRepository.findByAccountTypeAndStatusAndIdGreaterThanOrderByIdAsc(
+              accountType, status, afterId, limit);
+    } else if (accountType != null) {
+      rows =
+          accountRepository.findByAccountTypeAndIdGreaterThanOrderByIdAsc(
+              accountType, afterId, limit);
+    } else if (status != null) {
+      rows = accountRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, limit);
+    } else {
+      rows = accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+    }
+
+    boolean hasNext = rows.size() > size;
+    List<AccountSummary> content = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? encodeCursor(content.get(size - 1).getId()) : null;
+    return new CursorPage<>(content, nextCursor, hasNext);
+  }
+
   @Override
   public AccountResponse createAccount(AccountCreateRequest request) {
     log.info("Creating new account for customer: {}", request.getCustomerId());
 
-    // Generate unique account number
-    String accountNumber = generateAccountNumber();
+    // Unique by construction, so the insert never needs a retry
+    String accountNumber = accountNumberGenerator.next();
 
     // Build the account entity
     Account account =
@@ -117,6 +185,7 @@ public class AccountServiceImpl implements AccountService {
   @Override
   public AccountResponse updateAccount(Long id, AccountUpdateRequest request) {
     log.info("Updating account ID: {}", id);
+    balanceLedger.invalidate(id);
 
     Account account =
         accountRepository
@@ -154,12 +223,14 @@ public class AccountServiceImpl implements AccountService {
     Account updatedAccount = accountRepository.save(account);
     log.info("Account updated successfully: {}", id);
 
+    accountLookupCache.evict(id);
     return mapToResponse(updatedAccount);
   }
 
   @Override
   public void closeAccount(Long id, String reason) {
     log.warn("Closing account ID: {} with reason: {}", id, reason);
+    balanceLedger.invalidate(id);
 
     Account account =
         accountRepository
@@ -177,6 +248,7 @@ public class AccountServiceImpl implements AccountService {
     account.setClosureReason(reason);
 
     accountRepository.save(account);
+    accountLookupCache.evict(id);
     log.info("Account closed successfully: {}", id);
   }
 
@@ -184,22 +256,26 @@ public class AccountServiceImpl implements AccountService {
   @Transactional(readOnly = true)
   public BigDecimal getAccountBalance(Long id) {
     log.debug("Fetching balance for account ID: {}", id);
-    Account account =
-        accountRepository
-            .findById(id)
-            .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
-    return account.getBalance();
+    Optional<LedgerPosting> posting = balanceLedger.peek(id);
+    if (posting.isPresent()) {
+      return posting.get().getBalance();
+    }
+    return accountRepository
+        .findBalanceById(id)
+        .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
   }
 
   @Override
   @Transactional(readOnly = true)
   public BigDecimal getAvailableBalance(Long id) {
     log.debug("Fetching available balance for account ID: {}", id);
-    Account account =
-        accountRepository
-            .findById(id)
-            .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
-    return account.getAvailableBalance();
+    Optional<LedgerPosting> posting = balanceLedger.peek(id);
+    if (posting.isPresent()) {
+      return posting.get().getAvailableBalance();
+    }
+    return accountRepository
+        .findAvailableBalanceById(id)
+        .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
   }
 
   @Override
@@ -210,43 +286,96 @@ public class AccountServiceImpl implements AccountService {
         request.getTransactionType(),
         request.getAmount());
 
+    BigDecimal amount = request.getAmount();
+    String transactionType = request.getTransactionType().toUpperCase();
+    String processedBy = request.getProcessedBy() != null ? request.getProcessedBy() : "system";
+
+    if (balanceLedger.isEnabled()) {
+      LedgerPosting posting = balanceLedger.apply(id, transactionType, amount, processedBy);
+      log.info("Balance posted to ledger for account: {}", id);
+      // Evict rather than put: concurrent postings could put out of order and cache a stale balance
+      accountLookupCache.evict(id);
+      return mapToResponse(posting);
+    }
+
     Account account =
         accountRepository
             .findById(id)
             .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
 
-    BigDecimal amount = request.getAmount();
-    String transactionType = request.getTransactionType().toUpperCase();
-
-    if ("CREDIT".equals(transactionType)) {
-      if (!account.canCredit()) {
-        throw new RuntimeException("Account cannot accept credits in current state");
-      }
-      account.setBalance(account.getBalance().add(amount));
-      account.setAvailableBalance(account.getAvailableBalance().add(amount));
-    } else if ("DEBIT".equals(transactionType)) {
-      if (!account.canDebit(amount)) {
-        throw new RuntimeException("Insufficient funds or account cannot be debited");
-      }
-      account.setBalance(account.getBalance().subtract(amount));
-      account.setAvailableBalance(account.getAvailableBalance().subtract(amount));
-    } else {
-      throw new RuntimeException("Invalid transaction type: " + transactionType);
-    }
-
-    account.setLastTransactionDate(LocalDateTime.now());
-    account.setUpdatedBy(
-        request.getProcessedBy() != null ? request.getProcessedBy() : "system");
+    applyPosting(account, transactionType, amount, processedBy);
 
     Account updatedAccount = accountRepository.save(account);
     log.info("Balance updated successfully for account: {}", id);
 
+    accountLookupCache.evict(id);
     return mapToResponse(updatedAccount);
   }
 
+  @Override
+  public List<BalanceUpdateResult> updateBalances(List<BalanceUpdateRequest> requests) {
+    log.info("Applying {} balance updates in one batch", requests.size());
+
+    // Sorted so ledger flushes and row locks are always taken in the same order
+    TreeSet<Long> ids = new TreeSet<>();
+    for (BalanceUpdateRequest request : requests) {
+      if (request.getAccountId() != null) {
+        ids.add(request.getAccountId());
+      }
+    }
+    ids.forEach(balanceLedger::invalidate);
+
+    Map<Long, Account> accounts =
+        accountRepository.findAllByIdForUpdate(ids).stream()
+            .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+    List<BalanceUpdateResult> results = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      BalanceUpdateRequest request = requests.get(i);
+      BalanceUpdateResult.BalanceUpdateResultBuilder result =
+          BalanceUpdateResult.builder().index(i).accountId(request.getAccountId());
+
+      Account account = accounts.get(request.getAccountId());
+      if (account == null) {
+        results.add(
+            result
+                .success(false)
+                .error(
+                    request.getAccountId() == null
+                        ? "Account ID is required"
+                        : "Account not found with ID: " + request.getAccountId())
+                .build());
+        continue;
+      }
+
+      try {
+        applyPosting(
+            account,
+            request.getTransactionType().toUpperCase(),
+            request.getAmount(),
+            request.getProcessedBy() != null ? request.getProcessedBy() : "system");
+        results.add(
+            result
+                .success(true)
+                .balance(account.getBalance())
+                .availableBalance(account.getAvailableBalance())
+                .build());
+      } catch (RuntimeException e) {
+        results.add(result.success(false).error(e.getMessage()).build());
+      }
+    }
+
+    // Managed entities are written on commit as one JDBC batch (hibernate.jdbc.batch_size)
+    ids.forEach(accountLookupCache::evict);
+    long applied = results.stream().filter(BalanceUpdateResult::isSuccess).count();
+    log.info("Batch balance update applied {} of {} postings", applied, requests.size());
+    return results;
+  }
+
   @Override
   public AccountResponse freezeAccount(Long id, String reason) {
     log.warn("Freezing account ID: {} for reason: {}", id, reason);
+    balanceLedger.invalidate(id);
 
     Account account =
         accountRepository
@@ -259,12 +388,14 @@ public class AccountServiceImpl implements AccountService {
     Account frozenAccount = accountRepository.save(account);
     log.info("Account frozen successfully: {}", id);
 
+    accountLookupCache.evict(id);
     return mapToResponse(frozenAccount);
   }
 
   @Override
   public AccountResponse unfreezeAccount(Long id) {
     log.info("Unfreezing account ID: {}", id);
+    balanceLedger.invalidate(id);
 
     Account account =
         accountRepository
@@ -277,12 +408,14 @@ public class AccountServiceImpl implements AccountService {
     Account unfrozenAccount = accountRepository.save(account);
     log.info("Account unfrozen successfully: {}", id);
 
+    accountLookupCache.evict(id);
     return mapToResponse(unfrozenAccount);
   }
 
   @Override
   public AccountResponse updateAccountStatus(Long id, Account.AccountStatus status, String reason) {
     log.info("Updating status for account ID: {} to: {}", id, status);
+    balanceLedger.invalidate(id);
 
     Account account =
         accountRepository
@@ -309,25 +442,28 @@ public class AccountServiceImpl implements AccountService {
     Account updatedAccount = accountRepository.save(account);
     log.info("Account status updated successfully: {}", id);
 
+    accountLookupCache.evict(id);
     return mapToResponse(updatedAccount);
   }
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public boolean validateTransaction(Long id, BigDecimal amount, String transactionType) {
     log.debug("Validating {} transaction of {} for account ID: {}", transactionType, amount, id);
 
     try {
-      Account account =
-          accountRepository
-              .findById(id)
-              .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
+      AccountResponse account = getAccountById(id);
 
       String type = transactionType.toUpperCase();
       if ("CREDIT".equals(type)) {
-        return account.canCredit();
+        return Account.canCredit(account.getIsFrozen(), account.getStatus());
       } else if ("DEBIT".equals(type)) {
-        return account.canDebit(amount);
+        return Account.canDebit(
+            account.getIsFrozen(),
+            account.getStatus(),
+            account.getAvailableBalance(),
+            account.getOverdraftLimit(),
+            amount);
       } else {
         log.warn("Invalid transaction type: {}", transactionType);
         return false;
@@ -340,51 +476,72 @@ public class AccountServiceImpl implements AccountService {
 
   // Helper methods
 
-  private String generateAccountNumber() {
-    // Generate a 16-digit account number
-    // Format: BANK_CODE (4 digits) + BRANCH (4 digits) + ACCOUNT (8 digits)
-    StringBuilder accountNumber = new StringBuilder();
-    accountNumber.append("1000"); // Bank code
-    accountNumber.append(String.format("%04d", random.nextInt(10000))); // Branch code
-    accountNumber.append(String.format("%08d", random.nextInt(100000000))); // Account number
-    return accountNumber.toString();
+  private static String encodeCursor(Long lastId) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(("id:" + lastId).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static Long decodeCursor(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return 0L;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      if (!decoded.startsWith("id:")) {
+        throw new IllegalArgumentException(decoded);
+      }
+      return Long.parseLong(decoded.substring(3));
+    } catch (IllegalArgumentException e) {
+      throw new RuntimeException("Invalid pagination cursor: " + cursor);
+    }
+  }
+
+  private AccountResponse loadAccount(Long id) {
+    // Balances held by the write-behind ledger are newer than the row
+    Optional<LedgerPosting> posting = balanceLedger.peek(id);
+    if (posting.isPresent()) {
+      return mapToResponse(posting.get());
+    }
+    Account account =
+        accountRepository
+            .findById(id)
+            .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
+    return mapToResponse(account);
+  }
+
+  private void applyPosting(
+      Account account, String transactionType, BigDecimal amount, String processedBy) {
+    if ("CREDIT".equals(transactionType)) {
+      if (!account.canCredit()) {
+        throw new RuntimeException("Account cannot accept credits in current state");
+      }
+      account.setBalance(account.getBalance().add(amount));
+      account.setAvailableBalance(account.getAvailableBalance().add(amount));
+    } else if ("DEBIT".equals(transactionType)) {
+      if (!account.canDebit(amount)) {
+        throw new RuntimeException("Insufficient funds or account cannot be debited");
+      }
+      account.setBalance(account.getBalance().subtract(amount));
+      account.setAvailableBalance(account.getAvailableBalance().subtract(amount));
+    } else {
+      throw new RuntimeException("Invalid transaction type: " + transactionType);
+    }
+
+    account.setLastTransactionDate(LocalDateTime.now());
+    account.setUpdatedBy(processedBy);
   }
 
   private AccountResponse mapToResponse(Account account) {
-    return AccountResponse.builder()
-        .id(account.getId())
-        .accountNumber(account.getAccountNumber())
-        .customerId(account.getCustomerId())
-        .accountName(account.getAccountName())
-        .accountType(account.getAccountType())
-        .status(account.getStatus())
-        .balance(account.getBalance())
-        .availableBalance(account.getAvailableBalance())
-        .overdraftLimit(account.getOverdraftLimit())
-        .minimumBalance(account.getMinimumBalance())
-        .interestRate(account.getInterestRate())
-        .currency(account.getCurrency())
-        .branchCode(account.getBranchCode())
-        .routingNumber(account.getRoutingNumber())
-        .iban(account.getIban())
-        .swiftCode(account.getSwiftCode())
-        .isFrozen(account.getIsFrozen())
-        .freezeReason(account.getFreezeReason())
-        .frozenAt(account.getFrozenAt())
-        .frozenBy(account.getFrozenBy())
-        .lastTransactionDate(account.getLastTransactionDate())
-        .lastStatementDate(account.getLastStatementDate())
-        .nextStatementDate(account.getNextStatementDate())
-        .maturityDate(account.getMaturityDate())
-        .openedBy(account.getOpenedBy())
-        .closedAt(account.getClosedAt())
-        .closedBy(account.getClosedBy())
-        .closureReason(account.getClosureReason())
-        .createdAt(account.getCreatedAt())
-        .updatedAt(account.getUpdatedAt())
-        .createdBy(account.getCreatedBy())
-        .updatedBy(account.getUpdatedBy())
-        .version(account.getVersion())
-        .build();
+    return AccountResponse.from(account);
+  }
+
+  private AccountResponse mapToResponse(LedgerPosting posting) {
+    AccountResponse response = mapToResponse(posting.getAccount());
+    response.setBalance(posting.getBalance());
+    response.setAvailableBalance(posting.getAvailableBalance());
+    response.setLastTransactionDate(posting.getLastTransactionDate());
+    response.setUpdatedBy(posting.getUpdatedBy());
+    return response;
   }
 }
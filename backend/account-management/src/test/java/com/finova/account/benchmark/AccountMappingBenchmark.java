@@ -0,0 +1,99 @@
+package com.finova.account.benchmark;
+
+import com.finova.account.dto.AccountResponse;
+import com.finova.account.model.Account;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entity-to-response mapping cost: the original Lombok builder copy versus {@link
+ * AccountResponse#from(Account)}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountMappingBenchmark {
+
+  private Account account;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    account =
+        Account.builder()
+            .id(42L)
+            .accountNumber("1000123412345678")
+            .customerId("customer-42")
+            .accountName("Everyday checking")
+            .accountType(Account.AccountType.CHECKING)
+            .balance(new BigDecimal("1234.56"))
+            .availableBalance(new BigDecimal("1200.00"))
+            .branchCode("0001")
+            .routingNumber("021000021")
+            .lastTransactionDate(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .createdBy("system")
+            .version(7L)
+            .build();
+  }
+
+  @Benchmark
+  public AccountResponse builder() {
+    return AccountResponse.builder()
+        .id(account.getId())
+        .accountNumber(account.getAccountNumber())
+        .customerId(account.getCustomerId())
+        .accountName(account.getAccountName())
+        .accountType(account.getAccountType())
+        .status(account.getStatus())
+        .balance(account.getBalance())
+        .availableBalance(account.getAvailableBalance())
+        .overdraftLimit(account.getOverdraftLimit())
+        .minimumBalance(account.getMinimumBalance())
+        .interestRate(account.getInterestRate())
+        .currency(account.getCurrency())
+        .branchCode(account.getBranchCode())
+        .routingNumber(account.getRoutingNumber())
+        .iban(account.getIban())
+        .swiftCode(account.getSwiftCode())
+        .isFrozen(account.getIsFrozen())
+        .freezeReason(account.getFreezeReason())
+        .frozenAt(account.getFrozenAt())
+        .frozenBy(account.getFrozenBy())
+        .lastTransactionDate(account.getLastTransactionDate())
+        .lastStatementDate(account.getLastStatementDate())
+        .nextStatementDate(account.getNextStatementDate())
+        .maturityDate(account.getMaturityDate())
+        .openedBy(account.getOpenedBy())
+        .closedAt(account.getClosedAt())
+        .closedBy(account.getClosedBy())
+        .closureReason(account.getClosureReason())
+        .createdAt(account.getCreatedAt())
+        .updatedAt(account.getUpdatedAt())
+        .createdBy(account.getCreatedBy())
+        .updatedBy(account.getUpdatedBy())
+        .version(account.getVersion())
+        .build();
+  }
+
+  @Benchmark
+  public AccountResponse constructor() {
+    return AccountResponse.from(account);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(AccountMappingBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
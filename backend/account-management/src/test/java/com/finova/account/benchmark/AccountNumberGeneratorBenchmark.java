@@ -0,0 +1,58 @@
+package com.finova.account.benchmark;
+
+import com.finova.account.numbering.AccountNumberBlockAllocator;
+import com.finova.account.numbering.CheckDigitScheme;
+import com.finova.account.numbering.HiLoAccountNumberGenerator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Account number generation under contention: the original shared {@link Random} with {@code
+ * String.format} versus the block-allocated generator. The block allocator is in-memory, so the
+ * score excludes the one database round trip per {@code block-size} numbers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AccountNumberGeneratorBenchmark {
+
+  private final Random random = new Random();
+  private HiLoAccountNumberGenerator generator;
+
+  @Setup
+  public void setUp() {
+    AtomicLong hi = new AtomicLong();
+    AccountNumberBlockAllocator allocator = name -> hi.getAndIncrement();
+    generator = new HiLoAccountNumberGenerator(allocator, "1001", 16, 1000, CheckDigitScheme.LUHN);
+  }
+
+  @Benchmark
+  public String sharedRandom() {
+    StringBuilder accountNumber = new StringBuilder();
+    accountNumber.append("1000");
+    accountNumber.append(String.format("%04d", random.nextInt(10000)));
+    accountNumber.append(String.format("%08d", random.nextInt(100000000)));
+    return accountNumber.toString();
+  }
+
+  @Benchmark
+  public String hiLo() {
+    return generator.next();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(AccountNumberGeneratorBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,100 @@
+package com.finova.account.benchmark;
+
+import com.finova.account.AccountManagementApplication;
+import com.finova.account.dto.AccountCreateRequest;
+import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.model.Account;
+import com.finova.account.service.AccountService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Applies one settlement run of postings spread over many accounts, once as a loop over {@link
+ * AccountService#updateBalance} and once through {@link AccountService#updateBalances}. Scores are
+ * runs per second; each run applies {@code postings} balance updates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBalanceUpdateBenchmark {
+
+  @Param({"1000"})
+  public int postings;
+
+  @Param({"200"})
+  public int accounts;
+
+  private ConfigurableApplicationContext context;
+  private AccountService accountService;
+  private List<BalanceUpdateRequest> run;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        SpringApplication.run(
+            AccountManagementApplication.class,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.finova.account=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--server.port=0",
+            "--eureka.client.enabled=false");
+    accountService = context.getBean(AccountService.class);
+
+    List<Long> ids = new ArrayList<>(accounts);
+    for (int i = 0; i < accounts; i++) {
+      AccountCreateRequest request = new AccountCreateRequest();
+      request.setCustomerId("benchmark-" + i);
+      request.setAccountName("Settlement " + i);
+      request.setAccountType(Account.AccountType.BUSINESS_CHECKING);
+      ids.add(accountService.createAccount(request).getId());
+    }
+
+    run = new ArrayList<>(postings);
+    for (int i = 0; i < postings; i++) {
+      BalanceUpdateRequest request = new BalanceUpdateRequest();
+      request.setAccountId(ids.get(i % accounts));
+      request.setAmount(new BigDecimal("1.00"));
+      request.setTransactionType("CREDIT");
+      request.setProcessedBy("benchmark");
+      run.add(request);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int singleItemLoop() {
+    for (BalanceUpdateRequest request : run) {
+      accountService.updateBalance(request.getAccountId(), request);
+    }
+    return run.size();
+  }
+
+  @Benchmark
+  public int bulk() {
+    return accountService.updateBalances(run).size();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(BatchBalanceUpdateBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
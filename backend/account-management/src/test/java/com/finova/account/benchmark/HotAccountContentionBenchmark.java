@@ -0,0 +1,93 @@
+package com.finova.account.benchmark;
+
+import com.finova.account.AccountManagementApplication;
+import com.finova.account.dto.AccountCreateRequest;
+import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.ledger.BalanceLedger;
+import com.finova.account.model.Account;
+import com.finova.account.service.AccountService;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Credits a single hot account from many threads, once through the JPA read-modify-save path and
+ * once through the striped {@link BalanceLedger}. Optimistic-lock failures on the JPA path are
+ * counted as lost work, which is what callers see today.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.account.benchmark.HotAccountContentionBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class HotAccountContentionBenchmark {
+
+  @Param({"false", "true"})
+  public boolean ledgerEnabled;
+
+  private ConfigurableApplicationContext context;
+  private AccountService accountService;
+  private Long hotAccountId;
+  private BalanceUpdateRequest credit;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        SpringApplication.run(
+            AccountManagementApplication.class,
+            "--account.ledger.enabled=" + ledgerEnabled,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.finova.account=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--server.port=0",
+            "--eureka.client.enabled=false");
+    accountService = context.getBean(AccountService.class);
+
+    AccountCreateRequest request = new AccountCreateRequest();
+    request.setCustomerId("benchmark");
+    request.setAccountName("Merchant settlement");
+    request.setAccountType(Account.AccountType.BUSINESS_CHECKING);
+    hotAccountId = accountService.createAccount(request).getId();
+
+    credit = new BalanceUpdateRequest();
+    credit.setAmount(new BigDecimal("1.00"));
+    credit.setTransactionType("CREDIT");
+    credit.setProcessedBy("benchmark");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public boolean creditHotAccount() {
+    try {
+      accountService.updateBalance(hotAccountId, credit);
+      return true;
+    } catch (ObjectOptimisticLockingFailureException e) {
+      return false;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(HotAccountContentionBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
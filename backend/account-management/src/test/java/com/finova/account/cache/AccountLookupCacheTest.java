@@ -0,0 +1,61 @@
+package com.finova.account.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.account.config.CacheConfig;
+import com.finova.account.dto.AccountResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AccountLookupCacheTest {
+
+  private AccountLookupCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new AccountLookupCache(new CacheConfig().cacheManager(100, 30));
+  }
+
+  @Test
+  public void testReadThroughLoadsOnce() {
+    AtomicInteger loads = new AtomicInteger();
+    AccountResponse response = AccountResponse.builder().id(1L).accountNumber("1000").build();
+
+    for (int i = 0; i < 3; i++) {
+      assertSame(
+          response,
+          cache.getById(
+              1L,
+              () -> {
+                loads.incrementAndGet();
+                return response;
+              }));
+    }
+    assertEquals(1, loads.get());
+
+    cache.evict(1L);
+    cache.getById(
+        1L,
+        () -> {
+          loads.incrementAndGet();
+          return response;
+        });
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testLoaderExceptionIsNotWrappedOrCached() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                cache.getIdByNumber(
+                    "missing",
+                    () -> {
+                      throw new RuntimeException("Account not found with number: missing");
+                    }));
+    assertEquals("Account not found with number: missing", e.getMessage());
+    assertEquals(7L, cache.getIdByNumber("missing", () -> 7L));
+  }
+}
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finova.account.AccountManagementApplication;
 import com.finova.account.controller.AccountController;
 import com.finova.account.model.Account;
+import com.finova.account.service.AccountExportService;
 import com.finova.account.service.AccountService;
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -31,6 +32,8 @@ public class AccountControllerTest {
 
   @MockBean private AccountService accountService;
 
+  @MockBean private AccountExportService accountExportService;
+
   // Helper to convert object to JSON string
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
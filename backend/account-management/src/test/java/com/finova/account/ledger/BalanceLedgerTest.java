@@ -0,0 +1,154 @@
+package com.finova.account.ledger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.finova.account.model.Account;
+import com.finova.account.repository.AccountRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceLedgerTest {
+
+  @Mock private AccountRepository accountRepository;
+
+  @Mock private BalanceDeltaWriter deltaWriter;
+
+  private BalanceLedger ledger;
+
+  @BeforeEach
+  public void setUp() {
+    ledger = new BalanceLedger(accountRepository, deltaWriter, true, 16, 100);
+  }
+
+  private Account account(Long id, String balance) {
+    return Account.builder()
+        .id(id)
+        .accountNumber("1000" + id)
+        .customerId("customer" + id)
+        .accountName("Test")
+        .accountType(Account.AccountType.CHECKING)
+        .balance(new BigDecimal(balance))
+        .availableBalance(new BigDecimal(balance))
+        .build();
+  }
+
+  @Test
+  public void testConcurrentCreditsAreCoalescedIntoOneDelta() throws Exception {
+    when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, "0.00")));
+
+    int threads = 8;
+    int postingsPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      executor.submit(
+          () -> {
+            for (int i = 0; i < postingsPerThread; i++) {
+              ledger.apply(1L, "CREDIT", new BigDecimal("0.01"), "test");
+            }
+            done.countDown();
+          });
+    }
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    assertEquals(0, new BigDecimal("80.00").compareTo(ledger.peek(1L).get().getBalance()));
+
+    ledger.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<BalanceDelta>> captor = ArgumentCaptor.forClass(List.class);
+    verify(deltaWriter, times(1)).write(captor.capture());
+    List<BalanceDelta> deltas = captor.getValue();
+    assertEquals(1, deltas.size());
+    assertEquals(8000L, deltas.get(0).getBalanceCents());
+    assertEquals(8000L, deltas.get(0).getAvailableBalanceCents());
+    verify(accountRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  public void testDebitRespectsAvailableBalanceAndOverdraft() {
+    Account account = account(2L, "100.00");
+    account.setOverdraftLimit(new BigDecimal("50.00"));
+    when(accountRepository.findById(2L)).thenReturn(Optional.of(account));
+
+    ledger.apply(2L, "DEBIT", new BigDecimal("150.00"), "test");
+    assertEquals(0, new BigDecimal("-50.00").compareTo(ledger.peek(2L).get().getBalance()));
+
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () -> ledger.apply(2L, "DEBIT", new BigDecimal("0.01"), "test"));
+    assertEquals("Insufficient funds or account cannot be debited", e.getMessage());
+  }
+
+  @Test
+  public void testFrozenAccountRejectsCredits() {
+    Account account = account(3L, "10.00");
+    account.freeze("test", "test");
+    when(accountRepository.findById(3L)).thenReturn(Optional.of(account));
+
+    assertThrows(
+        RuntimeException.class, () -> ledger.apply(3L, "CREDIT", BigDecimal.ONE, "test"));
+    ledger.flush();
+    verifyNoInteractions(deltaWriter);
+  }
+
+  @Test
+  public void testFailedFlushIsRetried() {
+    when(accountRepository.findById(4L)).thenReturn(Optional.of(account(4L, "0.00")));
+    List<Long> written = new ArrayList<>();
+    doThrow(new RuntimeException("db down"))
+        .doAnswer(
+            invocation -> {
+              List<BalanceDelta> deltas = invocation.getArgument(0);
+              deltas.forEach(d -> written.add(d.getBalanceCents()));
+              return null;
+            })
+        .when(deltaWriter)
+        .write(anyList());
+
+    ledger.apply(4L, "CREDIT", new BigDecimal("5.00"), "test");
+    ledger.flush();
+    ledger.apply(4L, "CREDIT", new BigDecimal("1.00"), "test");
+    ledger.flush();
+
+    assertEquals(List.of(600L), written);
+  }
+
+  @Test
+  public void testInvalidateWritesPendingDeltaAndDropsEntry() {
+    when(accountRepository.findById(5L)).thenReturn(Optional.of(account(5L, "0.00")));
+
+    ledger.apply(5L, "CREDIT", new BigDecimal("2.50"), "test");
+    ledger.invalidate(5L);
+
+    verify(deltaWriter, times(1)).write(anyList());
+    assertTrue(ledger.peek(5L).isEmpty());
+  }
+
+  @Test
+  public void testAmountWithMoreThanTwoDecimalsIsRejectedNotRounded() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ledger.apply(1L, "CREDIT", new BigDecimal("10.005"), "system"));
+    verifyNoInteractions(accountRepository, deltaWriter);
+    // Trailing zeros are not extra precision
+    assertEquals(1000L, BalanceLedger.toCents(new BigDecimal("10.000")));
+  }
+}
@@ -0,0 +1,96 @@
+package com.finova.account.numbering;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class HiLoAccountNumberGeneratorTest {
+
+  private static AccountNumberBlockAllocator inMemoryAllocator() {
+    Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    return name -> counters.computeIfAbsent(name, n -> new AtomicLong()).getAndIncrement();
+  }
+
+  @Test
+  public void testCheckDigitSchemes() {
+    // Known-good reference values
+    assertTrue(CheckDigitScheme.LUHN.isValid("79927398713"));
+    assertFalse(CheckDigitScheme.LUHN.isValid("79927398710"));
+
+    HiLoAccountNumberGenerator luhn =
+        new HiLoAccountNumberGenerator(inMemoryAllocator(), "1001", 16, 10, CheckDigitScheme.LUHN);
+    HiLoAccountNumberGenerator mod97 =
+        new HiLoAccountNumberGenerator(inMemoryAllocator(), "1001", 16, 10, CheckDigitScheme.MOD97);
+
+    assertEquals("100100000000000", luhn.next().substring(0, 15));
+    for (int i = 0; i < 1000; i++) {
+      String a = luhn.next();
+      String b = mod97.next();
+      assertEquals(16, a.length());
+      assertEquals(16, b.length());
+      assertTrue(a.startsWith("1001"));
+      assertTrue(CheckDigitScheme.LUHN.isValid(a), a);
+      assertTrue(CheckDigitScheme.MOD97.isValid(b), b);
+    }
+  }
+
+  @Test
+  public void testNoCollisionsOverTenMillionNumbersAcrossThreads() throws Exception {
+    int threads = 8;
+    int perThread = 1_250_000;
+    HiLoAccountNumberGenerator generator =
+        new HiLoAccountNumberGenerator(
+            inMemoryAllocator(), "1001", 16, 1000, CheckDigitScheme.LUHN);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<long[]>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                long[] sequences = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                  String number = generator.next();
+                  if (!CheckDigitScheme.LUHN.isValid(number)) {
+                    throw new AssertionError("Invalid check digit: " + number);
+                  }
+                  // Digits between the prefix and the check digit are the sequence value
+                  sequences[i] = Long.parseLong(number, 4, 15, 10);
+                }
+                return sequences;
+              }));
+    }
+
+    BitSet seen = new BitSet(threads * perThread);
+    long total = 0;
+    for (Future<long[]> future : futures) {
+      for (long sequence : future.get()) {
+        assertFalse(seen.get((int) sequence), "Duplicate account number sequence " + sequence);
+        seen.set((int) sequence);
+        total++;
+      }
+    }
+    executor.shutdown();
+
+    assertEquals(10_000_000L, total);
+    assertEquals(10_000_000, seen.cardinality());
+  }
+
+  @Test
+  public void testRejectsLengthWithoutRoomForSequence() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new HiLoAccountNumberGenerator(
+                inMemoryAllocator(), "1001", 5, 1000, CheckDigitScheme.LUHN));
+  }
+}
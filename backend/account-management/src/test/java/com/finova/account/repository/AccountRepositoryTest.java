@@ -10,6 +10,8 @@ import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 
 @DataJpaTest
@@ -73,4 +75,66 @@ public class AccountRepositoryTest {
     assertTrue(customerAccounts.stream().anyMatch(a -> a.getAccountNumber().equals("ACC1")));
     assertTrue(customerAccounts.stream().anyMatch(a -> a.getAccountNumber().equals("ACC2")));
   }
+
+  private Account fullAccount(String number, Account.AccountType type, String balance) {
+    return Account.builder()
+        .accountNumber(number)
+        .customerId("customer789")
+        .accountName("Projection " + number)
+        .accountType(type)
+        .balance(new BigDecimal(balance))
+        .availableBalance(new BigDecimal(balance).subtract(BigDecimal.TEN))
+        .build();
+  }
+
+  @Test
+  public void testBalanceColumnQueries() {
+    Account saved =
+        accountRepository.save(fullAccount("PROJ1", Account.AccountType.CHECKING, "500.00"));
+
+    assertEquals(
+        0,
+        new BigDecimal("500.00").compareTo(accountRepository.findBalanceById(saved.getId()).get()));
+    assertEquals(
+        0,
+        new BigDecimal("490.00")
+            .compareTo(accountRepository.findAvailableBalanceById(saved.getId()).get()));
+    assertTrue(accountRepository.findBalanceById(-1L).isEmpty());
+  }
+
+  @Test
+  public void testSummaryProjection() {
+    accountRepository.save(fullAccount("PROJ2", Account.AccountType.SAVINGS, "100.00"));
+    accountRepository.save(fullAccount("PROJ3", Account.AccountType.CHECKING, "200.00"));
+
+    Page<AccountSummary> savings =
+        accountRepository.findByAccountType(
+            Account.AccountType.SAVINGS, PageRequest.of(0, 10), AccountSummary.class);
+
+    assertEquals(1, savings.getTotalElements());
+    AccountSummary summary = savings.getContent().get(0);
+    assertEquals("PROJ2", summary.getAccountNumber());
+    assertEquals(Account.AccountStatus.ACTIVE, summary.getStatus());
+    assertEquals(0, new BigDecimal("100.00").compareTo(summary.getBalance()));
+  }
+
+  @Test
+  public void testKeysetPaginationSeeksPastLastId() {
+    for (int i = 0; i < 5; i++) {
+      accountRepository.save(fullAccount("SEEK" + i, Account.AccountType.MONEY_MARKET, "1.00"));
+    }
+    accountRepository.save(fullAccount("SEEKX", Account.AccountType.SAVINGS, "1.00"));
+
+    List<AccountSummary> first =
+        accountRepository.findByAccountTypeAndIdGreaterThanOrderByIdAsc(
+            Account.AccountType.MONEY_MARKET, 0L, PageRequest.of(0, 3));
+    assertEquals(3, first.size());
+
+    List<AccountSummary> second =
+        accountRepository.findByAccountTypeAndIdGreaterThanOrderByIdAsc(
+            Account.AccountType.MONEY_MARKET, first.get(2).getId(), PageRequest.of(0, 3));
+    assertEquals(2, second.size());
+    assertEquals("SEEK3", second.get(0).getAccountNumber());
+    assertTrue(second.get(0).getId() > first.get(2).getId());
+  }
 }
@@ -0,0 +1,103 @@
+package com.finova.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.account.model.Account;
+import com.finova.account.repository.AccountRepository;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountExportServiceTest {
+
+  @Mock private AccountRepository accountRepository;
+
+  @Mock private EntityManager entityManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private AccountExportServiceImpl exportService;
+
+  @BeforeEach
+  public void setUp() {
+    exportService = new AccountExportServiceImpl(accountRepository, entityManager, objectMapper);
+  }
+
+  private static Account account(long id, String name) {
+    return Account.builder()
+        .id(id)
+        .accountNumber("1001" + id)
+        .customerId("customer" + id)
+        .accountName(name)
+        .accountType(Account.AccountType.SAVINGS)
+        .balance(new BigDecimal("10.50"))
+        .availableBalance(new BigDecimal("10.50"))
+        .build();
+  }
+
+  @Test
+  public void testNdjsonWritesOneObjectPerLineAndClearsPeriodically() throws Exception {
+    when(accountRepository.streamAllOrderedById())
+        .thenReturn(IntStream.rangeClosed(1, 2500).mapToObj(i -> account(i, "Account " + i)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = exportService.exportAccounts(AccountExportService.ExportFormat.NDJSON, out);
+
+    assertEquals(2500, rows);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2500, lines.length);
+    JsonNode last = objectMapper.readTree(lines[2499]);
+    assertEquals(2500, last.get("id").asLong());
+    assertEquals("Account 2500", last.get("accountName").asText());
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  public void testCsvQuotesFieldsThatNeedIt() throws Exception {
+    when(accountRepository.streamAllOrderedById())
+        .thenReturn(Stream.of(account(1, "Plain"), account(2, "Smith, \"Jr\"")));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = exportService.exportAccounts(AccountExportService.ExportFormat.CSV, out);
+
+    assertEquals(2, rows);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("id,accountNumber,"));
+    assertTrue(lines[1].startsWith("1,10011,customer1,Plain,SAVINGS,ACTIVE,10.50,10.50,USD,false"));
+    assertTrue(lines[2].startsWith("2,10012,customer2,\"Smith, \"\"Jr\"\"\",SAVINGS"));
+    verifyNoInteractions(entityManager);
+  }
+
+  @Test
+  public void testCsvNeutralisesFormulasInTextButNotNegativeAmounts() throws Exception {
+    Account formula = account(1, "=HYPERLINK(\"http://x\",\"y\")");
+    formula.setCustomerId("@SUM(A1)");
+    formula.setBalance(new BigDecimal("-5.00"));
+    Account tab = account(2, "\t+1");
+    when(accountRepository.streamAllOrderedById()).thenReturn(Stream.of(formula, tab));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.exportAccounts(AccountExportService.ExportFormat.CSV, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertTrue(
+        lines[1].startsWith(
+            "1,10011,\"'@SUM(A1)\",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",SAVINGS,ACTIVE,"
+                + "-5.00,10.50,"),
+        lines[1]);
+    assertTrue(lines[2].startsWith("2,10012,customer2,\"'\t+1\",SAVINGS"), lines[2]);
+  }
+}
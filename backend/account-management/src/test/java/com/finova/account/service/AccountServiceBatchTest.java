@@ -0,0 +1,111 @@
+package com.finova.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.finova.account.cache.AccountLookupCache;
+import com.finova.account.dto.BalanceUpdateRequest;
+import com.finova.account.dto.BalanceUpdateResult;
+import com.finova.account.ledger.BalanceLedger;
+import com.finova.account.ledger.LedgerPosting;
+import com.finova.account.model.Account;
+import com.finova.account.repository.AccountRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountServiceBatchTest {
+
+  @Mock private AccountRepository accountRepository;
+
+  @Mock private BalanceLedger balanceLedger;
+
+  @Mock private AccountLookupCache accountLookupCache;
+
+  @InjectMocks private AccountServiceImpl accountService;
+
+  private Account account(Long id, String balance) {
+    return Account.builder()
+        .id(id)
+        .accountNumber("1000" + id)
+        .customerId("customer" + id)
+        .accountName("Test")
+        .accountType(Account.AccountType.CHECKING)
+        .balance(new BigDecimal(balance))
+        .availableBalance(new BigDecimal(balance))
+        .build();
+  }
+
+  private BalanceUpdateRequest posting(Long accountId, String type, String amount) {
+    BalanceUpdateRequest request = new BalanceUpdateRequest();
+    request.setAccountId(accountId);
+    request.setTransactionType(type);
+    request.setAmount(new BigDecimal(amount));
+    return request;
+  }
+
+  @Test
+  public void testUpdateBalancesLoadsOnceInIdOrderAndReportsPerItem() {
+    Account first = account(1L, "100.00");
+    Account second = account(2L, "10.00");
+    when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(first, second));
+
+    List<BalanceUpdateRequest> requests = new ArrayList<>();
+    requests.add(posting(2L, "debit", "5.00"));
+    requests.add(posting(1L, "CREDIT", "50.00"));
+    requests.add(posting(2L, "DEBIT", "20.00"));
+    requests.add(posting(3L, "CREDIT", "1.00"));
+    requests.add(posting(null, "CREDIT", "1.00"));
+
+    List<BalanceUpdateResult> results = accountService.updateBalances(requests);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+    verify(accountRepository, times(1)).findAllByIdForUpdate(ids.capture());
+    assertEquals(List.of(1L, 2L, 3L), new ArrayList<>(ids.getValue()));
+    verify(accountRepository, never()).findById(any());
+    verify(accountRepository, never()).save(any());
+
+    assertEquals(5, results.size());
+    assertTrue(results.get(0).isSuccess());
+    assertEquals(0, new BigDecimal("5.00").compareTo(results.get(0).getBalance()));
+    assertTrue(results.get(1).isSuccess());
+    assertEquals(0, new BigDecimal("150.00").compareTo(first.getBalance()));
+    assertFalse(results.get(2).isSuccess());
+    assertEquals("Insufficient funds or account cannot be debited", results.get(2).getError());
+    assertEquals(0, new BigDecimal("5.00").compareTo(second.getBalance()));
+    assertEquals("Account not found with ID: 3", results.get(3).getError());
+    assertEquals("Account ID is required", results.get(4).getError());
+  }
+
+  @Test
+  public void testLedgerPostingEvictsTheCachedAccount() {
+    when(balanceLedger.isEnabled()).thenReturn(true);
+    when(balanceLedger.apply(1L, "CREDIT", new BigDecimal("50.00"), "system"))
+        .thenReturn(
+            new LedgerPosting(
+                account(1L, "100.00"),
+                new BigDecimal("150.00"),
+                new BigDecimal("150.00"),
+                LocalDateTime.now(),
+                "system"));
+
+    BigDecimal balance =
+        accountService.updateBalance(1L, posting(1L, "credit", "50.00")).getBalance();
+
+    assertEquals(0, new BigDecimal("150.00").compareTo(balance));
+    // The next read reloads through the ledger instead of trusting whichever posting put last
+    verify(accountLookupCache).evict(1L);
+    verifyNoMoreInteractions(accountLookupCache);
+  }
+}
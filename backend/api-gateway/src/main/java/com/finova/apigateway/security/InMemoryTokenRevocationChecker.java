@@ -0,0 +1,54 @@
+package com.finova.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-node revocation store for tests and local runs without Redis ({@code
+ * jwt.revocation.store=memory}). Uses the same revocation ids and watermark rule as the Redis
+ * store.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "memory")
+public class InMemoryTokenRevocationChecker implements TokenRevocationChecker {
+
+  private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+  private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+  /** Revokes the token until its {@code exp}, after which it is rejected as expired anyway. */
+  public void revoke(String token, Claims claims) {
+    revokedUntil.put(revocationId(token, claims), claims.getExpiration().getTime());
+  }
+
+  /** Revokes every token issued to {@code username} before {@code epochMillis}. */
+  public void revokeAllBefore(String username, long epochMillis) {
+    revokedBefore.merge(username, epochMillis, Math::max);
+  }
+
+  @Override
+  public Mono<Boolean> isRevoked(String token, Claims claims) {
+    Long watermark = revokedBefore.get(claims.getSubject());
+    if (watermark != null
+        && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() < watermark)) {
+      return Mono.just(true);
+    }
+    String id = revocationId(token, claims);
+    Long until = revokedUntil.get(id);
+    if (until == null) {
+      return Mono.just(false);
+    }
+    if (until <= System.currentTimeMillis()) {
+      revokedUntil.remove(id, until);
+      return Mono.just(false);
+    }
+    return Mono.just(true);
+  }
+
+  private static String revocationId(String token, Claims claims) {
+    return claims.getId() != null ? claims.getId() : TokenDigest.encoded(token);
+  }
+}
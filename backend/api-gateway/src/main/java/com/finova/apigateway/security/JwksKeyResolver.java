@@ -0,0 +1,194 @@
+package com.finova.apigateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves token verification keys from auth-service's JWKS, so the gateway holds no signing
+ * secret.
+ *
+ * <p>The JWKS is fetched at startup and every {@code jwt.jwks.refresh-interval-seconds} in the
+ * background; verification itself never waits on the network. A token with an unknown {@code kid}
+ * is rejected and triggers an early refresh, at most once per {@code min-refresh-interval-seconds},
+ * which picks up keys auth-service published before starting to sign with them. When a refresh
+ * drops a key, the registered listeners run so cached verifications are discarded.
+ *
+ * <p>If {@code jwt.legacy-hmac-secret} is set, HS512 tokens issued before the switch to ES256 are
+ * still accepted until they expire.
+ */
+@Component
+@Slf4j
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+  private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+  private final WebClient webClient;
+  private final String jwksUri;
+  private final Duration refreshInterval;
+  private final long minRefreshIntervalMillis;
+  private final Key legacyHmacKey;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLong lastRefresh = new AtomicLong();
+  private final List<Runnable> keysRemovedListeners = new CopyOnWriteArrayList<>();
+
+  private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+  private Disposable refresher;
+
+  public JwksKeyResolver(
+      WebClient.Builder webClientBuilder,
+      @Value("${jwt.jwks.uri:http://localhost:8011/.well-known/jwks.json}") String jwksUri,
+      @Value("${jwt.jwks.refresh-interval-seconds:300}") long refreshIntervalSeconds,
+      @Value("${jwt.jwks.min-refresh-interval-seconds:30}") long minRefreshIntervalSeconds,
+      @Value("${jwt.legacy-hmac-secret:}") String legacySecret) {
+    this.webClient = webClientBuilder.build();
+    this.jwksUri = jwksUri;
+    this.refreshInterval = Duration.ofSeconds(refreshIntervalSeconds);
+    this.minRefreshIntervalMillis = Duration.ofSeconds(minRefreshIntervalSeconds).toMillis();
+    this.legacyHmacKey = legacySecret.isEmpty() ? null : legacyHmacKey(legacySecret);
+  }
+
+  @PostConstruct
+  public void start() {
+    refresher =
+        Flux.interval(Duration.ZERO, refreshInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> refresh())
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (refresher != null) {
+      refresher.dispose();
+    }
+  }
+
+  /** Runs after a JWKS refresh that removed at least one key. */
+  public void addKeysRemovedListener(Runnable listener) {
+    keysRemovedListeners.add(listener);
+  }
+
+  @Override
+  public Key resolveSigningKey(JwsHeader header, Claims claims) {
+    String algorithm = header.getAlgorithm();
+    if (SignatureAlgorithm.HS512.getValue().equals(algorithm) && legacyHmacKey != null) {
+      return legacyHmacKey;
+    }
+    if (!SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+      throw new UnsupportedJwtException("Unsupported token algorithm: " + algorithm);
+    }
+    PublicKey key = header.getKeyId() != null ? keys.get(header.getKeyId()) : null;
+    if (key == null) {
+      requestRefresh();
+      throw new SignatureException("Unknown signing key: " + header.getKeyId());
+    }
+    return key;
+  }
+
+  private void requestRefresh() {
+    long now = System.currentTimeMillis();
+    long last = lastRefresh.get();
+    if (now - last >= minRefreshIntervalMillis && lastRefresh.compareAndSet(last, now)) {
+      refresh().subscribe();
+    }
+  }
+
+  private Mono<Void> refresh() {
+    lastRefresh.set(System.currentTimeMillis());
+    return webClient
+        .get()
+        .uri(jwksUri)
+        .retrieve()
+        .bodyToMono(String.class)
+        .timeout(FETCH_TIMEOUT)
+        .doOnNext(this::apply)
+        .doOnError(e -> log.warn("JWKS refresh from {} failed: {}", jwksUri, e.toString()))
+        .onErrorResume(e -> Mono.empty())
+        .then();
+  }
+
+  // Package-private so tests can load a JWKS without an HTTP server
+  void apply(String jwks) {
+    Map<String, PublicKey> parsed;
+    try {
+      parsed = parse(jwks);
+    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+      log.warn("Ignoring malformed JWKS: {}", e.toString());
+      return;
+    }
+    Map<String, PublicKey> previous = keys;
+    keys = parsed;
+    if (!parsed.keySet().containsAll(previous.keySet())) {
+      log.info("Signing keys removed from JWKS, dropping cached verifications");
+      keysRemovedListeners.forEach(Runnable::run);
+    }
+  }
+
+  private Map<String, PublicKey> parse(String jwks) throws IOException, GeneralSecurityException {
+    AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+    parameters.init(new ECGenParameterSpec("secp256r1"));
+    ECParameterSpec p256 = parameters.getParameterSpec(ECParameterSpec.class);
+    KeyFactory keyFactory = KeyFactory.getInstance("EC");
+
+    Map<String, PublicKey> parsed = new HashMap<>();
+    for (JsonNode jwk : objectMapper.readTree(jwks).path("keys")) {
+      if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())) {
+        continue;
+      }
+      ECPoint point =
+          new ECPoint(unsigned(jwk.path("x").asText()), unsigned(jwk.path("y").asText()));
+      parsed.put(
+          jwk.path("kid").asText(), keyFactory.generatePublic(new ECPublicKeySpec(point, p256)));
+    }
+    return Collections.unmodifiableMap(parsed);
+  }
+
+  private static BigInteger unsigned(String base64Url) {
+    return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+  }
+
+  // Same derivation as the former HS512 key, so tokens issued before the switch still verify
+  private static Key legacyHmacKey(String secret) {
+    String paddedSecret = secret;
+    while (paddedSecret.getBytes(StandardCharsets.UTF_8).length < 64) {
+      paddedSecret = paddedSecret + paddedSecret;
+    }
+    return Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,11 +1,8 @@
 package com.finova.apigateway.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
-import javax.annotation.PostConstruct;
-import javax.crypto.SecretKey;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -14,25 +11,14 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import io.jsonwebtoken.Jwts;
 
 @Component
+@Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
-  @Value("${jwt.secret}")
-  private String jwtSecret;
+  @Autowired private VerifiedTokenCache verifiedTokenCache;
 
-  private SecretKey key;
-
-  @PostConstruct
-  public void init() {
-    // Ensure the secret is long enough for HS512 (minimum 512 bits = 64 bytes)
-    String paddedSecret = jwtSecret;
-    while (paddedSecret.getBytes(StandardCharsets.UTF_8).length < 64) {
-      paddedSecret = paddedSecret + paddedSecret;
-    }
-    this.key = Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
-  }
+  @Autowired private TokenRevocationChecker revocationChecker;
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -49,21 +35,35 @@ public class JwtAuthenticationFilter implements WebFilter {
       if (authHeader != null && authHeader.startsWith("Bearer ")) {
         String token = authHeader.substring(7);
 
+        Claims claims;
         try {
-          Claims claims = Jwts.parserBuilder()
-              .setSigningKey(key)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
+          // Signature and exp are checked on first sight; hot tokens are served from the cache
+          claims = verifiedTokenCache.verify(token);
           // Additional claims validation logic can go here
-          // Token is valid, continue with the request
         } catch (Exception e) {
-          exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-          return exchange.getResponse().setComplete();
+          return reject(exchange, HttpStatus.UNAUTHORIZED);
         }
+
+        // Fail closed: if revocation state is unknown the request is not let through
+        return revocationChecker
+            .isRevoked(token, claims)
+            .map(revoked -> revoked ? HttpStatus.UNAUTHORIZED : HttpStatus.OK)
+            .doOnError(e -> log.warn("Token revocation check failed: {}", e.toString()))
+            .onErrorReturn(HttpStatus.SERVICE_UNAVAILABLE)
+            .flatMap(status -> proceedOrReject(exchange, chain, status));
       }
     }
 
     return chain.filter(exchange);
   }
+
+  private static Mono<Void> proceedOrReject(
+      ServerWebExchange exchange, WebFilterChain chain, HttpStatus status) {
+    return status == HttpStatus.OK ? chain.filter(exchange) : reject(exchange, status);
+  }
+
+  private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+    exchange.getResponse().setStatusCode(status);
+    return exchange.getResponse().setComplete();
+  }
 }
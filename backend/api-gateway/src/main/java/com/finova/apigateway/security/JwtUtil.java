@@ -1,45 +1,36 @@
 package com.finova.apigateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import javax.annotation.PostConstruct;
-import javax.crypto.SecretKey;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
 
-  @Value("${jwt.secret}")
-  private String secret;
+  private final JwksKeyResolver keyResolver;
 
-  private SecretKey key;
+  // Immutable and thread-safe once built; building one per call redoes key and codec setup
+  private final JwtParser parser;
 
-  @PostConstruct
-  public void init() {
-    // Ensure the secret is long enough for HS512 (minimum 512 bits = 64 bytes)
-    // Pad the secret if necessary to meet the minimum length requirement
-    String paddedSecret = secret;
-    while (paddedSecret.getBytes(StandardCharsets.UTF_8).length < 64) {
-      paddedSecret = paddedSecret + paddedSecret;
-    }
-    this.key = Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
+  public JwtUtil(JwksKeyResolver keyResolver) {
+    this.keyResolver = keyResolver;
+    this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyResolver).build();
   }
 
-  public String generateToken(String username) {
-    return Jwts.builder()
-        .setSubject(username)
-        .setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 day expiration
-        .signWith(key)
-        .compact();
+  /**
+   * Verifies the signature and expiry and returns the claims.
+   *
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+   */
+  public Claims extractClaims(String token) {
+    return parser.parseClaimsJws(token).getBody();
   }
 
-  public Claims extractClaims(String token) {
-    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  /** Runs when a signing key is withdrawn, e.g. so cached verifications can be dropped. */
+  public void onSigningKeysRemoved(Runnable listener) {
+    keyResolver.addKeysRemovedListener(listener);
   }
 
   public boolean isTokenExpired(String token) {
@@ -51,9 +42,10 @@ public class JwtUtil {
   }
 
   public boolean validateToken(String token) {
+    // The parser already rejects expired tokens, so one parse is enough
     try {
-      Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-      return !isTokenExpired(token);
+      extractClaims(token);
+      return true;
     } catch (Exception e) {
       return false;
     }
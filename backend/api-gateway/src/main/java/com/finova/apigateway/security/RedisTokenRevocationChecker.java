@@ -0,0 +1,195 @@
+package com.finova.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Revocation check against the keys auth-service writes ({@code rv:<jti>}, the per-user {@code
+ * rvb:<username>} watermark, and the legacy {@code blacklist:<token>} for tokens without a jti),
+ * using the reactive Lettuce client so no event-loop thread blocks. All keys for a token are read
+ * with one MGET.
+ *
+ * <p>Results are kept in a local near-cache keyed by revocation id. A "not revoked" answer is
+ * trusted for {@code not-revoked-ttl-ms}; a "revoked" answer for {@code revoked-ttl-ms}. Concurrent
+ * lookups of the same token share one Redis round trip. Auth-service also publishes every
+ * revocation on {@code jwt.revocation.channel}, which takes effect here immediately; if that
+ * subscription drops, staleness is bounded by the not-revoked TTL and the near-cache is cleared on
+ * resubscribe.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisTokenRevocationChecker implements TokenRevocationChecker {
+
+  static final String REVOKED_PREFIX = "rv:";
+  static final String REVOKED_BEFORE_PREFIX = "rvb:";
+  static final String LEGACY_PREFIX = "blacklist:";
+
+  private final ReactiveStringRedisTemplate redisTemplate;
+  private final String channel;
+  private final Duration lookupTimeout;
+  private final AsyncCache<String, Boolean> nearCache;
+  // Watermarks received over pub/sub, checked before the per-token cache
+  private final Cache<String, Long> revokedBefore;
+
+  private Disposable subscription;
+
+  public RedisTokenRevocationChecker(
+      ReactiveStringRedisTemplate redisTemplate,
+      @Value("${jwt.revocation.channel:token-revocations}") String channel,
+      @Value("${jwt.revocation.lookup-timeout-ms:250}") long lookupTimeoutMs,
+      @Value("${jwt.revocation.near-cache.maximum-size:100000}") long maximumSize,
+      @Value("${jwt.revocation.near-cache.not-revoked-ttl-ms:5000}") long notRevokedTtlMs,
+      @Value("${jwt.revocation.near-cache.revoked-ttl-ms:3600000}") long revokedTtlMs) {
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+    this.lookupTimeout = Duration.ofMillis(lookupTimeoutMs);
+    this.nearCache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                new ByOutcome(
+                    Duration.ofMillis(notRevokedTtlMs).toNanos(),
+                    Duration.ofMillis(revokedTtlMs).toNanos()))
+            .recordStats()
+            .buildAsync();
+    this.revokedBefore =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMillis(revokedTtlMs))
+            .build();
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    subscription =
+        redisTemplate
+            .listenToChannel(channel)
+            .doOnSubscribe(s -> nearCache.synchronous().invalidateAll())
+            .map(ReactiveSubscription.Message::getMessage)
+            .doOnNext(this::onRevocation)
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(Duration.ofSeconds(30))
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "Revocation channel subscription lost, retrying: {}",
+                                signal.failure().getMessage())))
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Boolean> isRevoked(String token, Claims claims) {
+    Long watermark = revokedBefore.getIfPresent(claims.getSubject());
+    if (watermark != null && issuedBefore(claims, watermark)) {
+      return Mono.just(true);
+    }
+    String id = claims.getId() != null ? claims.getId() : TokenDigest.encoded(token);
+    // copy() so one cancelled subscriber does not cancel the lookup shared with the others
+    return Mono.fromFuture(
+        () ->
+            nearCache
+                .get(id, (k, executor) -> lookup(token, claims, id).toFuture())
+                .copy());
+  }
+
+  private Mono<Boolean> lookup(String token, Claims claims, String id) {
+    List<String> keys = new ArrayList<>(3);
+    keys.add(REVOKED_PREFIX + id);
+    keys.add(REVOKED_BEFORE_PREFIX + claims.getSubject());
+    if (claims.getId() == null) {
+      keys.add(LEGACY_PREFIX + token);
+    }
+    return redisTemplate
+        .opsForValue()
+        .multiGet(keys)
+        .timeout(lookupTimeout)
+        .map(
+            values ->
+                isPresent(values.get(0))
+                    || (isPresent(values.get(1))
+                        && issuedBefore(claims, Long.parseLong(values.get(1))))
+                    || (values.size() > 2 && isPresent(values.get(2))));
+  }
+
+  private void onRevocation(String message) {
+    try {
+      if (message.startsWith(REVOKED_BEFORE_PREFIX)) {
+        String entry = message.substring(REVOKED_BEFORE_PREFIX.length());
+        int separator = entry.lastIndexOf(':');
+        revokedBefore.put(
+            entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+      } else if (message.startsWith(REVOKED_PREFIX)) {
+        nearCache.synchronous().put(message.substring(REVOKED_PREFIX.length()), Boolean.TRUE);
+      } else {
+        log.warn("Ignoring unknown revocation message on {}", channel);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Ignoring malformed revocation message on {}", channel);
+    }
+  }
+
+  // iat has second precision, so tokens issued in the same second as the watermark are revoked too
+  private static boolean issuedBefore(Claims claims, long watermarkMillis) {
+    Date issuedAt = claims.getIssuedAt();
+    return issuedAt == null || issuedAt.getTime() < watermarkMillis;
+  }
+
+  private static boolean isPresent(String value) {
+    return value != null && !value.isEmpty();
+  }
+
+  private static final class ByOutcome implements Expiry<String, Boolean> {
+
+    private final long notRevokedNanos;
+    private final long revokedNanos;
+
+    ByOutcome(long notRevokedNanos, long revokedNanos) {
+      this.notRevokedNanos = notRevokedNanos;
+      this.revokedNanos = revokedNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Boolean revoked, long currentTime) {
+      return Boolean.TRUE.equals(revoked) ? revokedNanos : notRevokedNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Boolean revoked, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, revoked, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, Boolean revoked, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.finova.apigateway.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * SHA-256 digests of compact tokens, used as local cache keys so raw bearer tokens are not kept
+ * on the heap. The base64url form matches auth-service's revocation id for tokens without a jti.
+ */
+final class TokenDigest {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+              throw new IllegalStateException(e);
+            }
+          });
+
+  private TokenDigest() {}
+
+  static ByteBuffer of(String token) {
+    return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** The revocation id auth-service uses for tokens that carry no {@code jti} claim. */
+  static String encoded(String token) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(of(token).array());
+  }
+}
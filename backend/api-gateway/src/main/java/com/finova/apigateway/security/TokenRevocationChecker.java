@@ -0,0 +1,14 @@
+package com.finova.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/** Checks whether a verified token has been revoked by logout, without blocking the caller. */
+public interface TokenRevocationChecker {
+
+  /**
+   * Emits true if the token, or every session of its subject, has been revoked; errors if the
+   * revocation state cannot be determined. {@code claims} must come from a verified token.
+   */
+  Mono<Boolean> isRevoked(String token, Claims claims);
+}
@@ -0,0 +1,97 @@
+package com.finova.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of already-verified tokens, keyed by the SHA-256 digest of the compact token.
+ *
+ * <p>A hot token skips the signature check and claims parsing on every request after its first.
+ * Each entry expires at the token's {@code exp}, or after {@code jwt.cache.max-ttl-seconds} if
+ * that comes sooner, so a cache hit is never more permissive than a fresh parse. Only tokens that
+ * passed verification are stored; the returned {@link Claims} are shared and must not be modified.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final JwtUtil jwtUtil;
+  private final boolean enabled;
+  private final Cache<ByteBuffer, Claims> verified;
+
+  public VerifiedTokenCache(
+      JwtUtil jwtUtil,
+      @Value("${jwt.cache.enabled:true}") boolean enabled,
+      @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+      @Value("${jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+    this.jwtUtil = jwtUtil;
+    this.enabled = enabled;
+    this.verified =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry(TimeUnit.SECONDS.toNanos(maxTtlSeconds)))
+            .recordStats()
+            .build();
+    jwtUtil.onSigningKeysRemoved(this::invalidateAll);
+  }
+
+  /**
+   * Returns the claims of a valid token, verifying it only on a cache miss.
+   *
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+   */
+  public Claims verify(String token) {
+    if (!enabled) {
+      return jwtUtil.extractClaims(token);
+    }
+    ByteBuffer digest = TokenDigest.of(token);
+    Claims claims = verified.getIfPresent(digest);
+    if (claims == null) {
+      claims = jwtUtil.extractClaims(token);
+      verified.put(digest, claims);
+    }
+    return claims;
+  }
+
+  /** Drops every cached verification; runs when a signing key is withdrawn from the JWKS. */
+  public void invalidateAll() {
+    verified.invalidateAll();
+  }
+
+  private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+    private final long maxTtlNanos;
+
+    UntilTokenExpiry(long maxTtlNanos) {
+      this.maxTtlNanos = maxTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        return maxTtlNanos;
+      }
+      long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+      return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.finova.apigateway.benchmark;
+
+import com.finova.apigateway.security.InMemoryTokenRevocationChecker;
+import com.finova.apigateway.security.JwtAuthenticationFilter;
+import com.finova.apigateway.security.JwtUtil;
+import com.finova.apigateway.security.TestSigningKey;
+import com.finova.apigateway.security.VerifiedTokenCache;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs {@link JwtAuthenticationFilter} over a pool of hot bearer tokens, with and without the
+ * {@link VerifiedTokenCache}. Revocation uses the in-memory checker so Redis latency is not part
+ * of the measurement. Each operation builds a mock exchange, so the absolute numbers include that
+ * overhead; compare the two modes.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.apigateway.benchmark.GatewayFilterBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class GatewayFilterBenchmark {
+
+  private static final WebFilterChain PASS = exchange -> Mono.empty();
+
+  @Param({"false", "true"})
+  public boolean cacheEnabled;
+
+  @Param({"1000"})
+  public int hotTokens;
+
+  private JwtAuthenticationFilter filter;
+  private String[] authorizations;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TestSigningKey signingKey = new TestSigningKey("benchmark");
+    JwtUtil jwtUtil = new JwtUtil(TestSigningKey.resolver(signingKey));
+
+    filter = new JwtAuthenticationFilter();
+    ReflectionTestUtils.setField(
+        filter, "verifiedTokenCache", new VerifiedTokenCache(jwtUtil, cacheEnabled, 10_000, 300));
+    ReflectionTestUtils.setField(
+        filter, "revocationChecker", new InMemoryTokenRevocationChecker());
+
+    authorizations = new String[hotTokens];
+    for (int i = 0; i < hotTokens; i++) {
+      authorizations[i] = "Bearer " + signingKey.sign("user" + i, 3_600_000);
+    }
+  }
+
+  @Benchmark
+  public Object filterRequest() {
+    String authorization = authorizations[ThreadLocalRandom.current().nextInt(hotTokens)];
+    MockServerWebExchange exchange =
+        MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/accounts/42")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    filter.filter(exchange, PASS).block();
+    return exchange.getResponse().getStatusCode();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(GatewayFilterBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,83 @@
+package com.finova.apigateway.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of one uncached token verification (signature check plus claims parsing) and one signing,
+ * for the former shared-secret HS512 tokens and the ES256 tokens auth-service now issues. The
+ * gateway only pays verification on a {@code VerifiedTokenCache} miss.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.apigateway.benchmark.TokenVerificationBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TokenVerificationBenchmark {
+
+  @Param({"HS512", "ES256"})
+  public String algorithm;
+
+  private SignatureAlgorithm signatureAlgorithm;
+  private Key signingKey;
+  private JwtParser parser;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+    Key verificationKey;
+    if (signatureAlgorithm.isHmac()) {
+      signingKey = Keys.secretKeyFor(signatureAlgorithm);
+      verificationKey = signingKey;
+    } else {
+      KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+      signingKey = keyPair.getPrivate();
+      verificationKey = keyPair.getPublic();
+    }
+    parser = Jwts.parserBuilder().setSigningKey(verificationKey).build();
+    token = sign();
+  }
+
+  @Benchmark
+  public Claims verify() {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public String sign() {
+    return Jwts.builder()
+        .setId("benchmark-token-id")
+        .setSubject("user")
+        .claim("authorities", "ROLE_CUSTOMER")
+        .claim("type", "access")
+        .setIssuedAt(new Date())
+        .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+        .signWith(signingKey, signatureAlgorithm)
+        .compact();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(TokenVerificationBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
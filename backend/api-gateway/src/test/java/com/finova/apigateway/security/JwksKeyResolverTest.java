@@ -0,0 +1,59 @@
+package com.finova.apigateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+public class JwksKeyResolverTest {
+
+  private final TestSigningKey current = new TestSigningKey("k1");
+  private final TestSigningKey next = new TestSigningKey("k2");
+
+  @Test
+  public void testTokensVerifyAgainstPublishedKeys() {
+    JwksKeyResolver resolver = TestSigningKey.resolver(current, next);
+    JwtUtil jwtUtil = new JwtUtil(resolver);
+
+    assertEquals("alice", jwtUtil.extractClaims(current.sign("alice", 60_000)).getSubject());
+    // A pre-published key verifies as soon as auth-service starts signing with it
+    assertEquals("bob", jwtUtil.extractClaims(next.sign("bob", 60_000)).getSubject());
+  }
+
+  @Test
+  public void testUnknownKeyAndMalformedJwksAreRejected() {
+    JwksKeyResolver resolver = TestSigningKey.resolver(current);
+    JwtUtil jwtUtil = new JwtUtil(resolver);
+
+    assertThrows(JwtException.class, () -> jwtUtil.extractClaims(next.sign("bob", 60_000)));
+
+    // A broken document keeps the previous keys
+    resolver.apply("{\"keys\":[{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"k3\",\"x\":\"!\"}]}");
+    assertTrue(jwtUtil.validateToken(current.sign("alice", 60_000)));
+  }
+
+  @Test
+  public void testHmacTokensNeedTheLegacySecret() {
+    String secret = "legacy-secret-legacy-secret-legacy-secret-legacy-secret-legacy-se";
+    String legacy =
+        Jwts.builder()
+            .setSubject("carol")
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(
+                Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)),
+                SignatureAlgorithm.HS512)
+            .compact();
+
+    assertFalse(new JwtUtil(TestSigningKey.resolver(current)).validateToken(legacy));
+
+    JwksKeyResolver withLegacy =
+        new JwksKeyResolver(WebClient.builder(), "http://localhost:0/jwks.json", 300, 3600, secret);
+    assertEquals("carol", new JwtUtil(withLegacy).extractClaims(legacy).getSubject());
+  }
+}
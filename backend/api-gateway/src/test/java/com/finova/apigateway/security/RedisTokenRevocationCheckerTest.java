@@ -0,0 +1,129 @@
+package com.finova.apigateway.security;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+public class RedisTokenRevocationCheckerTest {
+
+  private static final String TOKEN = "header.payload.signature";
+
+  private ReactiveValueOperations<String, String> values;
+  private Sinks.Many<ReactiveSubscription.Message<String, String>> revocations;
+  private RedisTokenRevocationChecker checker;
+  private Claims claims;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    values = mock(ReactiveValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(values);
+    revocations = Sinks.many().multicast().onBackpressureBuffer();
+    doReturn(revocations.asFlux()).when(redisTemplate).listenToChannel("token-revocations");
+    checker =
+        new RedisTokenRevocationChecker(
+            redisTemplate, "token-revocations", 250, 1000, 60_000, 60_000);
+    checker.subscribe();
+
+    claims = Jwts.claims().setId("abc123").setSubject("alice");
+    claims.setIssuedAt(new Date(System.currentTimeMillis() - 10_000));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    checker.unsubscribe();
+  }
+
+  private void publish(String message) {
+    revocations.tryEmitNext(
+        new ReactiveSubscription.ChannelMessage<>("token-revocations", message));
+  }
+
+  private static Mono<List<String>> found(String... results) {
+    return Mono.just(Arrays.asList(results));
+  }
+
+  @Test
+  public void testOneMultiGetCoversTokenAndUserKeys() {
+    when(values.multiGet(List.of("rv:abc123", "rvb:alice"))).thenReturn(found(null, null));
+
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(false).verifyComplete();
+  }
+
+  @Test
+  public void testTokenWithoutJtiAlsoChecksLegacyKey() {
+    Claims legacy = Jwts.claims().setSubject("alice");
+    String id = TokenDigest.encoded(TOKEN);
+    when(values.multiGet(List.of("rv:" + id, "rvb:alice", "blacklist:" + TOKEN)))
+        .thenReturn(found(null, null, "\"blacklisted\""));
+
+    StepVerifier.create(checker.isRevoked(TOKEN, legacy)).expectNext(true).verifyComplete();
+  }
+
+  @Test
+  public void testWatermarkRevokesTokensIssuedBeforeIt() {
+    String watermark = Long.toString(System.currentTimeMillis());
+    when(values.multiGet(anyCollection())).thenReturn(found(null, watermark));
+
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(true).verifyComplete();
+  }
+
+  @Test
+  public void testNotRevokedAnswerIsServedFromNearCache() {
+    when(values.multiGet(anyCollection())).thenReturn(found(null, null));
+
+    for (int i = 0; i < 3; i++) {
+      StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(false).verifyComplete();
+    }
+
+    verify(values, times(1)).multiGet(anyCollection());
+  }
+
+  @Test
+  public void testPublishedRevocationsOverrideCachedAnswer() {
+    when(values.multiGet(anyCollection())).thenReturn(found(null, null));
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(false).verifyComplete();
+
+    publish("rv:abc123");
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(true).verifyComplete();
+
+    Claims other = Jwts.claims().setId("def456").setSubject("alice");
+    other.setIssuedAt(claims.getIssuedAt());
+    publish("rvb:alice:" + System.currentTimeMillis());
+    StepVerifier.create(checker.isRevoked(TOKEN, other)).expectNext(true).verifyComplete();
+
+    verify(values, times(1)).multiGet(anyCollection());
+  }
+
+  @Test
+  public void testRedisFailureIsNotCached() {
+    when(values.multiGet(anyCollection()))
+        .thenReturn(Mono.error(new IllegalStateException("connection refused")))
+        .thenReturn(found("1", null));
+
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectError().verify();
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectNext(true).verifyComplete();
+  }
+
+  @Test
+  public void testSlowLookupTimesOut() {
+    when(values.multiGet(anyCollection())).thenReturn(Mono.never());
+
+    StepVerifier.create(checker.isRevoked(TOKEN, claims)).expectError().verify();
+  }
+}
@@ -0,0 +1,77 @@
+package com.finova.apigateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/** An ES256 key pair standing in for auth-service: signs tokens and publishes its JWKS. */
+public class TestSigningKey {
+
+  private final KeyPair keyPair;
+  private final String kid;
+
+  public TestSigningKey(String kid) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+      generator.initialize(new ECGenParameterSpec("secp256r1"));
+      this.keyPair = generator.generateKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+    this.kid = kid;
+  }
+
+  public String sign(String subject, long expiresInMillis) {
+    return Jwts.builder()
+        .setHeaderParam(JwsHeader.KEY_ID, kid)
+        .setSubject(subject)
+        .setIssuedAt(new Date())
+        .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+        .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+        .compact();
+  }
+
+  public String jwk() {
+    ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+    return "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\""
+        + kid
+        + "\",\"use\":\"sig\",\"alg\":\"ES256\",\"x\":\""
+        + coordinate(publicKey.getW().getAffineX())
+        + "\",\"y\":\""
+        + coordinate(publicKey.getW().getAffineY())
+        + "\"}";
+  }
+
+  public static String jwks(TestSigningKey... keys) {
+    StringBuilder jwks = new StringBuilder("{\"keys\":[");
+    for (int i = 0; i < keys.length; i++) {
+      jwks.append(i > 0 ? "," : "").append(keys[i].jwk());
+    }
+    return jwks.append("]}").toString();
+  }
+
+  /** A resolver that already holds these keys and never fetches. */
+  public static JwksKeyResolver resolver(TestSigningKey... keys) {
+    JwksKeyResolver resolver =
+        new JwksKeyResolver(WebClient.builder(), "http://localhost:0/jwks.json", 300, 3600, "");
+    resolver.apply(jwks(keys));
+    return resolver;
+  }
+
+  private static String coordinate(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    byte[] fixed = new byte[32];
+    int length = Math.min(bytes.length, 32);
+    System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+  }
+}
@@ -0,0 +1,79 @@
+package com.finova.apigateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class VerifiedTokenCacheTest {
+
+  private final TestSigningKey signingKey = new TestSigningKey("k1");
+
+  private JwtUtil jwtUtil;
+  private VerifiedTokenCache cache;
+
+  @BeforeEach
+  public void setup() {
+    jwtUtil = spy(new JwtUtil(TestSigningKey.resolver(signingKey)));
+    cache = new VerifiedTokenCache(jwtUtil, true, 100, 300);
+  }
+
+  @Test
+  public void testHotTokenIsVerifiedOnce() {
+    String token = signingKey.sign("alice", 60_000);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals("alice", cache.verify(token).getSubject());
+    }
+
+    verify(jwtUtil, times(1)).extractClaims(token);
+  }
+
+  @Test
+  public void testForgedTokenIsRejectedAndNotCached() {
+    String token = signingKey.sign("alice", 60_000);
+    String forged = token.substring(0, token.length() - 4) + "AAAA";
+
+    assertThrows(JwtException.class, () -> cache.verify(forged));
+    assertThrows(JwtException.class, () -> cache.verify(forged));
+
+    verify(jwtUtil, times(2)).extractClaims(forged);
+  }
+
+  @Test
+  public void testEntryExpiresWithToken() throws InterruptedException {
+    String token = signingKey.sign("bob", 1000);
+    assertEquals("bob", cache.verify(token).getSubject());
+
+    Thread.sleep(1100);
+
+    assertThrows(ExpiredJwtException.class, () -> cache.verify(token));
+  }
+
+  @Test
+  public void testDisabledCacheAlwaysVerifies() {
+    VerifiedTokenCache disabled = new VerifiedTokenCache(jwtUtil, false, 100, 300);
+    String token = signingKey.sign("carol", 60_000);
+
+    disabled.verify(token);
+    disabled.verify(token);
+
+    verify(jwtUtil, times(2)).extractClaims(token);
+  }
+
+  @Test
+  public void testWithdrawnSigningKeyDropsCachedVerifications() {
+    JwksKeyResolver resolver = TestSigningKey.resolver(signingKey);
+    VerifiedTokenCache withResolver =
+        new VerifiedTokenCache(new JwtUtil(resolver), true, 100, 300);
+    String token = signingKey.sign("dave", 60_000);
+    assertEquals("dave", withResolver.verify(token).getSubject());
+
+    resolver.apply(TestSigningKey.jwks(new TestSigningKey("k2")));
+
+    assertThrows(JwtException.class, () -> withResolver.verify(token));
+  }
+}
@@ -4,6 +4,7 @@ import com.finova.auth.model.Role;
 import com.finova.auth.model.User;
 import com.finova.auth.repository.RoleRepository;
 import com.finova.auth.repository.UserRepository;
+import com.finova.auth.security.RoleAuthorityRegistry;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ public class DataInitializer implements CommandLineRunner {
   private final RoleRepository roleRepository;
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final RoleAuthorityRegistry roleAuthorityRegistry;
 
   @Override
   public void run(String... args) {
@@ -35,6 +37,8 @@ public class DataInitializer implements CommandLineRunner {
         log.info("Created role: {}", roleName);
       }
     }
+    // Startup load of the shared authority sets, after any role was created
+    roleAuthorityRegistry.reload();
   }
 
   private void initializeAdminUser() {
@@ -4,12 +4,20 @@ import com.finova.auth.dto.LoginRequest;
 import com.finova.auth.dto.LoginResponse;
 import com.finova.auth.dto.RegisterRequest;
 import com.finova.auth.dto.UserResponse;
+import com.finova.auth.security.ClientAddressResolver;
+import com.finova.auth.security.LoginThrottledException;
+import com.finova.auth.security.PasswordHashingExecutor;
 import com.finova.auth.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -23,23 +31,48 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
   private final AuthService authService;
+  private final PasswordHashingExecutor hashingExecutor;
+  private final ClientAddressResolver clientAddressResolver;
 
   @PostMapping("/login")
   @Operation(summary = "User login", description = "Authenticate user and return JWT token")
-  public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+  public CompletableFuture<ResponseEntity<LoginResponse>> login(
+      @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
     log.info("Login attempt for user: {}", request.getUsername());
-    LoginResponse response = authService.login(request);
-    log.info("Login successful for user: {}", request.getUsername());
-    return ResponseEntity.ok(response);
+    // Read on the request thread; the servlet request is not usable from the hashing pool
+    String clientAddress = clientAddressResolver.resolve(httpRequest);
+    // Password verification runs on the hashing pool; the request thread is released meanwhile
+    try {
+      return hashingExecutor
+          .submit(() -> authService.login(request, clientAddress))
+          .thenApply(
+              response -> {
+                log.info("Login successful for user: {}", request.getUsername());
+                return ResponseEntity.ok(response);
+              });
+    } catch (RejectedExecutionException e) {
+      log.warn("Login shed for user {}: password hashing queue is full", request.getUsername());
+      return CompletableFuture.completedFuture(tooManyRequests());
+    }
   }
 
   @PostMapping("/register")
   @Operation(summary = "User registration", description = "Register a new user account")
-  public ResponseEntity<UserResponse> register(@Valid @RequestBody RegisterRequest request) {
+  public CompletableFuture<ResponseEntity<UserResponse>> register(
+      @Valid @RequestBody RegisterRequest request) {
     log.info("Registration attempt for user: {}", request.getUsername());
-    UserResponse response = authService.register(request);
-    log.info("Registration successful for user: {}", request.getUsername());
-    return ResponseEntity.ok(response);
+    try {
+      return hashingExecutor
+          .submit(() -> authService.register(request))
+          .thenApply(
+              response -> {
+                log.info("Registration successful for user: {}", request.getUsername());
+                return ResponseEntity.ok(response);
+              });
+    } catch (RejectedExecutionException e) {
+      log.warn("Registration shed: password hashing queue is full");
+      return CompletableFuture.completedFuture(tooManyRequests());
+    }
   }
 
   @PostMapping("/logout")
@@ -51,6 +84,17 @@ public class AuthController {
     return ResponseEntity.ok().build();
   }
 
+  @PostMapping("/logout-all")
+  @Operation(
+      summary = "Logout all sessions",
+      description = "Invalidate every token issued to the current user")
+  public ResponseEntity<Void> logoutAllSessions(@RequestHeader("Authorization") String token) {
+    String jwtToken = token.replace("Bearer ", "");
+    authService.logoutAllSessions(jwtToken);
+    log.info("All user sessions logged out successfully");
+    return ResponseEntity.ok().build();
+  }
+
   @PostMapping("/refresh")
   @Operation(summary = "Refresh token", description = "Refresh JWT token")
   public ResponseEntity<LoginResponse> refreshToken(@RequestHeader("Authorization") String token) {
@@ -66,4 +110,18 @@ public class AuthController {
     boolean isValid = authService.validateToken(jwtToken);
     return ResponseEntity.ok(isValid);
   }
+
+  @ExceptionHandler(LoginThrottledException.class)
+  public ResponseEntity<Void> loginThrottled(LoginThrottledException e) {
+    log.warn("Login throttled: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+        .build();
+  }
+
+  private static <T> ResponseEntity<T> tooManyRequests() {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+  }
 }
@@ -0,0 +1,36 @@
+package com.finova.auth.controller;
+
+import com.finova.auth.security.JwtSigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Keys", description = "Public keys for verifying issued tokens")
+public class JwksController {
+
+  public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+  private final JwtSigningKeys signingKeys;
+
+  @Value("${app.jwt.signing.jwks-max-age-seconds:300}")
+  private long maxAgeSeconds;
+
+  @GetMapping(value = JWKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "JWKS", description = "Public token signing keys (RFC 7517)")
+  public ResponseEntity<String> jwks() {
+    // Conditional GETs with a matching ETag are answered with 304
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+        .eTag(signingKeys.getJwksEtag())
+        .body(signingKeys.getJwks());
+  }
+}
@@ -6,7 +6,9 @@ import javax.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "roles")
@@ -27,8 +29,11 @@ public class Role {
   @Column(length = 255)
   private String description;
 
+  // Excluded so hashing a role (e.g. adding it to a user's role set) never loads its users
   @ManyToMany(mappedBy = "roles")
   @Builder.Default
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private Set<User> users = new HashSet<>();
 
   public enum RoleName {
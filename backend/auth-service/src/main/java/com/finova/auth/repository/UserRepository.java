@@ -3,17 +3,24 @@ package com.finova.auth.repository;
 import com.finova.auth.model.User;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
   Optional<User> findByUsername(String username);
 
+  /** User and roles in a single join, instead of the eager secondary select for roles. */
+  @EntityGraph(attributePaths = "roles")
+  Optional<User> findWithRolesByUsername(String username);
+
   Optional<User> findByEmail(String email);
 
   boolean existsByUsername(String username);
@@ -30,6 +37,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
   void updateLastLoginTime(
       @Param("username") String username, @Param("loginTime") LocalDateTime loginTime);
 
+  /** All post-login bookkeeping in one statement. */
+  @Modifying
+  @Query(
+      "UPDATE User u SET u.failedLoginAttempts = 0, u.lastLoginAt = :loginTime WHERE u.id = :id")
+  void recordSuccessfulLogin(@Param("id") Long id, @Param("loginTime") LocalDateTime loginTime);
+
+  @Modifying
+  @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+  void updatePassword(@Param("username") String username, @Param("password") String password);
+
+  /**
+   * Locks the account after too many failed logins; returns 0 if the user does not exist or is
+   * already locked. Commits on its own, because the failed login that triggers it rolls back.
+   */
+  @Modifying
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query(
+      "UPDATE User u SET u.accountNonLocked = false, u.failedLoginAttempts = :attempts"
+          + " WHERE u.username = :username AND u.accountNonLocked = true")
+  int lockAfterFailedLogins(
+      @Param("username") String username, @Param("attempts") Integer attempts);
+
   @Modifying
   @Query("UPDATE User u SET u.accountNonLocked = :locked WHERE u.username = :username")
   void updateAccountLockStatus(@Param("username") String username, @Param("locked") Boolean locked);
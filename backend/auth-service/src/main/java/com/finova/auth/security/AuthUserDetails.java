@@ -0,0 +1,40 @@
+package com.finova.auth.security;
+
+import com.finova.auth.model.User;
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Spring Security view of a {@link User} that keeps the loaded entity (with its roles), so the
+ * login path can use the authenticated principal instead of loading the user a second time.
+ */
+public class AuthUserDetails extends org.springframework.security.core.userdetails.User {
+
+  private final transient User user;
+
+  private AuthUserDetails(
+      User user, String password, Collection<? extends GrantedAuthority> authorities) {
+    super(
+        user.getUsername(),
+        password,
+        user.getEnabled(),
+        user.getAccountNonExpired(),
+        user.getCredentialsNonExpired(),
+        user.getAccountNonLocked(),
+        authorities);
+    this.user = user;
+  }
+
+  public static AuthUserDetails of(
+      User user, Collection<? extends GrantedAuthority> authorities) {
+    return new AuthUserDetails(user, user.getPassword(), authorities);
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  AuthUserDetails withPassword(String password) {
+    return new AuthUserDetails(user, password, getAuthorities());
+  }
+}
@@ -0,0 +1,73 @@
+package com.finova.auth.security;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the address of the client behind the gateway, for login throttling.
+ *
+ * <p>{@code X-Forwarded-For} is only believed when the connection comes from a trusted proxy
+ * ({@code app.login-throttle.trusted-proxies}); the header is then read from the right, skipping
+ * further trusted hops, and the first other address is the client. Anything to its left was
+ * written by the client and is ignored, so a caller cannot pick the address it is throttled under.
+ */
+@Component
+public class ClientAddressResolver {
+
+  static final String FORWARDED_FOR = "X-Forwarded-For";
+
+  // Only literals are matched: IpAddressMatcher would resolve a host name through DNS
+  private static final Pattern IP_LITERAL =
+      Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9a-fA-F]*:[0-9a-fA-F:.]*");
+
+  private final List<IpAddressMatcher> trustedProxies;
+
+  public ClientAddressResolver(
+      @Value(
+              "${app.login-throttle.trusted-proxies:"
+                  + "10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,127.0.0.1,::1}")
+          List<String> trustedProxies) {
+    this.trustedProxies =
+        trustedProxies.stream()
+            .map(String::trim)
+            .filter(proxy -> !proxy.isEmpty())
+            .map(IpAddressMatcher::new)
+            .collect(Collectors.toList());
+  }
+
+  public String resolve(HttpServletRequest request) {
+    String address = request.getRemoteAddr();
+    String forwardedFor = request.getHeader(FORWARDED_FOR);
+    if (forwardedFor == null || !isTrusted(address)) {
+      return address;
+    }
+    String[] hops = forwardedFor.split(",");
+    for (int i = hops.length - 1; i >= 0; i--) {
+      String hop = hops[i].trim();
+      if (hop.isEmpty()) {
+        continue;
+      }
+      address = hop;
+      if (!isTrusted(hop)) {
+        break;
+      }
+    }
+    return address;
+  }
+
+  private boolean isTrusted(String address) {
+    if (!IP_LITERAL.matcher(address).matches()) {
+      return false;
+    }
+    try {
+      return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+}
@@ -3,43 +3,42 @@ package com.finova.auth.security;
 import com.finova.auth.model.User;
 import com.finova.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
+  private final RoleAuthorityRegistry roleAuthorityRegistry;
 
   @Override
   @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    User user = userRepository.findByUsername(username)
+    // User and roles in one query; the entity travels with the principal for the login path
+    User user = userRepository.findWithRolesByUsername(username)
         .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-    return new org.springframework.security.core.userdetails.User(
-        user.getUsername(),
-        user.getPassword(),
-        user.getEnabled(),
-        user.getAccountNonExpired(),
-        user.getCredentialsNonExpired(),
-        user.getAccountNonLocked(),
-        getAuthorities(user)
-    );
+    return AuthUserDetails.of(
+        user, roleAuthorityRegistry.forRoles(user.getRoles()).getAuthorities());
   }
 
-  private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-    return user.getRoles().stream()
-        .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-        .collect(Collectors.toList());
+  /** Stores a rehashed password; this is not a password change, so passwordChangedAt is kept. */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePassword(user.getUsername(), newPassword);
+    if (user instanceof AuthUserDetails) {
+      return ((AuthUserDetails) user).withPassword(newPassword);
+    }
+    return org.springframework.security.core.userdetails.User.withUserDetails(user)
+        .password(newPassword)
+        .build();
   }
 }
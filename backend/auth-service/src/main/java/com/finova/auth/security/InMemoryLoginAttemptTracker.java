@@ -0,0 +1,75 @@
+package com.finova.auth.security;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-instance failed-login windows for tests and local runs without Redis
+ * ({@code app.login-throttle.store=memory}). Counts are not shared between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.login-throttle.store", havingValue = "memory")
+public class InMemoryLoginAttemptTracker implements LoginAttemptTracker {
+
+  private final long windowMillis;
+  private final int maxTracked;
+  private final LongSupplier clock;
+  private final Map<String, Deque<Long>> failures = new HashMap<>();
+
+  @Autowired
+  public InMemoryLoginAttemptTracker(
+      @Value("${app.login-throttle.window-seconds:900}") long windowSeconds,
+      @Value("${app.login-throttle.max-tracked:1000}") int maxTracked) {
+    this(windowSeconds, maxTracked, System::currentTimeMillis);
+  }
+
+  InMemoryLoginAttemptTracker(long windowSeconds, int maxTracked, LongSupplier clock) {
+    this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+    this.maxTracked = maxTracked;
+    this.clock = clock;
+  }
+
+  @Override
+  public synchronized long recordFailure(String key) {
+    long now = clock.getAsLong();
+    Deque<Long> window = failures.computeIfAbsent(key, k -> new ArrayDeque<>());
+    trim(window, now);
+    window.addLast(now);
+    if (window.size() > maxTracked) {
+      window.removeFirst();
+    }
+    return window.size();
+  }
+
+  @Override
+  public synchronized long failures(String key) {
+    Deque<Long> window = failures.get(key);
+    if (window == null) {
+      return 0;
+    }
+    trim(window, clock.getAsLong());
+    if (window.isEmpty()) {
+      failures.remove(key);
+    }
+    return window.size();
+  }
+
+  @Override
+  public synchronized void reset(String key) {
+    failures.remove(key);
+  }
+
+  private void trim(Deque<Long> window, long now) {
+    while (!window.isEmpty() && window.peekFirst() <= now - windowMillis) {
+      window.removeFirst();
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.finova.auth.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * ES256 (P-256) token signing keys and the JWKS document that publishes their public halves.
+ *
+ * <p>Keys come from a PKCS#12 keystore ({@code app.jwt.signing.keystore}); every EC P-256 key
+ * entry is published and accepted for verification, and the one under {@code active-alias} signs
+ * new tokens. Key ids are RFC 7638 thumbprints, so every instance derives the same {@code kid}
+ * from the same key. To rotate: add the new key to the keystore and deploy, wait for the gateways'
+ * JWKS refresh, switch {@code active-alias}, and remove the old entry once its tokens have
+ * expired. Without a keystore an ephemeral key is generated, which only suits a single dev node.
+ *
+ * <p>If {@code app.jwt.secret} is set, HS512 tokens signed with it before the switch are still
+ * verified (never issued) until they expire.
+ */
+@Component
+@Slf4j
+public class JwtSigningKeys extends SigningKeyResolverAdapter {
+
+  private static final String CURVE = "secp256r1";
+
+  private final Map<String, ECPublicKey> publicKeys;
+  private final String activeKid;
+  private final PrivateKey activeKey;
+  private final Key legacyHmacKey;
+  private final String jwks;
+  private final String jwksEtag;
+
+  public JwtSigningKeys(
+      @Value("${app.jwt.signing.keystore:}") String keystoreLocation,
+      @Value("${app.jwt.signing.keystore-password:}") String keystorePassword,
+      @Value("${app.jwt.signing.active-alias:}") String activeAlias,
+      @Value("${app.jwt.secret:}") String legacySecret) {
+    Map<String, ECPublicKey> published = new LinkedHashMap<>();
+    try {
+      if (keystoreLocation.isEmpty()) {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(CURVE));
+        KeyPair pair = generator.generateKeyPair();
+        ECPublicKey publicKey = (ECPublicKey) pair.getPublic();
+        this.activeKid = thumbprint(publicKey);
+        published.put(activeKid, publicKey);
+        this.activeKey = pair.getPrivate();
+        log.warn(
+            "No app.jwt.signing.keystore configured, signing with an ephemeral key; tokens will"
+                + " not survive a restart or verify across instances");
+      } else {
+        KeyStore keyStore = load(keystoreLocation, keystorePassword.toCharArray());
+        String active = null;
+        PrivateKey activePrivate = null;
+        for (String alias : Collections.list(keyStore.aliases())) {
+          if (!keyStore.isKeyEntry(alias)
+              || !(keyStore.getCertificate(alias).getPublicKey() instanceof ECPublicKey)) {
+            continue;
+          }
+          ECPublicKey publicKey = (ECPublicKey) keyStore.getCertificate(alias).getPublicKey();
+          if (publicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+            log.warn("Skipping signing key {}: only P-256 keys are supported", alias);
+            continue;
+          }
+          String kid = thumbprint(publicKey);
+          published.put(kid, publicKey);
+          if (alias.equals(activeAlias) || (activeAlias.isEmpty() && active == null)) {
+            active = kid;
+            activePrivate =
+                (PrivateKey) keyStore.getKey(alias, keystorePassword.toCharArray());
+          }
+        }
+        if (active == null) {
+          throw new IllegalStateException(
+              "No P-256 key entry '" + activeAlias + "' in " + keystoreLocation);
+        }
+        this.activeKid = active;
+        this.activeKey = activePrivate;
+      }
+    } catch (GeneralSecurityException | IOException e) {
+      throw new IllegalStateException("Cannot load JWT signing keys", e);
+    }
+    this.publicKeys = Collections.unmodifiableMap(published);
+    this.legacyHmacKey = legacySecret.isEmpty() ? null : legacyHmacKey(legacySecret);
+    this.jwks = buildJwks(published);
+    this.jwksEtag = DigestUtils.md5DigestAsHex(jwks.getBytes(StandardCharsets.UTF_8));
+    log.info("JWT signing key {} active, {} key(s) published", activeKid, published.size());
+  }
+
+  public String getActiveKid() {
+    return activeKid;
+  }
+
+  public PrivateKey getActiveKey() {
+    return activeKey;
+  }
+
+  /** The JWKS document, built once; it only changes with the keystore, i.e. on redeploy. */
+  public String getJwks() {
+    return jwks;
+  }
+
+  public String getJwksEtag() {
+    return jwksEtag;
+  }
+
+  @Override
+  public Key resolveSigningKey(JwsHeader header, Claims claims) {
+    String algorithm = header.getAlgorithm();
+    if (SignatureAlgorithm.HS512.getValue().equals(algorithm) && legacyHmacKey != null) {
+      return legacyHmacKey;
+    }
+    if (!SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+      throw new UnsupportedJwtException("Unsupported token algorithm: " + algorithm);
+    }
+    ECPublicKey key = header.getKeyId() != null ? publicKeys.get(header.getKeyId()) : null;
+    if (key == null) {
+      throw new SignatureException("Unknown signing key: " + header.getKeyId());
+    }
+    return key;
+  }
+
+  private static KeyStore load(String location, char[] password)
+      throws GeneralSecurityException, IOException {
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    try (InputStream in = new DefaultResourceLoader().getResource(location).getInputStream()) {
+      keyStore.load(in, password);
+    }
+    return keyStore;
+  }
+
+  // Same derivation as the former HS512 signing key, so tokens issued before the switch verify
+  private static Key legacyHmacKey(String secret) {
+    String paddedSecret = secret;
+    while (paddedSecret.getBytes(StandardCharsets.UTF_8).length < 64) {
+      paddedSecret = paddedSecret + paddedSecret;
+    }
+    return Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** RFC 7638 JWK thumbprint: base64url SHA-256 of the required members in lexical order. */
+  static String thumbprint(ECPublicKey key) throws GeneralSecurityException {
+    String canonical =
+        "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\""
+            + coordinate(key.getW().getAffineX())
+            + "\",\"y\":\""
+            + coordinate(key.getW().getAffineY())
+            + "\"}";
+    byte[] digest =
+        MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+  }
+
+  /** A P-256 coordinate as 32 unsigned big-endian bytes, base64url. */
+  static String coordinate(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    byte[] fixed = new byte[32];
+    int length = Math.min(bytes.length, 32);
+    System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+  }
+
+  private static String buildJwks(Map<String, ECPublicKey> keys) {
+    List<Map<String, String>> jwkList = new ArrayList<>();
+    keys.forEach(
+        (kid, key) -> {
+          Map<String, String> jwk = new LinkedHashMap<>();
+          jwk.put("kty", "EC");
+          jwk.put("crv", "P-256");
+          jwk.put("kid", kid);
+          jwk.put("use", "sig");
+          jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+          jwk.put("x", coordinate(key.getW().getAffineX()));
+          jwk.put("y", coordinate(key.getW().getAffineY()));
+          jwkList.add(jwk);
+        });
+    try {
+      return new ObjectMapper().writeValueAsString(Collections.singletonMap("keys", jwkList));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -1,12 +1,10 @@
 package com.finova.auth.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.stream.Collectors;
-import javax.annotation.PostConstruct;
-import javax.crypto.SecretKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -17,26 +15,22 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class JwtTokenProvider {
 
-  @Value("${app.jwt.secret:mySecretKey}")
-  private String jwtSecret;
-
   @Value("${app.jwt.access-token-expiration:3600}")
   private long accessTokenValidityInSeconds;
 
   @Value("${app.jwt.refresh-token-expiration:86400}")
   private long refreshTokenValidityInSeconds;
 
-  private SecretKey key;
+  private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
 
-  @PostConstruct
-  public void init() {
-    // Ensure the secret is long enough for HS512 (minimum 512 bits = 64 bytes)
-    // Pad the secret if necessary to meet the minimum length requirement
-    String paddedSecret = jwtSecret;
-    while (paddedSecret.getBytes(StandardCharsets.UTF_8).length < 64) {
-      paddedSecret = paddedSecret + paddedSecret;
-    }
-    this.key = Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
+  private final JwtSigningKeys signingKeys;
+
+  // Immutable and thread-safe; resolves the verification key by the token's kid
+  private final JwtParser parser;
+
+  public JwtTokenProvider(JwtSigningKeys signingKeys) {
+    this.signingKeys = signingKeys;
+    this.parser = Jwts.parserBuilder().setSigningKeyResolver(signingKeys).build();
   }
 
   public String generateAccessToken(Authentication authentication) {
@@ -58,30 +52,40 @@ public class JwtTokenProvider {
     Date expiryDate = new Date(System.currentTimeMillis() + validityInSeconds * 1000);
 
     return Jwts.builder()
+        .setId(newTokenId())
         .setSubject(username)
         .claim("authorities", authorities)
         .claim("type", tokenType)
         .setIssuedAt(new Date())
         .setExpiration(expiryDate)
-        .signWith(key, SignatureAlgorithm.HS512)
+        .setHeaderParam(JwsHeader.KEY_ID, signingKeys.getActiveKid())
+        .signWith(signingKeys.getActiveKey(), SignatureAlgorithm.ES256)
         .compact();
   }
 
-  public String getUsernameFromToken(String token) {
-    Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  /** 128 random bits, base64url: the compact revocation key for this token. */
+  private static String newTokenId() {
+    byte[] id = new byte[16];
+    TOKEN_ID_RANDOM.nextBytes(id);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+  }
 
-    return claims.getSubject();
+  /** Verifies the token and returns its claims; throws {@link JwtException} if invalid. */
+  public Claims getClaimsFromToken(String token) {
+    return parser.parseClaimsJws(token).getBody();
   }
 
-  public Date getExpirationFromToken(String token) {
-    Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  public String getUsernameFromToken(String token) {
+    return getClaimsFromToken(token).getSubject();
+  }
 
-    return claims.getExpiration();
+  public Date getExpirationFromToken(String token) {
+    return getClaimsFromToken(token).getExpiration();
   }
 
   public boolean validateToken(String token) {
     try {
-      Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+      parser.parseClaimsJws(token);
       return true;
     } catch (SecurityException ex) {
       log.error("Invalid JWT signature");
@@ -93,6 +97,8 @@ public class JwtTokenProvider {
       log.error("Unsupported JWT token");
     } catch (IllegalArgumentException ex) {
       log.error("JWT claims string is empty");
+    } catch (JwtException ex) {
+      log.error("Invalid JWT token: {}", ex.getMessage());
     }
     return false;
   }
@@ -0,0 +1,19 @@
+package com.finova.auth.security;
+
+/**
+ * Sliding-window counter of failed logins, keyed by username or source address.
+ *
+ * <p>Only failures are counted; a key's count is the number of failures recorded for it within
+ * the last {@code app.login-throttle.window-seconds}.
+ */
+public interface LoginAttemptTracker {
+
+  /** Records one failure and returns the number of failures for the key within the window. */
+  long recordFailure(String key);
+
+  /** Number of failures for the key within the window, without recording one. */
+  long failures(String key);
+
+  /** Forgets every failure recorded for the key. */
+  void reset(String key);
+}
@@ -0,0 +1,16 @@
+package com.finova.auth.security;
+
+/** Thrown when a source address has too many recent failed logins to attempt another. */
+public class LoginThrottledException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public LoginThrottledException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
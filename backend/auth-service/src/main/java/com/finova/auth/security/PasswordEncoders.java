@@ -0,0 +1,44 @@
+package com.finova.auth.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Builds the password encoder used for both hashing and verification.
+ *
+ * <p>New hashes are written as {@code {id}hash} with the configured algorithm. Stored hashes with
+ * a different id, a lower BCrypt cost, or no prefix at all (hashes written before this encoder
+ * existed, all plain BCrypt) still verify, and report {@link PasswordEncoder#upgradeEncoding} so
+ * they are rehashed on the next successful login.
+ */
+public final class PasswordEncoders {
+
+  public static final String BCRYPT = "bcrypt";
+  public static final String PBKDF2 = "pbkdf2";
+  public static final String ARGON2 = "argon2";
+
+  private PasswordEncoders() {}
+
+  public static PasswordEncoder create(String encodingId, int bcryptStrength) {
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength));
+    encoders.put(PBKDF2, new Pbkdf2PasswordEncoder());
+    // Argon2 needs BouncyCastle; only offer it when the library is on the classpath
+    if (ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator", null)) {
+      encoders.put(ARGON2, new Argon2PasswordEncoder());
+    }
+    if (!encoders.containsKey(encodingId)) {
+      throw new IllegalArgumentException("Unsupported password encoding: " + encodingId);
+    }
+
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, encoders);
+    encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+    return encoder;
+  }
+}
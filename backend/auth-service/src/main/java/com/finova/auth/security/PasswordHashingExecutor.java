@@ -0,0 +1,81 @@
+package com.finova.auth.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dedicated pool for password hashing work (login and registration).
+ *
+ * <p>Hashing is CPU-bound, so the pool has one thread per core by default and a short bounded
+ * queue. Request threads hand the work off and are released; when the queue is full the task is
+ * rejected immediately so the caller can shed load (HTTP 429) instead of queueing requests that
+ * will time out anyway.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+  private final ThreadPoolExecutor executor;
+  private final ExecutorService monitored;
+
+  public PasswordHashingExecutor(
+      @Value("${app.password.hashing.threads:0}") int threads,
+      @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger counter = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    // Queue depth, active threads and rejections show up as executor.* meters
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.monitored =
+        registry != null
+            ? ExecutorServiceMetrics.monitor(
+                registry, executor, "password-hashing", Collections.emptyList())
+            : executor;
+    log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+  }
+
+  /**
+   * Runs the task on the hashing pool.
+   *
+   * @throws RejectedExecutionException if the queue is full
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, monitored);
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
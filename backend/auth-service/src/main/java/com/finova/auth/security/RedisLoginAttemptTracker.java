@@ -0,0 +1,105 @@
+package com.finova.auth.security;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Failed-login windows shared by every auth-service instance, one sorted set per key ({@code
+ * lf:<key>}) scored by failure time in epoch millis.
+ *
+ * <p>A failure is recorded with a single script call that trims entries older than the window,
+ * adds the new one, caps the set at {@code max-tracked} entries and returns the count, so
+ * concurrent failures across instances are counted exactly. The key expires one window after the
+ * last failure.
+ *
+ * <p>If Redis is unavailable the tracker fails open (counts as zero) and logs; the account lock
+ * already written to the database keeps protecting accounts that crossed the threshold.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "app.login-throttle.store",
+    havingValue = "redis",
+    matchIfMissing = true)
+@Slf4j
+public class RedisLoginAttemptTracker implements LoginAttemptTracker {
+
+  static final String KEY_PREFIX = "lf:";
+
+  private static final RedisScript<Long> RECORD_FAILURE =
+      new DefaultRedisScript<>(
+          "local now = tonumber(ARGV[1])\n"
+              + "local window = tonumber(ARGV[2])\n"
+              + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)\n"
+              + "redis.call('ZADD', KEYS[1], now, ARGV[3])\n"
+              + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[4]) + 1))\n"
+              + "redis.call('PEXPIRE', KEYS[1], window)\n"
+              + "return redis.call('ZCARD', KEYS[1])",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final long windowMillis;
+  private final int maxTracked;
+
+  public RedisLoginAttemptTracker(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.login-throttle.window-seconds:900}") long windowSeconds,
+      @Value("${app.login-throttle.max-tracked:1000}") int maxTracked) {
+    this.redisTemplate = redisTemplate;
+    this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+    this.maxTracked = maxTracked;
+  }
+
+  @Override
+  public long recordFailure(String key) {
+    long now = System.currentTimeMillis();
+    // Members must be unique, two failures in the same millisecond both count
+    String member = now + ":" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+    try {
+      Long count =
+          redisTemplate.execute(
+              RECORD_FAILURE,
+              Collections.singletonList(KEY_PREFIX + key),
+              Long.toString(now),
+              Long.toString(windowMillis),
+              member,
+              Integer.toString(maxTracked));
+      return count != null ? count : 0;
+    } catch (DataAccessException e) {
+      log.warn("Failed to record login failure: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  @Override
+  public long failures(String key) {
+    long now = System.currentTimeMillis();
+    try {
+      Long count =
+          redisTemplate
+              .opsForZSet()
+              .count(KEY_PREFIX + key, now - windowMillis + 1, Double.POSITIVE_INFINITY);
+      return count != null ? count : 0;
+    } catch (DataAccessException e) {
+      log.warn("Failed to read login failures: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  @Override
+  public void reset(String key) {
+    try {
+      redisTemplate.delete(KEY_PREFIX + key);
+    } catch (DataAccessException e) {
+      log.warn("Failed to reset login failures: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.finova.auth.security;
+
+import com.finova.auth.model.Role;
+import com.finova.auth.repository.RoleRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared, immutable authority sets per combination of roles.
+ *
+ * <p>Each role's {@link GrantedAuthority} is created once, when the registry is loaded from the
+ * {@code roles} table, and every distinct role combination gets one cached {@link
+ * RoleAuthorities} (there are at most 2^n for n role names). Callers must not modify the returned
+ * collections. Call {@link #reload()} after creating, renaming or deleting roles.
+ */
+@Component
+@Slf4j
+public class RoleAuthorityRegistry {
+
+  private final RoleRepository roleRepository;
+  private final Map<Role.RoleName, GrantedAuthority> authorities =
+      Collections.synchronizedMap(new EnumMap<>(Role.RoleName.class));
+  // Keyed by a bitmask of RoleName ordinals
+  private final Map<Integer, RoleAuthorities> combinations = new ConcurrentHashMap<>();
+
+  public RoleAuthorityRegistry(RoleRepository roleRepository) {
+    this.roleRepository = roleRepository;
+  }
+
+  /** Reloads the roles and drops every cached combination. */
+  public void reload() {
+    List<Role> roles = roleRepository.findAll();
+    synchronized (authorities) {
+      authorities.clear();
+      for (Role role : roles) {
+        authorities.put(role.getName(), new SimpleGrantedAuthority(role.getName().name()));
+      }
+    }
+    combinations.clear();
+    log.info("Loaded {} role authorities", roles.size());
+  }
+
+  /** The shared authorities of the given roles. */
+  public RoleAuthorities forRoles(Collection<Role> roles) {
+    int mask = 0;
+    for (Role role : roles) {
+      mask |= 1 << role.getName().ordinal();
+    }
+    return combinations.computeIfAbsent(mask, this::build);
+  }
+
+  private RoleAuthorities build(int mask) {
+    List<GrantedAuthority> granted = new ArrayList<>();
+    Set<String> names = new LinkedHashSet<>();
+    for (Role.RoleName name : Role.RoleName.values()) {
+      if ((mask & (1 << name.ordinal())) != 0) {
+        // Roles missing from the last load (e.g. created since) are still resolved
+        GrantedAuthority authority =
+            authorities.computeIfAbsent(name, n -> new SimpleGrantedAuthority(n.name()));
+        granted.add(authority);
+        names.add(authority.getAuthority());
+      }
+    }
+    return new RoleAuthorities(
+        Collections.unmodifiableList(granted), Collections.unmodifiableSet(names));
+  }
+
+  /** Authorities of one role combination, as Spring Security objects and as plain names. */
+  public static final class RoleAuthorities {
+
+    private final List<GrantedAuthority> authorities;
+    private final Set<String> names;
+
+    RoleAuthorities(List<GrantedAuthority> authorities, Set<String> names) {
+      this.authorities = authorities;
+      this.names = names;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+      return authorities;
+    }
+
+    public Set<String> getNames() {
+      return names;
+    }
+  }
+}
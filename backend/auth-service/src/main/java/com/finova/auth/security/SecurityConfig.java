@@ -1,9 +1,12 @@
 package com.finova.auth.security;
 
+import com.finova.auth.controller.JwksController;
 import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,8 +14,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -28,15 +29,19 @@ public class SecurityConfig {
   private final CustomUserDetailsService customUserDetailsService;
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(12);
+  public PasswordEncoder passwordEncoder(
+      @Value("${app.password.encoding:bcrypt}") String encodingId,
+      @Value("${app.password.bcrypt-strength:12}") int bcryptStrength) {
+    return PasswordEncoders.create(encodingId, bcryptStrength);
   }
 
   @Bean
-  public DaoAuthenticationProvider authenticationProvider() {
+  public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(customUserDetailsService);
-    authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setPasswordEncoder(passwordEncoder);
+    // Rehashes outdated hashes (old cost factor or algorithm) after a successful login
+    authProvider.setUserDetailsPasswordService(customUserDetailsService);
     return authProvider;
   }
 
@@ -47,8 +52,9 @@ public class SecurityConfig {
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-    http.authenticationProvider(authenticationProvider())
+  public SecurityFilterChain filterChain(
+      HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
+    http.authenticationProvider(authenticationProvider)
         .cors()
         .and()
         .csrf()
@@ -59,6 +65,8 @@ public class SecurityConfig {
         .authorizeRequests()
         .antMatchers("/api/auth/login", "/api/auth/register", "/api/auth/validate")
         .permitAll()
+        .antMatchers(HttpMethod.GET, JwksController.JWKS_PATH)
+        .permitAll()
         .antMatchers("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**")
         .permitAll()
         .anyRequest()
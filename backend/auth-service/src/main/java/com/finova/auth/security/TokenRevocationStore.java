@@ -0,0 +1,121 @@
+package com.finova.auth.security;
+
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis-backed token revocation, shared with the API gateway.
+ *
+ * <p>Key layout (plain strings, no JSON):
+ *
+ * <ul>
+ *   <li>{@code rv:<jti>} = {@code 1}, expiring with the token. Tokens issued before the {@code
+ *       jti} claim was added use the base64url SHA-256 of the token as their id.
+ *   <li>{@code rvb:<username>} = epoch millis; every token of that user issued (by {@code iat},
+ *       second precision) before it is revoked. Expires after the longest token lifetime.
+ *   <li>{@code blacklist:<token>} is the pre-jti layout and is only read, for tokens without a
+ *       {@code jti}, until those tokens have expired.
+ * </ul>
+ *
+ * <p>Each revocation is also published on {@link #REVOCATION_CHANNEL} as {@code rv:<id>} or
+ * {@code rvb:<username>:<millis>} so gateways can update their near-caches immediately.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+  public static final String REVOKED_PREFIX = "rv:";
+  public static final String REVOKED_BEFORE_PREFIX = "rvb:";
+  public static final String LEGACY_PREFIX = "blacklist:";
+  public static final String REVOCATION_CHANNEL = "token-revocations";
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration watermarkTtl;
+
+  public TokenRevocationStore(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.jwt.refresh-token-expiration:86400}") long refreshTokenValidityInSeconds) {
+    this.redisTemplate = redisTemplate;
+    this.watermarkTtl = Duration.ofSeconds(refreshTokenValidityInSeconds);
+  }
+
+  /** Revokes a single token until it expires. */
+  public void revoke(String token, Claims claims) {
+    long ttlMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+    if (ttlMillis <= 0) {
+      return;
+    }
+    String id = revocationId(token, claims);
+    redisTemplate.opsForValue().set(REVOKED_PREFIX + id, "1", Duration.ofMillis(ttlMillis));
+    publish(REVOKED_PREFIX + id);
+  }
+
+  /** Revokes every token issued to the user up to now with a single write. */
+  public void revokeAllBefore(String username, long epochMillis) {
+    String watermark = Long.toString(epochMillis);
+    redisTemplate.opsForValue().set(REVOKED_BEFORE_PREFIX + username, watermark, watermarkTtl);
+    publish(REVOKED_BEFORE_PREFIX + username + ":" + watermark);
+  }
+
+  /** One round trip covering the token's own key, its user's watermark and the legacy key. */
+  public boolean isRevoked(String token, Claims claims) {
+    List<String> keys = new ArrayList<>(3);
+    keys.add(REVOKED_PREFIX + revocationId(token, claims));
+    keys.add(REVOKED_BEFORE_PREFIX + claims.getSubject());
+    if (claims.getId() == null) {
+      keys.add(LEGACY_PREFIX + token);
+    }
+    List<String> values = redisTemplate.opsForValue().multiGet(keys);
+    if (values == null) {
+      return false;
+    }
+    return isPresent(values.get(0))
+        || issuedBefore(claims, values.get(1))
+        || (values.size() > 2 && isPresent(values.get(2)));
+  }
+
+  static boolean issuedBefore(Claims claims, String watermark) {
+    if (!isPresent(watermark)) {
+      return false;
+    }
+    Date issuedAt = claims.getIssuedAt();
+    return issuedAt == null || issuedAt.getTime() < Long.parseLong(watermark);
+  }
+
+  static String revocationId(String token, Claims claims) {
+    if (claims.getId() != null) {
+      return claims.getId();
+    }
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static boolean isPresent(String value) {
+    return value != null && !value.isEmpty();
+  }
+
+  private void publish(String message) {
+    // Best effort: the keys are authoritative, gateways re-check them within their cache TTL
+    try {
+      redisTemplate.convertAndSend(REVOCATION_CHANNEL, message);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish token revocation: {}", e.getMessage());
+    }
+  }
+}
@@ -7,12 +7,22 @@ import com.finova.auth.dto.UserResponse;
 
 public interface AuthService {
 
-  LoginResponse login(LoginRequest request);
+  /**
+   * Authenticates the user. Failures are counted per username and per {@code clientAddress}; the
+   * account is locked once its count reaches the limit.
+   *
+   * @throws com.finova.auth.security.LoginThrottledException if the client address has too many
+   *     recent failures
+   */
+  LoginResponse login(LoginRequest request, String clientAddress);
 
   UserResponse register(RegisterRequest request);
 
   void logout(String token);
 
+  /** Revokes every token issued to the token's user so far, with a single write. */
+  void logoutAllSessions(String token);
+
   LoginResponse refreshToken(String token);
 
   boolean validateToken(String token);
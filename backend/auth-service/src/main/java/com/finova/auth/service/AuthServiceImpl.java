@@ -8,20 +8,26 @@ import com.finova.auth.model.Role;
 import com.finova.auth.model.User;
 import com.finova.auth.repository.RoleRepository;
 import com.finova.auth.repository.UserRepository;
+import com.finova.auth.security.AuthUserDetails;
 import com.finova.auth.security.JwtTokenProvider;
+import com.finova.auth.security.LoginAttemptTracker;
+import com.finova.auth.security.LoginThrottledException;
+import com.finova.auth.security.RoleAuthorityRegistry;
+import com.finova.auth.security.RoleAuthorityRegistry.RoleAuthorities;
+import com.finova.auth.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,40 +43,46 @@ public class AuthServiceImpl implements AuthService {
   private final PasswordEncoder passwordEncoder;
   private final AuthenticationManager authenticationManager;
   private final JwtTokenProvider jwtTokenProvider;
-  private final RedisTemplate<String, Object> redisTemplate;
+  private final TokenRevocationStore revocationStore;
+  private final LoginAttemptTracker loginAttemptTracker;
+  private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+  @Value("${app.login-throttle.max-failures-per-address:20}")
+  private int maxFailuresPerAddress;
+
+  @Value("${app.login-throttle.window-seconds:900}")
+  private long throttleWindowSeconds;
 
   private static final int MAX_FAILED_ATTEMPTS = 5;
-  private static final String BLACKLIST_PREFIX = "blacklist:";
+  private static final String USER_KEY = "user:";
+  private static final String ADDRESS_KEY = "ip:";
 
   @Override
-  public LoginResponse login(LoginRequest request) {
+  public LoginResponse login(LoginRequest request, String clientAddress) {
+    // Checked before any password hashing so a blocked address costs one Redis read
+    if (clientAddress != null
+        && loginAttemptTracker.failures(ADDRESS_KEY + clientAddress) >= maxFailuresPerAddress) {
+      throw new LoginThrottledException(
+          "Too many failed login attempts from this address", throttleWindowSeconds);
+    }
     try {
-      // Check if account is locked
-      User user =
-          userRepository
-              .findByUsername(request.getUsername())
-              .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
-
-      if (!user.getAccountNonLocked()) {
-        throw new BadCredentialsException("Account is locked");
-      }
-
-      // Authenticate user
+      // Authenticate user. The provider loads user and roles once and rejects locked,
+      // disabled and expired accounts; the loaded entity comes back as the principal.
       Authentication authentication =
           authenticationManager.authenticate(
               new UsernamePasswordAuthenticationToken(
                   request.getUsername(), request.getPassword()));
+      User user = ((AuthUserDetails) authentication.getPrincipal()).getUser();
 
-      // Reset failed login attempts on successful login
-      userRepository.updateFailedLoginAttempts(request.getUsername(), 0);
-      userRepository.updateLastLoginTime(request.getUsername(), LocalDateTime.now());
+      // Reset failed login attempts and record the login time in one UPDATE
+      userRepository.recordSuccessfulLogin(user.getId(), LocalDateTime.now());
+      loginAttemptTracker.reset(USER_KEY + user.getUsername());
 
       // Generate tokens
       String accessToken = jwtTokenProvider.generateAccessToken(authentication);
       String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
 
-      Set<String> roles =
-          user.getRoles().stream().map(role -> role.getName().name()).collect(Collectors.toSet());
+      Set<String> roles = roleAuthorityRegistry.forRoles(user.getRoles()).getNames();
 
       return LoginResponse.builder()
           .accessToken(accessToken)
@@ -84,7 +96,7 @@ public class AuthServiceImpl implements AuthService {
           .build();
 
     } catch (AuthenticationException e) {
-      handleFailedLogin(request.getUsername());
+      handleFailedLogin(request.getUsername(), clientAddress);
       throw new BadCredentialsException("Invalid credentials");
     }
   }
@@ -125,47 +137,40 @@ public class AuthServiceImpl implements AuthService {
 
   @Override
   public void logout(String token) {
-    // Add token to blacklist
-    long expiration = jwtTokenProvider.getExpirationFromToken(token).getTime();
-    long currentTime = System.currentTimeMillis();
-    long ttl = expiration - currentTime;
-
-    if (ttl > 0) {
-      redisTemplate
-          .opsForValue()
-          .set(BLACKLIST_PREFIX + token, "blacklisted", ttl, TimeUnit.MILLISECONDS);
-    }
+    // Revoke by jti until the token would have expired anyway
+    revocationStore.revoke(token, jwtTokenProvider.getClaimsFromToken(token));
+  }
+
+  @Override
+  public void logoutAllSessions(String token) {
+    String username = jwtTokenProvider.getUsernameFromToken(token);
+    revocationStore.revokeAllBefore(username, System.currentTimeMillis());
+    log.info("All sessions revoked for user: {}", username);
   }
 
   @Override
   public LoginResponse refreshToken(String token) {
-    if (!jwtTokenProvider.validateToken(token) || isTokenBlacklisted(token)) {
-      throw new BadCredentialsException("Invalid refresh token");
-    }
+    Claims claims =
+        activeClaims(token).orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
 
-    String username = jwtTokenProvider.getUsernameFromToken(token);
+    String username = claims.getSubject();
     User user =
         userRepository
-            .findByUsername(username)
+            .findWithRolesByUsername(username)
             .orElseThrow(() -> new BadCredentialsException("User not found"));
 
+    RoleAuthorities authorities = roleAuthorityRegistry.forRoles(user.getRoles());
+
     // Generate new tokens
     Authentication authentication =
         new UsernamePasswordAuthenticationToken(
-            user.getUsername(),
-            null,
-            user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList()));
+            user.getUsername(), null, authorities.getAuthorities());
 
     String newAccessToken = jwtTokenProvider.generateAccessToken(authentication);
     String newRefreshToken = jwtTokenProvider.generateRefreshToken(authentication);
 
-    // Blacklist old refresh token
-    logout(token);
-
-    Set<String> roles =
-        user.getRoles().stream().map(role -> role.getName().name()).collect(Collectors.toSet());
+    // Revoke the old refresh token
+    revocationStore.revoke(token, claims);
 
     return LoginResponse.builder()
         .accessToken(newAccessToken)
@@ -174,19 +179,21 @@ public class AuthServiceImpl implements AuthService {
         .expiresAt(
             LocalDateTime.now().plusSeconds(jwtTokenProvider.getAccessTokenValidityInSeconds()))
         .username(user.getUsername())
-        .roles(roles)
+        .roles(authorities.getNames())
         .mfaRequired(user.getMfaEnabled())
         .build();
   }
 
   @Override
   public boolean validateToken(String token) {
-    return jwtTokenProvider.validateToken(token) && !isTokenBlacklisted(token);
+    return activeClaims(token).isPresent();
   }
 
   @Override
   public void lockAccount(String username) {
     userRepository.updateAccountLockStatus(username, false);
+    // A locked account must not keep using tokens issued before the lock
+    revocationStore.revokeAllBefore(username, System.currentTimeMillis());
     log.warn("Account locked for user: {}", username);
   }
 
@@ -194,28 +201,41 @@ public class AuthServiceImpl implements AuthService {
   public void unlockAccount(String username) {
     userRepository.updateAccountLockStatus(username, true);
     userRepository.updateFailedLoginAttempts(username, 0);
+    loginAttemptTracker.reset(USER_KEY + username);
     log.info("Account unlocked for user: {}", username);
   }
 
-  private void handleFailedLogin(String username) {
-    User user = userRepository.findByUsername(username).orElse(null);
-    if (user != null) {
-      int failedAttempts = user.getFailedLoginAttempts() + 1;
-      userRepository.updateFailedLoginAttempts(username, failedAttempts);
-
-      if (failedAttempts >= MAX_FAILED_ATTEMPTS) {
-        lockAccount(username);
-      }
+  /**
+   * Counts the failure in Redis only; the database is written once, when the username's count
+   * reaches {@link #MAX_FAILED_ATTEMPTS} and the account is still unlocked.
+   */
+  private void handleFailedLogin(String username, String clientAddress) {
+    if (clientAddress != null) {
+      loginAttemptTracker.recordFailure(ADDRESS_KEY + clientAddress);
+    }
+    long failedAttempts = loginAttemptTracker.recordFailure(USER_KEY + username);
+    if (failedAttempts >= MAX_FAILED_ATTEMPTS
+        && userRepository.lockAfterFailedLogins(username, (int) failedAttempts) > 0) {
+      // A locked account must not keep using tokens issued before the lock
+      revocationStore.revokeAllBefore(username, System.currentTimeMillis());
+      log.warn("Account locked after {} failed logins for user: {}", failedAttempts, username);
     }
   }
 
-  private boolean isTokenBlacklisted(String token) {
-    return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + token));
+  /** Claims of a correctly signed, unexpired and unrevoked token; empty otherwise. */
+  private Optional<Claims> activeClaims(String token) {
+    Claims claims;
+    try {
+      claims = jwtTokenProvider.getClaimsFromToken(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("Rejected token: {}", e.getMessage());
+      return Optional.empty();
+    }
+    return revocationStore.isRevoked(token, claims) ? Optional.empty() : Optional.of(claims);
   }
 
   private UserResponse mapToUserResponse(User user) {
-    Set<String> roles =
-        user.getRoles().stream().map(role -> role.getName().name()).collect(Collectors.toSet());
+    Set<String> roles = roleAuthorityRegistry.forRoles(user.getRoles()).getNames();
 
     return UserResponse.builder()
         .id(user.getId())
@@ -0,0 +1,55 @@
+package com.finova.auth.benchmark;
+
+import com.finova.auth.security.PasswordEncoders;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password verifications per second on a single thread, i.e. the login ceiling per core for each
+ * encoding and BCrypt cost. Multiply by {@code app.password.hashing.threads} (one per core by
+ * default) for the node's capacity before the hashing queue fills and logins are shed.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.auth.benchmark.PasswordHashingBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+  @Param({"bcrypt"})
+  public String encoding;
+
+  @Param({"10", "12"})
+  public int bcryptStrength;
+
+  private PasswordEncoder encoder;
+  private String storedHash;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    encoder = PasswordEncoders.create(encoding, bcryptStrength);
+    storedHash = encoder.encode("correct horse battery staple");
+  }
+
+  @Benchmark
+  public boolean verifyLogin() {
+    return encoder.matches("correct horse battery staple", storedHash);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(PasswordHashingBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,52 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class ClientAddressResolverTest {
+
+  private final ClientAddressResolver resolver =
+      new ClientAddressResolver(List.of("10.0.0.0/8", "127.0.0.1"));
+
+  private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr(remoteAddr);
+    if (forwardedFor != null) {
+      request.addHeader(ClientAddressResolver.FORWARDED_FOR, forwardedFor);
+    }
+    return request;
+  }
+
+  @Test
+  public void testClientBehindTheGatewayIsReadFromForwardedFor() {
+    assertEquals("203.0.113.7", resolver.resolve(request("10.1.2.3", "203.0.113.7")));
+  }
+
+  @Test
+  public void testAddressesTheClientPrependedAreIgnored() {
+    // The client sent "1.2.3.4"; the gateway appended the address it saw, then an internal hop
+    assertEquals(
+        "203.0.113.7",
+        resolver.resolve(request("10.1.2.3", "1.2.3.4, 203.0.113.7, 10.9.9.9")));
+  }
+
+  @Test
+  public void testForwardedForFromAnUntrustedPeerIsIgnored() {
+    assertEquals("198.51.100.20", resolver.resolve(request("198.51.100.20", "1.2.3.4")));
+  }
+
+  @Test
+  public void testRemoteAddressIsUsedWithoutForwardedFor() {
+    assertEquals("10.1.2.3", resolver.resolve(request("10.1.2.3", null)));
+  }
+
+  @Test
+  public void testHostNamesAreNeverTrusted() {
+    assertEquals(
+        "gateway.internal",
+        resolver.resolve(request("127.0.0.1", "1.2.3.4, gateway.internal")));
+  }
+}
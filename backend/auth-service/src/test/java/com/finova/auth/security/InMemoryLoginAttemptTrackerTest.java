@@ -0,0 +1,40 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryLoginAttemptTrackerTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+
+  @Test
+  public void testFailuresSlideOutOfTheWindow() {
+    InMemoryLoginAttemptTracker tracker = new InMemoryLoginAttemptTracker(60, 100, now::get);
+
+    assertEquals(1, tracker.recordFailure("user:jdoe"));
+    now.addAndGet(30_000);
+    assertEquals(2, tracker.recordFailure("user:jdoe"));
+    now.addAndGet(30_000);
+
+    // The first failure is exactly one window old and no longer counts
+    assertEquals(1, tracker.failures("user:jdoe"));
+    assertEquals(0, tracker.failures("ip:10.0.0.1"));
+    now.addAndGet(30_000);
+    assertEquals(0, tracker.failures("user:jdoe"));
+  }
+
+  @Test
+  public void testResetAndCap() {
+    InMemoryLoginAttemptTracker tracker = new InMemoryLoginAttemptTracker(60, 3, now::get);
+
+    for (int i = 0; i < 5; i++) {
+      tracker.recordFailure("ip:10.0.0.1");
+    }
+    assertEquals(3, tracker.failures("ip:10.0.0.1"));
+
+    tracker.reset("ip:10.0.0.1");
+    assertEquals(0, tracker.failures("ip:10.0.0.1"));
+  }
+}
@@ -0,0 +1,88 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtSigningKeysTest {
+
+  private static final String LEGACY_SECRET = "legacy-secret";
+
+  private static JwtTokenProvider provider(JwtSigningKeys keys) {
+    JwtTokenProvider provider = new JwtTokenProvider(keys);
+    ReflectionTestUtils.setField(provider, "accessTokenValidityInSeconds", 3600L);
+    ReflectionTestUtils.setField(provider, "refreshTokenValidityInSeconds", 86400L);
+    return provider;
+  }
+
+  @Test
+  public void testTokensAreEs256SignedAndVerifiable() throws Exception {
+    JwtSigningKeys keys = new JwtSigningKeys("", "", "", "");
+    JwtTokenProvider provider = provider(keys);
+
+    String token =
+        provider.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(
+                "alice", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+
+    JwsHeader<?> header =
+        Jwts.parserBuilder().setSigningKeyResolver(keys).build().parseClaimsJws(token).getHeader();
+    assertEquals("ES256", header.getAlgorithm());
+    assertEquals(keys.getActiveKid(), header.getKeyId());
+    assertEquals("alice", provider.getUsernameFromToken(token));
+
+    JsonNode jwk = new ObjectMapper().readTree(keys.getJwks()).get("keys").get(0);
+    assertEquals(keys.getActiveKid(), jwk.get("kid").asText());
+    assertEquals("P-256", jwk.get("crv").asText());
+    assertEquals(43, jwk.get("x").asText().length());
+  }
+
+  @Test
+  public void testTokenFromAnotherKeyIsRejected() {
+    JwtTokenProvider provider = provider(new JwtSigningKeys("", "", "", ""));
+    JwtTokenProvider other = provider(new JwtSigningKeys("", "", "", ""));
+
+    String token =
+        other.generateAccessToken(new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+
+    assertThrows(JwtException.class, () -> provider.getClaimsFromToken(token));
+    assertFalse(provider.validateToken(token));
+  }
+
+  @Test
+  public void testLegacyHmacTokensVerifyOnlyWhileSecretIsConfigured() {
+    String padded = LEGACY_SECRET;
+    while (padded.length() < 64) {
+      padded = padded + padded;
+    }
+    String legacy =
+        Jwts.builder()
+            .setSubject("carol")
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(
+                Keys.hmacShaKeyFor(padded.getBytes(StandardCharsets.UTF_8)),
+                SignatureAlgorithm.HS512)
+            .compact();
+
+    Claims claims =
+        provider(new JwtSigningKeys("", "", "", LEGACY_SECRET)).getClaimsFromToken(legacy);
+    assertEquals("carol", claims.getSubject());
+
+    JwtTokenProvider withoutLegacy = provider(new JwtSigningKeys("", "", "", ""));
+    assertThrows(JwtException.class, () -> withoutLegacy.getClaimsFromToken(legacy));
+  }
+}
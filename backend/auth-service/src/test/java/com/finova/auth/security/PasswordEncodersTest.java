@@ -0,0 +1,46 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class PasswordEncodersTest {
+
+  @Test
+  public void testLegacyUnprefixedHashStillMatchesAndIsUpgraded() {
+    String legacy = new BCryptPasswordEncoder(4).encode("s3cret");
+    PasswordEncoder encoder = PasswordEncoders.create(PasswordEncoders.BCRYPT, 4);
+
+    assertTrue(encoder.matches("s3cret", legacy));
+    assertFalse(encoder.matches("wrong", legacy));
+    assertTrue(encoder.upgradeEncoding(legacy));
+  }
+
+  @Test
+  public void testLowerCostIsUpgradedAndCurrentCostIsNot() {
+    String weak = PasswordEncoders.create(PasswordEncoders.BCRYPT, 4).encode("s3cret");
+    PasswordEncoder encoder = PasswordEncoders.create(PasswordEncoders.BCRYPT, 5);
+
+    assertTrue(weak.startsWith("{bcrypt}"));
+    assertTrue(encoder.matches("s3cret", weak));
+    assertTrue(encoder.upgradeEncoding(weak));
+    assertFalse(encoder.upgradeEncoding(encoder.encode("s3cret")));
+  }
+
+  @Test
+  public void testAlgorithmChangeKeepsOldHashesVerifiable() {
+    String bcrypt = PasswordEncoders.create(PasswordEncoders.BCRYPT, 4).encode("s3cret");
+    PasswordEncoder encoder = PasswordEncoders.create(PasswordEncoders.PBKDF2, 4);
+
+    assertTrue(encoder.matches("s3cret", bcrypt));
+    assertTrue(encoder.upgradeEncoding(bcrypt));
+    assertTrue(encoder.encode("s3cret").startsWith("{pbkdf2}"));
+  }
+
+  @Test
+  public void testUnknownEncodingIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> PasswordEncoders.create("md5", 12));
+  }
+}
@@ -0,0 +1,58 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+public class PasswordHashingExecutorTest {
+
+  private PasswordHashingExecutor executor;
+
+  @BeforeEach
+  public void setup() {
+    // No MeterRegistry bean: the pool runs unmonitored
+    executor =
+        new PasswordHashingExecutor(
+            1, 2, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testTasksBeyondQueueCapacityAreRejected() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Boolean> running =
+        executor.submit(
+            () -> {
+              started.countDown();
+              try {
+                return release.await(5, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<String> queued1 = executor.submit(() -> "a");
+    CompletableFuture<String> queued2 = executor.submit(() -> "b");
+    assertEquals(2, executor.getQueueDepth());
+    assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "c"));
+
+    release.countDown();
+    assertTrue(running.get(5, TimeUnit.SECONDS));
+    assertEquals("a", queued1.get(5, TimeUnit.SECONDS));
+    assertEquals("b", queued2.get(5, TimeUnit.SECONDS));
+  }
+}
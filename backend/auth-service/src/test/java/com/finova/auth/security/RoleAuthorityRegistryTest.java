@@ -0,0 +1,56 @@
+package com.finova.auth.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.finova.auth.model.Role;
+import com.finova.auth.repository.RoleRepository;
+import com.finova.auth.security.RoleAuthorityRegistry.RoleAuthorities;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class RoleAuthorityRegistryTest {
+
+  private static Role role(Role.RoleName name) {
+    return Role.builder().name(name).build();
+  }
+
+  @Test
+  public void testSameCombinationSharesOneInstance() {
+    RoleRepository roleRepository = mock(RoleRepository.class);
+    when(roleRepository.findAll())
+        .thenReturn(List.of(role(Role.RoleName.ROLE_CUSTOMER), role(Role.RoleName.ROLE_ADMIN)));
+    RoleAuthorityRegistry registry = new RoleAuthorityRegistry(roleRepository);
+    registry.reload();
+
+    Role admin = role(Role.RoleName.ROLE_ADMIN);
+    Role customer = role(Role.RoleName.ROLE_CUSTOMER);
+    RoleAuthorities first = registry.forRoles(Set.of(admin, customer));
+    RoleAuthorities second = registry.forRoles(List.of(customer, admin));
+
+    assertSame(first, second);
+    assertEquals(Set.of("ROLE_CUSTOMER", "ROLE_ADMIN"), first.getNames());
+    assertEquals(2, first.getAuthorities().size());
+    assertThrows(UnsupportedOperationException.class, () -> first.getNames().add("ROLE_AUDITOR"));
+
+    // The single-role authority object is interned across combinations
+    RoleAuthorities customerOnly = registry.forRoles(List.of(customer));
+    assertSame(customerOnly.getAuthorities().get(0), first.getAuthorities().get(0));
+  }
+
+  @Test
+  public void testReloadDropsCachedCombinations() {
+    RoleRepository roleRepository = mock(RoleRepository.class);
+    when(roleRepository.findAll()).thenReturn(List.of());
+    RoleAuthorityRegistry registry = new RoleAuthorityRegistry(roleRepository);
+
+    // Roles not loaded yet are still resolved
+    RoleAuthorities before = registry.forRoles(List.of(role(Role.RoleName.ROLE_AUDITOR)));
+    assertEquals(Set.of("ROLE_AUDITOR"), before.getNames());
+    assertTrue(registry.forRoles(List.of()).getNames().isEmpty());
+
+    registry.reload();
+    assertNotSame(before, registry.forRoles(List.of(role(Role.RoleName.ROLE_AUDITOR))));
+  }
+}
@@ -0,0 +1,125 @@
+package com.finova.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.auth.dto.LoginRequest;
+import com.finova.auth.model.User;
+import com.finova.auth.repository.RoleRepository;
+import com.finova.auth.repository.UserRepository;
+import com.finova.auth.security.CustomUserDetailsService;
+import com.finova.auth.security.InMemoryLoginAttemptTracker;
+import com.finova.auth.security.JwtSigningKeys;
+import com.finova.auth.security.JwtTokenProvider;
+import com.finova.auth.security.LoginAttemptTracker;
+import com.finova.auth.security.PasswordEncoders;
+import com.finova.auth.security.RoleAuthorityRegistry;
+import com.finova.auth.security.TokenRevocationStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Failed logins through the real transaction manager: each login owns its transaction here, as
+ * it does behind the controller, instead of joining one opened by the test.
+ */
+@DataJpaTest(
+    properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  AuthServiceImpl.class,
+  CustomUserDetailsService.class,
+  JwtSigningKeys.class,
+  JwtTokenProvider.class,
+  RoleAuthorityRegistry.class,
+  AuthServiceFailedLoginTest.SecurityTestConfig.class
+})
+public class AuthServiceFailedLoginTest {
+
+  @TestConfiguration
+  static class SecurityTestConfig {
+
+    @Bean
+    PasswordEncoder passwordEncoder() {
+      return PasswordEncoders.create(PasswordEncoders.BCRYPT, 4);
+    }
+
+    @Bean
+    LoginAttemptTracker loginAttemptTracker() {
+      return new InMemoryLoginAttemptTracker(900, 1000);
+    }
+
+    @Bean
+    AuthenticationManager authenticationManager(
+        CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+      DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+      provider.setUserDetailsService(userDetailsService);
+      provider.setPasswordEncoder(passwordEncoder);
+      return new ProviderManager(provider);
+    }
+  }
+
+  @MockBean private TokenRevocationStore revocationStore;
+
+  @Autowired private AuthService authService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private RoleRepository roleRepository;
+
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @AfterEach
+  public void tearDown() {
+    userRepository.deleteAll();
+    roleRepository.deleteAll();
+  }
+
+  private static LoginRequest request(String username, String password) {
+    LoginRequest request = new LoginRequest();
+    request.setUsername(username);
+    request.setPassword(password);
+    return request;
+  }
+
+  @Test
+  public void testUnknownUsernameIsBadCredentials() {
+    // Not an UnexpectedRollbackException from committing a transaction marked rollback-only
+    assertThrows(
+        BadCredentialsException.class,
+        () -> authService.login(request("nobody", "guess"), "10.0.0.1"));
+  }
+
+  @Test
+  public void testLockSurvivesTheFailedLoginThatWritesIt() {
+    userRepository.save(
+        User.builder()
+            .username("jdoe")
+            .email("jdoe@example.com")
+            .password(passwordEncoder.encode("s3cret"))
+            .firstName("John")
+            .lastName("Doe")
+            .build());
+
+    for (int i = 0; i < 5; i++) {
+      assertThrows(
+          BadCredentialsException.class,
+          () -> authService.login(request("jdoe", "wrong"), "10.0.0.1"));
+    }
+
+    User locked = userRepository.findByUsername("jdoe").orElseThrow();
+    assertFalse(locked.getAccountNonLocked());
+    assertEquals(5, locked.getFailedLoginAttempts());
+  }
+}
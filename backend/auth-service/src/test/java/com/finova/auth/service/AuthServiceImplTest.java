@@ -0,0 +1,101 @@
+package com.finova.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.finova.auth.dto.LoginRequest;
+import com.finova.auth.repository.RoleRepository;
+import com.finova.auth.repository.UserRepository;
+import com.finova.auth.security.InMemoryLoginAttemptTracker;
+import com.finova.auth.security.JwtTokenProvider;
+import com.finova.auth.security.LoginThrottledException;
+import com.finova.auth.security.RoleAuthorityRegistry;
+import com.finova.auth.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AuthServiceImplTest {
+
+  private UserRepository userRepository;
+  private AuthenticationManager authenticationManager;
+  private TokenRevocationStore revocationStore;
+  private AuthServiceImpl authService;
+
+  @BeforeEach
+  public void setUp() {
+    userRepository = mock(UserRepository.class);
+    authenticationManager = mock(AuthenticationManager.class);
+    revocationStore = mock(TokenRevocationStore.class);
+    RoleRepository roleRepository = mock(RoleRepository.class);
+    authService =
+        new AuthServiceImpl(
+            userRepository,
+            roleRepository,
+            mock(PasswordEncoder.class),
+            authenticationManager,
+            mock(JwtTokenProvider.class),
+            revocationStore,
+            new InMemoryLoginAttemptTracker(900, 1000),
+            new RoleAuthorityRegistry(roleRepository));
+    ReflectionTestUtils.setField(authService, "maxFailuresPerAddress", 8);
+    ReflectionTestUtils.setField(authService, "throttleWindowSeconds", 900L);
+    when(authenticationManager.authenticate(any()))
+        .thenThrow(new BadCredentialsException("Bad credentials"));
+  }
+
+  @Test
+  public void testFailuresBelowThresholdDoNotTouchTheDatabase() {
+    for (int i = 0; i < 4; i++) {
+      assertThrows(
+          BadCredentialsException.class,
+          () -> authService.login(request("jdoe"), "10.0.0.1"));
+    }
+    verifyNoInteractions(userRepository, revocationStore);
+  }
+
+  @Test
+  public void testAccountIsLockedOnceWhenThresholdIsCrossed() {
+    when(userRepository.lockAfterFailedLogins("jdoe", 5)).thenReturn(1);
+    for (int i = 0; i < 5; i++) {
+      assertThrows(
+          BadCredentialsException.class,
+          () -> authService.login(request("jdoe"), "10.0.0.1"));
+    }
+    verify(userRepository).lockAfterFailedLogins("jdoe", 5);
+    verify(revocationStore).revokeAllBefore(eq("jdoe"), anyLong());
+    verifyNoMoreInteractions(userRepository);
+  }
+
+  @Test
+  public void testAddressIsThrottledAcrossUsernames() {
+    for (int i = 0; i < 8; i++) {
+      String username = "user" + i;
+      assertThrows(
+          BadCredentialsException.class,
+          () -> authService.login(request(username), "10.0.0.1"));
+    }
+
+    LoginThrottledException e =
+        assertThrows(
+            LoginThrottledException.class,
+            () -> authService.login(request("jdoe"), "10.0.0.1"));
+    assertEquals(900, e.getRetryAfterSeconds());
+    verify(authenticationManager, times(8)).authenticate(any());
+
+    // Another address is unaffected
+    assertThrows(
+        BadCredentialsException.class, () -> authService.login(request("jdoe"), "10.0.0.2"));
+  }
+
+  private static LoginRequest request(String username) {
+    LoginRequest request = new LoginRequest();
+    request.setUsername(username);
+    request.setPassword("wrong");
+    return request;
+  }
+}
@@ -0,0 +1,127 @@
+package com.finova.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.auth.dto.LoginRequest;
+import com.finova.auth.dto.LoginResponse;
+import com.finova.auth.model.Role;
+import com.finova.auth.model.User;
+import com.finova.auth.security.CustomUserDetailsService;
+import com.finova.auth.security.JwtSigningKeys;
+import com.finova.auth.security.JwtTokenProvider;
+import com.finova.auth.security.LoginAttemptTracker;
+import com.finova.auth.security.PasswordEncoders;
+import com.finova.auth.security.RoleAuthorityRegistry;
+import com.finova.auth.security.TokenRevocationStore;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Pins the number of SQL statements a successful login issues. */
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+@Import({
+  AuthServiceImpl.class,
+  CustomUserDetailsService.class,
+  JwtSigningKeys.class,
+  JwtTokenProvider.class,
+  RoleAuthorityRegistry.class,
+  AuthServiceLoginQueryTest.SecurityTestConfig.class
+})
+public class AuthServiceLoginQueryTest {
+
+  @TestConfiguration
+  static class SecurityTestConfig {
+
+    @Bean
+    PasswordEncoder passwordEncoder() {
+      return PasswordEncoders.create(PasswordEncoders.BCRYPT, 4);
+    }
+
+    @Bean
+    AuthenticationManager authenticationManager(
+        CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+      DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+      provider.setUserDetailsService(userDetailsService);
+      provider.setPasswordEncoder(passwordEncoder);
+      return new ProviderManager(provider);
+    }
+  }
+
+  @MockBean private TokenRevocationStore revocationStore;
+
+  @MockBean private LoginAttemptTracker loginAttemptTracker;
+
+  @Autowired private AuthService authService;
+
+  @Autowired private TestEntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setUp() {
+    Role role =
+        entityManager.persist(Role.builder().name(Role.RoleName.ROLE_CUSTOMER).build());
+    User user =
+        User.builder()
+            .username("jdoe")
+            .email("jdoe@example.com")
+            .password(passwordEncoder.encode("s3cret"))
+            .firstName("John")
+            .lastName("Doe")
+            .failedLoginAttempts(3)
+            .roles(new HashSet<>(Set.of(role)))
+            .build();
+    entityManager.persist(user);
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  public void testLoginIssuesOneSelectAndOneUpdate() {
+    LoginRequest request = new LoginRequest();
+    request.setUsername("jdoe");
+    request.setPassword("s3cret");
+
+    LoginResponse response = authService.login(request, "127.0.0.1");
+
+    assertNotNull(response.getAccessToken());
+    assertEquals(Set.of("ROLE_CUSTOMER"), response.getRoles());
+    // User and roles in one join, failed attempts and last login in one UPDATE
+    assertEquals(2, statistics.getPrepareStatementCount());
+
+    entityManager.clear();
+    User reloaded =
+        entityManager
+            .getEntityManager()
+            .createQuery("SELECT u FROM User u WHERE u.username = 'jdoe'", User.class)
+            .getSingleResult();
+    assertEquals(0, reloaded.getFailedLoginAttempts());
+    assertNotNull(reloaded.getLastLoginAt());
+  }
+}
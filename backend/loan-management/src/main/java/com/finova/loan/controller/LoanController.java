@@ -1,9 +1,23 @@
 package com.finova.loan.controller;
 
+import com.finova.loan.dto.AmortizationScheduleResponse;
+import com.finova.loan.dto.LoanPatchRequest;
+import com.finova.loan.model.AmortizationMethod;
 import com.finova.loan.model.Loan;
+import com.finova.loan.model.LoanAccrualRun;
+import com.finova.loan.service.LoanAccrualJob;
 import com.finova.loan.service.LoanService;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -12,9 +26,12 @@ public class LoanController {
 
   @Autowired private LoanService loanService;
 
+  @Autowired private LoanAccrualJob accrualJob;
+
+  /** The loan, with its version as the ETag to send back in If-Match. */
   @GetMapping("/{id}")
-  public Loan getLoanById(@PathVariable Long id) {
-    return loanService.getLoanById(id);
+  public ResponseEntity<Loan> getLoanById(@PathVariable Long id) {
+    return withETag(loanService.getLoanById(id));
   }
 
   @GetMapping
@@ -27,13 +44,102 @@ public class LoanController {
     return loanService.createLoan(loan);
   }
 
+  /** Replaces the loan's terms; with If-Match, only if the loan has not changed since. */
   @PutMapping("/{id}")
-  public Loan updateLoan(@PathVariable Long id, @RequestBody Loan loan) {
-    return loanService.updateLoan(id, loan);
+  public ResponseEntity<Loan> updateLoan(
+      @PathVariable Long id,
+      @RequestBody Loan loan,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = ifMatchVersion(ifMatch);
+    return withETag(
+        expectedVersion != null
+            ? loanService.updateLoan(id, loan, expectedVersion)
+            : loanService.updateLoan(id, loan));
+  }
+
+  /**
+   * Changes only the fields present in the body. An If-Match naming the version being patched is
+   * required: 428 without one, 412 if the loan has changed since, 204 with the new ETag on success.
+   */
+  @PatchMapping("/{id}")
+  public ResponseEntity<Void> patchLoan(
+      @PathVariable Long id,
+      @RequestBody LoanPatchRequest patch,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = ifMatchVersion(ifMatch);
+    if (expectedVersion == null) {
+      return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+    }
+    try {
+      Long version = loanService.patchLoan(id, patch, expectedVersion);
+      return version != null
+          ? ResponseEntity.noContent().eTag(version.toString()).build()
+          : ResponseEntity.notFound().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @DeleteMapping("/{id}")
   public void deleteLoan(@PathVariable Long id) {
     loanService.deleteLoan(id);
   }
+
+  /** Paged amortization table; 404 for an unknown loan, 400 if its terms are incomplete. */
+  @GetMapping("/{id}/schedule")
+  public ResponseEntity<AmortizationScheduleResponse> getAmortizationSchedule(
+      @PathVariable Long id,
+      @RequestParam(defaultValue = "ANNUITY") AmortizationMethod method,
+      @PageableDefault(size = 12) Pageable pageable) {
+    try {
+      AmortizationScheduleResponse schedule =
+          loanService.getAmortizationSchedule(id, method, pageable);
+      return schedule != null ? ResponseEntity.ok(schedule) : ResponseEntity.notFound().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /** Starts or resumes the interest accrual for a day; progress is at the returned location. */
+  @PostMapping("/accruals/{date}")
+  public ResponseEntity<Void> startAccrual(
+      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    accrualJob.start(date);
+    return ResponseEntity.accepted().location(URI.create("/loan/accruals/" + date)).build();
+  }
+
+  @GetMapping("/accruals/{date}")
+  public ResponseEntity<LoanAccrualRun> getAccrual(
+      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    return ResponseEntity.of(accrualJob.find(date));
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Void> loanChanged(OptimisticLockingFailureException e) {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+  }
+
+  private static ResponseEntity<Loan> withETag(Loan loan) {
+    if (loan == null || loan.getVersion() == null) {
+      return ResponseEntity.ok(loan);
+    }
+    return ResponseEntity.ok().eTag(loan.getVersion().toString()).body(loan);
+  }
+
+  /** The version named by an If-Match header, or null if there is none or it is {@code *}. */
+  private static Long ifMatchVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+      // Weak, unquoted or several tags: never equal to a version, so the update is refused
+      return -1L;
+    }
+    try {
+      return Long.parseLong(tag.substring(1, tag.length() - 1));
+    } catch (NumberFormatException e) {
+      return -1L;
+    }
+  }
 }
@@ -0,0 +1,26 @@
+package com.finova.loan.dto;
+
+import com.finova.loan.model.AmortizationMethod;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+/** Schedule totals plus one page of its periods. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmortizationScheduleResponse {
+
+  private Long loanId;
+  private AmortizationMethod method;
+  private int termMonths;
+  // The first period's payment; for annuities every period but possibly the last
+  private BigDecimal regularPayment;
+  private BigDecimal totalInterest;
+  private BigDecimal totalPayment;
+  private Page<ScheduleEntry> entries;
+}
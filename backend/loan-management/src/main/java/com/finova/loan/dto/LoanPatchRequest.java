@@ -0,0 +1,18 @@
+package com.finova.loan.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/** Fields to change on a loan; a null field is left as it is. */
+@Data
+public class LoanPatchRequest {
+
+  private BigDecimal amount;
+  private BigDecimal interestRate;
+  private Integer termMonths;
+  private LocalDateTime startDate;
+  private LocalDateTime endDate;
+  private String status;
+  private String purpose;
+}
@@ -0,0 +1,22 @@
+package com.finova.loan.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One period of an amortization schedule; amounts are in the loan's currency, to the cent. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleEntry {
+
+  private int period;
+  // Null when the loan has no start date
+  private LocalDate dueDate;
+  private BigDecimal payment;
+  private BigDecimal principal;
+  private BigDecimal interest;
+  private BigDecimal balance;
+}
@@ -0,0 +1,11 @@
+package com.finova.loan.model;
+
+/** How a loan's principal is repaid over its term. */
+public enum AmortizationMethod {
+  /** Level payment every period; the interest share shrinks as the balance falls. */
+  ANNUITY,
+  /** The same principal every period plus interest on the remaining balance. */
+  EQUAL_PRINCIPAL,
+  /** Interest only, with the whole principal due in the last period. */
+  INTEREST_ONLY
+}
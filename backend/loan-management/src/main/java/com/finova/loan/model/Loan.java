@@ -29,5 +29,8 @@ public class Loan {
   private String status;
   private String purpose;
 
+  // Exposed to clients as the ETag; every update must match it or is rejected
+  @Version private Long version;
+
   // Getters and Setters
 }
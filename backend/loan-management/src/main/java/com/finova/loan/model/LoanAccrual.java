@@ -0,0 +1,47 @@
+package com.finova.loan.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One day's interest on one loan. Written in bulk by the accrual job; the (loan, day) key makes a
+ * rerun of a chunk replace its rows rather than add to them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@IdClass(LoanAccrual.Key.class)
+@Table(name = "loan_accrual")
+public class LoanAccrual {
+
+  @Id private Long loanId;
+
+  @Id private LocalDate accrualDate;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal principal;
+
+  @Column(nullable = false)
+  private BigDecimal interestRate;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal interest;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long loanId;
+    private LocalDate accrualDate;
+  }
+}
@@ -0,0 +1,53 @@
+package com.finova.loan.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the accrual job for one business day.
+ *
+ * <p>Every loan with an id up to {@code lastLoanId} has been accrued; a resumed run continues
+ * after it. {@code maxLoanId} is fixed when the run starts, so loans created later are left to the
+ * next day. {@code claimedUntil} is the lease of the instance working on the run; a running run
+ * whose lease has expired was abandoned and may be picked up by any instance. {@code owner} is a
+ * token chosen by whoever holds the lease; every later write by the job matches on it, so an owner
+ * that has lost the lease cannot touch the run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "loan_accrual_run")
+public class LoanAccrualRun {
+
+  @Id private LocalDate accrualDate;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Status status;
+
+  @Column(nullable = false)
+  private long lastLoanId;
+
+  @Column(nullable = false)
+  private long maxLoanId;
+
+  @Column(nullable = false)
+  private long loansAccrued;
+
+  @Column(length = 36)
+  private String owner;
+
+  private LocalDateTime claimedUntil;
+  private LocalDateTime startedAt;
+  private LocalDateTime completedAt;
+
+  public enum Status {
+    RUNNING,
+    COMPLETED
+  }
+}
@@ -0,0 +1,9 @@
+package com.finova.loan.repository;
+
+/** Thrown when an accrual run was taken over after its lease expired; its owner must stop. */
+public class LeaseLostException extends IllegalStateException {
+
+  public LeaseLostException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,128 @@
+package com.finova.loan.repository;
+
+import com.finova.loan.model.LoanAccrualRun;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Checkpoints of the accrual job in {@code loan_accrual_run}. Every change is a single
+ * conditional statement, so two instances can race for a run and only one will own it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanAccrualRunStore {
+
+  private static final String MAX_LOAN_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM loan";
+
+  private static final String INSERT_SQL =
+      "INSERT INTO loan_accrual_run (accrual_date, status, last_loan_id, max_loan_id,"
+          + " loans_accrued, owner, claimed_until, started_at)"
+          + " VALUES (?, 'RUNNING', 0, ?, 0, ?, ?, ?)";
+
+  private static final String CLAIM_SQL =
+      "UPDATE loan_accrual_run SET owner = ?, claimed_until = ?"
+          + " WHERE accrual_date = ? AND status = 'RUNNING' AND claimed_until < ?";
+
+  private static final String ADVANCE_SQL =
+      "UPDATE loan_accrual_run SET last_loan_id = ?, loans_accrued = loans_accrued + ?,"
+          + " claimed_until = ? WHERE accrual_date = ? AND status = 'RUNNING' AND owner = ?";
+
+  private static final String RELEASE_SQL =
+      "UPDATE loan_accrual_run SET claimed_until = ?"
+          + " WHERE accrual_date = ? AND status = 'RUNNING' AND owner = ?";
+
+  private static final String COMPLETE_SQL =
+      "UPDATE loan_accrual_run SET status = 'COMPLETED', claimed_until = NULL, completed_at = ?"
+          + " WHERE accrual_date = ? AND status = 'RUNNING' AND owner = ?";
+
+  private static final String FIND_SQL = "SELECT * FROM loan_accrual_run WHERE accrual_date = ?";
+
+  private static final String FIND_ABANDONED_SQL =
+      "SELECT accrual_date FROM loan_accrual_run"
+          + " WHERE status = 'RUNNING' AND claimed_until < ? ORDER BY accrual_date";
+
+  private static final RowMapper<LoanAccrualRun> RUN_MAPPER =
+      new BeanPropertyRowMapper<>(LoanAccrualRun.class);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Starts the run for {@code date}, or takes over one whose lease has expired, on behalf of
+   * {@code owner}.
+   *
+   * @return the claimed run, or empty if it is completed or another instance holds it
+   */
+  public Optional<LoanAccrualRun> claim(LocalDate date, String owner, LocalDateTime leaseUntil) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    Timestamp lease = Timestamp.valueOf(leaseUntil);
+    try {
+      Long maxLoanId = jdbcTemplate.queryForObject(MAX_LOAN_ID_SQL, Long.class);
+      jdbcTemplate.update(INSERT_SQL, Date.valueOf(date), maxLoanId, owner, lease, now);
+    } catch (DuplicateKeyException e) {
+      if (jdbcTemplate.update(CLAIM_SQL, owner, lease, Date.valueOf(date), now) == 0) {
+        return Optional.empty();
+      }
+    }
+    return find(date);
+  }
+
+  /**
+   * Records that every loan up to {@code lastLoanId} is accrued and renews the lease.
+   *
+   * @throws LeaseLostException if {@code owner} no longer holds the run
+   */
+  public void advance(
+      LocalDate date, String owner, long lastLoanId, long accrued, LocalDateTime leaseUntil) {
+    checkOwned(
+        date,
+        owner,
+        jdbcTemplate.update(
+            ADVANCE_SQL,
+            lastLoanId,
+            accrued,
+            Timestamp.valueOf(leaseUntil),
+            Date.valueOf(date),
+            owner));
+  }
+
+  /** Gives up the lease so the run can be resumed straight away; a no-op if it was lost. */
+  public void release(LocalDate date, String owner) {
+    jdbcTemplate.update(
+        RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(date), owner);
+  }
+
+  /** @throws LeaseLostException if {@code owner} no longer holds the run */
+  public void complete(LocalDate date, String owner) {
+    checkOwned(
+        date,
+        owner,
+        jdbcTemplate.update(
+            COMPLETE_SQL, Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(date), owner));
+  }
+
+  private static void checkOwned(LocalDate date, String owner, int updated) {
+    if (updated == 0) {
+      throw new LeaseLostException("Accrual run for " + date + " is no longer held by " + owner);
+    }
+  }
+
+  public Optional<LoanAccrualRun> find(LocalDate date) {
+    return jdbcTemplate.query(FIND_SQL, RUN_MAPPER, Date.valueOf(date)).stream().findFirst();
+  }
+
+  /** Days whose run was started but whose owner stopped renewing its lease. */
+  public List<LocalDate> findAbandoned() {
+    return jdbcTemplate.queryForList(
+        FIND_ABANDONED_SQL, LocalDate.class, Timestamp.valueOf(LocalDateTime.now()));
+  }
+}
@@ -0,0 +1,105 @@
+package com.finova.loan.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Accrues one day's interest for the loans in an id range.
+ *
+ * <p>Loans are read as plain columns, never as entities, and the accruals are written with one
+ * JDBC batch. The range's existing rows for the day are deleted first in the same transaction, so
+ * a chunk that is redone after a crash replaces its earlier output instead of doubling it.
+ */
+@Repository
+public class LoanAccrualWriter {
+
+  // Actual/365 Fixed: the annual percentage rate spread evenly over 365 days
+  private static final BigDecimal DAYS_TIMES_PERCENT = BigDecimal.valueOf(36500);
+
+  private static final String DELETE_SQL =
+      "DELETE FROM loan_accrual WHERE accrual_date = ? AND loan_id > ? AND loan_id <= ?";
+
+  private static final String INSERT_SQL =
+      "INSERT INTO loan_accrual (loan_id, accrual_date, principal, interest_rate, interest)"
+          + " VALUES (?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final List<String> statuses;
+  private final String selectSql;
+
+  public LoanAccrualWriter(
+      JdbcTemplate jdbcTemplate,
+      @Value("${loan.accrual.statuses:ACTIVE,APPROVED}") List<String> statuses) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.statuses = List.copyOf(statuses);
+    this.selectSql =
+        "SELECT id, amount, interest_rate FROM loan WHERE id > ? AND id <= ?"
+            + " AND amount IS NOT NULL AND interest_rate IS NOT NULL"
+            + " AND (start_date IS NULL OR start_date < ?)"
+            + " AND (end_date IS NULL OR end_date >= ?)"
+            + " AND status IN ("
+            + String.join(", ", Collections.nCopies(statuses.size(), "?"))
+            + ")";
+  }
+
+  /**
+   * Accrues {@code date} for loans with {@code afterId < id <= throughId}.
+   *
+   * @return the number of loans accrued
+   */
+  @Transactional
+  public int accrue(LocalDate date, long afterId, long throughId) {
+    List<Object> args = new ArrayList<>(4 + statuses.size());
+    args.add(afterId);
+    args.add(throughId);
+    // A loan accrues from its start day up to and including its end day
+    args.add(Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+    args.add(Timestamp.valueOf(date.atStartOfDay()));
+    args.addAll(statuses);
+
+    List<Object[]> accruals = new ArrayList<>();
+    jdbcTemplate.query(
+        selectSql,
+        rs -> {
+          BigDecimal principal = rs.getBigDecimal("amount");
+          BigDecimal rate = rs.getBigDecimal("interest_rate");
+          accruals.add(
+              new Object[] {rs.getLong("id"), principal, rate, dailyInterest(principal, rate)});
+        },
+        args.toArray());
+
+    Date accrualDate = Date.valueOf(date);
+    jdbcTemplate.update(DELETE_SQL, accrualDate, afterId, throughId);
+    if (!accruals.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          INSERT_SQL,
+          accruals,
+          accruals.size(),
+          (ps, accrual) -> {
+            ps.setLong(1, (Long) accrual[0]);
+            ps.setDate(2, accrualDate);
+            ps.setBigDecimal(3, (BigDecimal) accrual[1]);
+            ps.setBigDecimal(4, (BigDecimal) accrual[2]);
+            ps.setBigDecimal(5, (BigDecimal) accrual[3]);
+          });
+    }
+    return accruals.size();
+  }
+
+  /** {@code principal * rate / 100 / 365}, rounded half-even to the cent. */
+  static BigDecimal dailyInterest(BigDecimal principal, BigDecimal annualRatePercent) {
+    return principal
+        .multiply(annualRatePercent)
+        .divide(DAYS_TIMES_PERCENT, 2, RoundingMode.HALF_EVEN);
+  }
+}
@@ -0,0 +1,15 @@
+package com.finova.loan.repository;
+
+import java.util.Map;
+
+/** Partial loan updates that touch only the columns being changed. */
+public interface LoanPatchRepository {
+
+  /**
+   * Sets {@code changes} (attribute name to value) and increments the version in one UPDATE,
+   * provided the loan is still at {@code expectedVersion}.
+   *
+   * @return 1 if the loan was updated, 0 if it does not exist or its version has moved on
+   */
+  int patch(Long id, long expectedVersion, Map<String, Object> changes);
+}
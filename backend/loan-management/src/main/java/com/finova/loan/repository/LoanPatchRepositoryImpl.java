@@ -0,0 +1,29 @@
+package com.finova.loan.repository;
+
+import com.finova.loan.model.Loan;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+
+/**
+ * Builds the UPDATE from the changed attributes only. It bypasses the persistence context, so it
+ * must not run in a transaction that has already loaded the loan.
+ */
+public class LoanPatchRepositoryImpl implements LoanPatchRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public int patch(Long id, long expectedVersion, Map<String, Object> changes) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaUpdate<Loan> update = cb.createCriteriaUpdate(Loan.class);
+    Root<Loan> loan = update.from(Loan.class);
+    changes.forEach((attribute, value) -> update.set(attribute, value));
+    update.set(loan.<Long>get("version"), cb.sum(loan.<Long>get("version"), 1L));
+    update.where(cb.equal(loan.get("id"), id), cb.equal(loan.get("version"), expectedVersion));
+    return entityManager.createQuery(update).executeUpdate();
+  }
+}
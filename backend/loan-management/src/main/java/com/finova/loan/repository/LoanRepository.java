@@ -3,4 +3,4 @@ package com.finova.loan.repository;
 import com.finova.loan.model.Loan;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface LoanRepository extends JpaRepository<Loan, Long> {}
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanPatchRepository {}
@@ -0,0 +1,170 @@
+package com.finova.loan.service;
+
+import com.finova.loan.model.AmortizationMethod;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates amortization schedules with monthly compounding.
+ *
+ * <p>Every amount is exact to the cent. Each period's interest is {@code balance * annualRate /
+ * 1200} rounded half-even, the payment is rounded the same way, and the last period absorbs the
+ * remainder so the balance ends at exactly zero. {@link #generate} does this in scaled {@code
+ * long} arithmetic: balances in cents, the rate as its unscaled digits, and interest as one
+ * integer division with half-even rounding, which is exact rather than approximate. Terms whose
+ * products could overflow a {@code long} fall back to {@link #generateExact}, the {@link
+ * BigDecimal} implementation of the same rules; both give identical schedules.
+ */
+@Component
+public class AmortizationEngine {
+
+  public static final int MAX_TERM_MONTHS = 1200;
+
+  private static final BigDecimal TWELVE_HUNDRED = BigDecimal.valueOf(1200);
+  private static final int MAX_FAST_RATE_SCALE = 9;
+
+  public AmortizationSchedule generate(
+      BigDecimal amount,
+      BigDecimal annualRatePercent,
+      int termMonths,
+      LocalDate startDate,
+      AmortizationMethod method) {
+    long principal = validate(amount, annualRatePercent, termMonths);
+    BigDecimal rate = annualRatePercent.stripTrailingZeros();
+    if (rate.scale() < 0) {
+      rate = rate.setScale(0);
+    }
+    if (rate.scale() > MAX_FAST_RATE_SCALE || rate.unscaledValue().bitLength() > 31) {
+      return generateExact(amount, annualRatePercent, termMonths, startDate, method);
+    }
+    long rateUnscaled = rate.unscaledValue().longValue();
+    // interest = balance * rateUnscaled / (1200 * 10^scale)
+    long divisor = 1200 * BigInteger.TEN.pow(rate.scale()).longValue();
+    if (principal > Long.MAX_VALUE / Math.max(1, rateUnscaled)) {
+      return generateExact(amount, annualRatePercent, termMonths, startDate, method);
+    }
+    long payment = regularPaymentCents(principal, annualRatePercent, termMonths, method);
+
+    long[] principalCents = new long[termMonths];
+    long[] interestCents = new long[termMonths];
+    long[] balanceCents = new long[termMonths];
+    long balance = principal;
+    for (int i = 0; i < termMonths; i++) {
+      long interest = divideHalfEven(balance * rateUnscaled, divisor);
+      long repaid = repaidCents(method, i, termMonths, balance, payment, interest);
+      balance -= repaid;
+      principalCents[i] = repaid;
+      interestCents[i] = interest;
+      balanceCents[i] = balance;
+    }
+    return new AmortizationSchedule(method, startDate, principalCents, interestCents, balanceCents);
+  }
+
+  /** The {@link BigDecimal} implementation, used when the scaled-long path could overflow. */
+  public AmortizationSchedule generateExact(
+      BigDecimal amount,
+      BigDecimal annualRatePercent,
+      int termMonths,
+      LocalDate startDate,
+      AmortizationMethod method) {
+    long principal = validate(amount, annualRatePercent, termMonths);
+    long payment = regularPaymentCents(principal, annualRatePercent, termMonths, method);
+
+    long[] principalCents = new long[termMonths];
+    long[] interestCents = new long[termMonths];
+    long[] balanceCents = new long[termMonths];
+    BigDecimal balance = BigDecimal.valueOf(principal, 2);
+    try {
+      for (int i = 0; i < termMonths; i++) {
+        BigDecimal interest =
+            balance.multiply(annualRatePercent).divide(TWELVE_HUNDRED, 2, RoundingMode.HALF_EVEN);
+        long interestValue = interest.unscaledValue().longValueExact();
+        long balanceValue = balance.unscaledValue().longValueExact();
+        long repaid = repaidCents(method, i, termMonths, balanceValue, payment, interestValue);
+        balance = balance.subtract(BigDecimal.valueOf(repaid, 2));
+        principalCents[i] = repaid;
+        interestCents[i] = interestValue;
+        balanceCents[i] = balance.unscaledValue().longValueExact();
+      }
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Loan terms are out of range", e);
+    }
+    return new AmortizationSchedule(method, startDate, principalCents, interestCents, balanceCents);
+  }
+
+  /** Principal repaid in period {@code i}; {@code payment} is from {@link #regularPaymentCents}. */
+  private static long repaidCents(
+      AmortizationMethod method, int i, int termMonths, long balance, long payment, long interest) {
+    if (i == termMonths - 1) {
+      return balance;
+    }
+    switch (method) {
+      case ANNUITY:
+        return Math.min(Math.max(payment - interest, 0), balance);
+      case EQUAL_PRINCIPAL:
+        return Math.min(payment, balance);
+      case INTEREST_ONLY:
+        return 0;
+      default:
+        throw new IllegalArgumentException("Unsupported amortization method: " + method);
+    }
+  }
+
+  /**
+   * The annuity payment {@code P * r / (1 - (1 + r)^-n)} with {@code r = rate / 1200}, or the
+   * fixed principal instalment {@code P / n} for equal-principal schedules, in cents.
+   */
+  private static long regularPaymentCents(
+      long principal, BigDecimal annualRatePercent, int termMonths, AmortizationMethod method) {
+    if (method == AmortizationMethod.EQUAL_PRINCIPAL) {
+      return divideHalfEven(principal, termMonths);
+    }
+    if (method != AmortizationMethod.ANNUITY) {
+      return 0;
+    }
+    if (annualRatePercent.signum() == 0) {
+      return divideHalfEven(principal, termMonths);
+    }
+    MathContext context = MathContext.DECIMAL128;
+    BigDecimal monthlyRate = annualRatePercent.divide(TWELVE_HUNDRED, context);
+    BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(termMonths, context);
+    BigDecimal discount = BigDecimal.ONE.subtract(BigDecimal.ONE.divide(growth, context));
+    return BigDecimal.valueOf(principal)
+        .multiply(monthlyRate, context)
+        .divide(discount, context)
+        .setScale(0, RoundingMode.HALF_EVEN)
+        .longValueExact();
+  }
+
+  /** {@code numerator / divisor} rounded half-even, for a non-negative numerator. */
+  static long divideHalfEven(long numerator, long divisor) {
+    long quotient = numerator / divisor;
+    long twiceRemainder = (numerator % divisor) * 2;
+    if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) == 1)) {
+      quotient++;
+    }
+    return quotient;
+  }
+
+  private static long validate(BigDecimal amount, BigDecimal annualRatePercent, int termMonths) {
+    if (amount == null || amount.signum() <= 0) {
+      throw new IllegalArgumentException("Loan amount must be positive");
+    }
+    if (annualRatePercent == null || annualRatePercent.signum() < 0) {
+      throw new IllegalArgumentException("Interest rate must not be negative");
+    }
+    if (termMonths < 1 || termMonths > MAX_TERM_MONTHS) {
+      throw new IllegalArgumentException(
+          "Term must be between 1 and " + MAX_TERM_MONTHS + " months");
+    }
+    try {
+      return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Loan amount is too large", e);
+    }
+  }
+}
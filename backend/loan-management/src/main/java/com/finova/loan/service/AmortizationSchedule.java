@@ -0,0 +1,98 @@
+package com.finova.loan.service;
+
+import com.finova.loan.dto.ScheduleEntry;
+import com.finova.loan.model.AmortizationMethod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A computed amortization table held as cent amounts in parallel primitive arrays, a few KB for a
+ * 360-month loan. Rows are only turned into {@link ScheduleEntry} objects for the page requested.
+ * Immutable, so a cached instance can be shared between requests.
+ */
+public final class AmortizationSchedule {
+
+  private final AmortizationMethod method;
+  private final LocalDate startDate;
+  private final long[] principalCents;
+  private final long[] interestCents;
+  private final long[] balanceCents;
+  private final long totalInterestCents;
+
+  AmortizationSchedule(
+      AmortizationMethod method,
+      LocalDate startDate,
+      long[] principalCents,
+      long[] interestCents,
+      long[] balanceCents) {
+    this.method = method;
+    this.startDate = startDate;
+    this.principalCents = principalCents;
+    this.interestCents = interestCents;
+    this.balanceCents = balanceCents;
+    long interest = 0;
+    for (long cents : interestCents) {
+      interest += cents;
+    }
+    this.totalInterestCents = interest;
+  }
+
+  public AmortizationMethod getMethod() {
+    return method;
+  }
+
+  public int getPeriods() {
+    return principalCents.length;
+  }
+
+  public BigDecimal getRegularPayment() {
+    return cents(principalCents[0] + interestCents[0]);
+  }
+
+  public BigDecimal getTotalInterest() {
+    return cents(totalInterestCents);
+  }
+
+  public BigDecimal getTotalPayment() {
+    return cents(totalInterestCents + (balanceCents[0] + principalCents[0]));
+  }
+
+  /** Period {@code period}, counted from 1. */
+  public ScheduleEntry entry(int period) {
+    int i = period - 1;
+    return new ScheduleEntry(
+        period,
+        startDate != null ? startDate.plusMonths(period) : null,
+        cents(principalCents[i] + interestCents[i]),
+        cents(principalCents[i]),
+        cents(interestCents[i]),
+        cents(balanceCents[i]));
+  }
+
+  /** Periods {@code offset + 1} to {@code offset + count}, clipped to the term. */
+  public List<ScheduleEntry> entries(long offset, int count) {
+    List<ScheduleEntry> entries = new ArrayList<>(Math.max(0, Math.min(count, getPeriods())));
+    for (long i = offset; i < Math.min(offset + count, getPeriods()); i++) {
+      entries.add(entry((int) i + 1));
+    }
+    return entries;
+  }
+
+  long principalCents(int period) {
+    return principalCents[period - 1];
+  }
+
+  long interestCents(int period) {
+    return interestCents[period - 1];
+  }
+
+  long balanceCents(int period) {
+    return balanceCents[period - 1];
+  }
+
+  private static BigDecimal cents(long cents) {
+    return BigDecimal.valueOf(cents, 2);
+  }
+}
@@ -0,0 +1,67 @@
+package com.finova.loan.service;
+
+import com.finova.loan.model.AmortizationMethod;
+import com.finova.loan.model.Loan;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of generated schedules.
+ *
+ * <p>Entries are keyed by the loan id together with every input to the schedule, so editing a
+ * loan's terms simply stops hitting the old entry, which ages out; nothing needs invalidating.
+ */
+@Component
+public class AmortizationScheduleCache {
+
+  private final AmortizationEngine engine;
+  private final Cache<Key, AmortizationSchedule> schedules;
+
+  public AmortizationScheduleCache(
+      AmortizationEngine engine,
+      @Value("${loan.schedule.cache.maximum-size:10000}") long maximumSize) {
+    this.engine = engine;
+    this.schedules = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  public AmortizationSchedule get(Loan loan, AmortizationMethod method) {
+    LocalDate startDate = loan.getStartDate() != null ? loan.getStartDate().toLocalDate() : null;
+    int termMonths = loan.getTermMonths() != null ? loan.getTermMonths() : 0;
+    Key key =
+        new Key(
+            loan.getId(),
+            normalize(loan.getAmount()),
+            normalize(loan.getInterestRate()),
+            termMonths,
+            startDate,
+            method);
+    return schedules.get(
+        key,
+        k ->
+            engine.generate(
+                loan.getAmount(), loan.getInterestRate(), termMonths, startDate, method));
+  }
+
+  public double hitRate() {
+    return schedules.stats().hitRate();
+  }
+
+  // 5.0 and 5.00 give the same schedule, so they should share an entry
+  private static BigDecimal normalize(BigDecimal value) {
+    return value != null ? value.stripTrailingZeros() : null;
+  }
+
+  @lombok.Value
+  private static class Key {
+    Long loanId;
+    BigDecimal amount;
+    BigDecimal interestRate;
+    int termMonths;
+    LocalDate startDate;
+    AmortizationMethod method;
+  }
+}
@@ -0,0 +1,171 @@
+package com.finova.loan.service;
+
+import com.finova.loan.model.LoanAccrualRun;
+import com.finova.loan.repository.LoanAccrualRunStore;
+import com.finova.loan.repository.LoanAccrualWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * End-of-day interest accrual over the whole loan book.
+ *
+ * <p>The id space up to the highest id at the start of the run is cut into ranges of {@code
+ * chunk-size} ids. Each range is read, accrued and written in its own transaction by {@link
+ * LoanAccrualWriter} on a fork-join pool, so memory is bounded by the chunks in flight rather than
+ * the size of the book. Chunks finish out of order, but the checkpoint only moves past a chunk
+ * once every chunk before it has committed; after a crash, at most the chunks that were in flight
+ * are redone, and redoing a chunk replaces its rows.
+ *
+ * <p>A run is owned through a lease on its {@code loan_accrual_run} row, renewed at every
+ * checkpoint. Runs whose owner died are picked up again once the lease expires. Each attempt
+ * claims the row with a fresh owner token and every checkpoint matches on it, so an owner that
+ * stalled past its lease finds out at its next checkpoint and aborts instead of racing the
+ * instance that took over.
+ */
+@Component
+@Slf4j
+public class LoanAccrualJob {
+
+  private final LoanAccrualWriter writer;
+  private final LoanAccrualRunStore runStore;
+  private final int chunkSize;
+  private final int maxInFlight;
+  private final long leaseMs;
+  private final ForkJoinPool pool;
+  private final ExecutorService coordinator;
+
+  public LoanAccrualJob(
+      LoanAccrualWriter writer,
+      LoanAccrualRunStore runStore,
+      @Value("${loan.accrual.chunk-size:5000}") int chunkSize,
+      @Value("${loan.accrual.parallelism:8}") int parallelism,
+      @Value("${loan.accrual.lease-ms:600000}") long leaseMs) {
+    this.writer = writer;
+    this.runStore = runStore;
+    this.chunkSize = chunkSize;
+    // Two chunks per worker keep the pool busy while the oldest one is being checkpointed
+    this.maxInFlight = parallelism * 2;
+    this.leaseMs = leaseMs;
+    this.pool = new ForkJoinPool(parallelism);
+    this.coordinator =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              Thread thread = new Thread(r, "loan-accrual-coordinator");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void stop() {
+    coordinator.shutdownNow();
+    pool.shutdownNow();
+  }
+
+  /** Accrues the previous day shortly after midnight. */
+  @Scheduled(cron = "${loan.accrual.cron:0 15 0 * * *}")
+  public void accruePreviousDay() {
+    run(LocalDate.now().minusDays(1));
+  }
+
+  /** Resumes runs left behind by an instance that stopped mid-way. */
+  @Scheduled(
+      initialDelayString = "${loan.accrual.resume-interval-ms:60000}",
+      fixedDelayString = "${loan.accrual.resume-interval-ms:60000}")
+  public void resumeAbandoned() {
+    for (LocalDate date : runStore.findAbandoned()) {
+      log.info("Resuming abandoned interest accrual for {}", date);
+      run(date);
+    }
+  }
+
+  /** Runs or resumes {@code date} in the background. */
+  public CompletableFuture<LoanAccrualRun> start(LocalDate date) {
+    CompletableFuture<LoanAccrualRun> run =
+        CompletableFuture.supplyAsync(() -> run(date), coordinator);
+    run.whenComplete(
+        (result, e) -> {
+          if (e != null) {
+            log.error("Interest accrual for {} failed", date, e);
+          }
+        });
+    return run;
+  }
+
+  /**
+   * Runs or resumes the accrual for {@code date} and returns its final state. If the day is
+   * already done, or another instance holds it, nothing is accrued and its current state is
+   * returned.
+   */
+  public LoanAccrualRun run(LocalDate date) {
+    String owner = UUID.randomUUID().toString();
+    Optional<LoanAccrualRun> claimed = runStore.claim(date, owner, leaseUntil());
+    if (claimed.isEmpty()) {
+      return runStore.find(date).orElse(null);
+    }
+    LoanAccrualRun run = claimed.get();
+    long next = run.getLastLoanId();
+    long maxLoanId = run.getMaxLoanId();
+    log.info("Accruing interest for {} over loan ids {} to {}", date, next + 1, maxLoanId);
+
+    Deque<Chunk> inFlight = new ArrayDeque<>(maxInFlight);
+    try {
+      while (next < maxLoanId || !inFlight.isEmpty()) {
+        while (next < maxLoanId && inFlight.size() < maxInFlight) {
+          long afterId = next;
+          long throughId = Math.min(maxLoanId, afterId + chunkSize);
+          inFlight.add(
+              new Chunk(throughId, pool.submit(() -> writer.accrue(date, afterId, throughId))));
+          next = throughId;
+        }
+        // Checkpoint in id order: everything up to the oldest chunk is now committed
+        Chunk oldest = inFlight.poll();
+        int accrued = oldest.task.join();
+        runStore.advance(date, owner, oldest.throughId, accrued, leaseUntil());
+      }
+    } catch (RuntimeException e) {
+      // Let started chunks finish so an immediate retry cannot overlap them
+      inFlight.forEach(chunk -> chunk.task.cancel(false));
+      inFlight.forEach(chunk -> chunk.task.quietlyJoin());
+      // Only clears our own lease; after a takeover the row belongs to the new owner
+      runStore.release(date, owner);
+      throw e;
+    }
+    runStore.complete(date, owner);
+    LoanAccrualRun completed = runStore.find(date).orElseThrow();
+    log.info("Accrued interest for {} on {} loans", date, completed.getLoansAccrued());
+    return completed;
+  }
+
+  public Optional<LoanAccrualRun> find(LocalDate date) {
+    return runStore.find(date);
+  }
+
+  private LocalDateTime leaseUntil() {
+    return LocalDateTime.now().plusNanos(leaseMs * 1_000_000);
+  }
+
+  private static final class Chunk {
+    final long throughId;
+    final ForkJoinTask<Integer> task;
+
+    Chunk(long throughId, ForkJoinTask<Integer> task) {
+      this.throughId = throughId;
+      this.task = task;
+    }
+  }
+}
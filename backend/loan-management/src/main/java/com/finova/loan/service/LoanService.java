@@ -1,7 +1,11 @@
 package com.finova.loan.service;
 
+import com.finova.loan.dto.AmortizationScheduleResponse;
+import com.finova.loan.dto.LoanPatchRequest;
+import com.finova.loan.model.AmortizationMethod;
 import com.finova.loan.model.Loan;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface LoanService {
   Loan getLoanById(Long id);
@@ -12,5 +16,31 @@ public interface LoanService {
 
   Loan updateLoan(Long id, Loan loan);
 
+  /**
+   * Replaces the loan's terms if it is still at {@code expectedVersion}; null if there is no such
+   * loan.
+   *
+   * @throws org.springframework.dao.OptimisticLockingFailureException if the loan has changed
+   */
+  Loan updateLoan(Long id, Loan loan, long expectedVersion);
+
+  /**
+   * Applies the non-null fields of {@code patch} in a single UPDATE if the loan is still at {@code
+   * expectedVersion}.
+   *
+   * @return the loan's new version, or null if there is no such loan
+   * @throws org.springframework.dao.OptimisticLockingFailureException if the loan has changed
+   * @throws IllegalArgumentException if the patch sets no fields
+   */
+  Long patchLoan(Long id, LoanPatchRequest patch, long expectedVersion);
+
   void deleteLoan(Long id);
+
+  /**
+   * One page of the loan's amortization schedule, or null if there is no such loan.
+   *
+   * @throws IllegalArgumentException if the loan's amount, rate or term cannot produce a schedule
+   */
+  AmortizationScheduleResponse getAmortizationSchedule(
+      Long id, AmortizationMethod method, Pageable pageable);
 }
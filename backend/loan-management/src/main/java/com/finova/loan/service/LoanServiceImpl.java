@@ -1,17 +1,30 @@
 package com.finova.loan.service;
 
+import com.finova.loan.dto.AmortizationScheduleResponse;
+import com.finova.loan.dto.LoanPatchRequest;
+import com.finova.loan.dto.ScheduleEntry;
+import com.finova.loan.model.AmortizationMethod;
 import com.finova.loan.model.Loan;
 import com.finova.loan.repository.LoanRepository;
 import com.finova.loan.service.LoanService;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class LoanServiceImpl implements LoanService {
 
   @Autowired private LoanRepository loanRepository;
 
+  @Autowired private AmortizationScheduleCache scheduleCache;
+
   @Override
   public Loan getLoanById(Long id) {
     return loanRepository.findById(id).orElse(null);
@@ -24,25 +37,94 @@ public class LoanServiceImpl implements LoanService {
 
   @Override
   public Loan createLoan(Loan loan) {
+    // Versions are assigned by Hibernate, never by the client
+    loan.setVersion(null);
     return loanRepository.save(loan);
   }
 
   @Override
+  @Transactional
   public Loan updateLoan(Long id, Loan loan) {
+    return update(id, loan, null);
+  }
+
+  @Override
+  @Transactional
+  public Loan updateLoan(Long id, Loan loan, long expectedVersion) {
+    return update(id, loan, expectedVersion);
+  }
+
+  private Loan update(Long id, Loan loan, Long expectedVersion) {
     Loan existingLoan = loanRepository.findById(id).orElse(null);
     if (existingLoan != null) {
+      if (expectedVersion != null && !expectedVersion.equals(existingLoan.getVersion())) {
+        throw new ObjectOptimisticLockingFailureException(Loan.class, id);
+      }
       existingLoan.setAmount(loan.getAmount());
       existingLoan.setInterestRate(loan.getInterestRate());
       existingLoan.setStartDate(loan.getStartDate());
       existingLoan.setEndDate(loan.getEndDate());
       existingLoan.setStatus(loan.getStatus());
-      return loanRepository.save(existingLoan);
+      // A commit that lands after the read fails the version check in the UPDATE
+      return loanRepository.saveAndFlush(existingLoan);
     }
     return null;
   }
 
+  @Override
+  @Transactional
+  public Long patchLoan(Long id, LoanPatchRequest patch, long expectedVersion) {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    putIfSet(changes, "amount", patch.getAmount());
+    putIfSet(changes, "interestRate", patch.getInterestRate());
+    putIfSet(changes, "termMonths", patch.getTermMonths());
+    putIfSet(changes, "startDate", patch.getStartDate());
+    putIfSet(changes, "endDate", patch.getEndDate());
+    putIfSet(changes, "status", patch.getStatus());
+    putIfSet(changes, "purpose", patch.getPurpose());
+    if (changes.isEmpty()) {
+      throw new IllegalArgumentException("Patch does not set any field");
+    }
+    if (loanRepository.patch(id, expectedVersion, changes) == 1) {
+      return expectedVersion + 1;
+    }
+    // Only a failed patch pays for a second statement, to tell a missing loan from a stale one
+    if (!loanRepository.existsById(id)) {
+      return null;
+    }
+    throw new ObjectOptimisticLockingFailureException(Loan.class, id);
+  }
+
+  private static void putIfSet(Map<String, Object> changes, String attribute, Object value) {
+    if (value != null) {
+      changes.put(attribute, value);
+    }
+  }
+
   @Override
   public void deleteLoan(Long id) {
     loanRepository.deleteById(id);
   }
+
+  @Override
+  public AmortizationScheduleResponse getAmortizationSchedule(
+      Long id, AmortizationMethod method, Pageable pageable) {
+    Loan loan = loanRepository.findById(id).orElse(null);
+    if (loan == null) {
+      return null;
+    }
+    AmortizationSchedule schedule = scheduleCache.get(loan, method);
+    // Only the requested rows are materialised; the cached schedule stays primitive arrays
+    List<ScheduleEntry> rows = schedule.entries(pageable.getOffset(), pageable.getPageSize());
+    Page<ScheduleEntry> entries = new PageImpl<>(rows, pageable, schedule.getPeriods());
+    return AmortizationScheduleResponse.builder()
+        .loanId(loan.getId())
+        .method(method)
+        .termMonths(schedule.getPeriods())
+        .regularPayment(schedule.getRegularPayment())
+        .totalInterest(schedule.getTotalInterest())
+        .totalPayment(schedule.getTotalPayment())
+        .entries(entries)
+        .build();
+  }
 }
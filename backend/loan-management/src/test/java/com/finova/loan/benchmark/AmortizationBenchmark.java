@@ -0,0 +1,57 @@
+package com.finova.loan.benchmark;
+
+import com.finova.loan.model.AmortizationMethod;
+import com.finova.loan.service.AmortizationEngine;
+import com.finova.loan.service.AmortizationSchedule;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Generates a 30-year schedule with the scaled-long arithmetic of {@link
+ * AmortizationEngine#generate} and with the {@link BigDecimal} implementation it falls back to.
+ * Both produce the same schedule to the cent.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.loan.benchmark.AmortizationBenchmark -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AmortizationBenchmark {
+
+  private static final BigDecimal AMOUNT = new BigDecimal("250000.00");
+  private static final BigDecimal RATE = new BigDecimal("6.875");
+  private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+  @Param({"ANNUITY", "EQUAL_PRINCIPAL"})
+  public AmortizationMethod method;
+
+  @Param({"scaled-long", "bigdecimal"})
+  public String arithmetic;
+
+  private final AmortizationEngine engine = new AmortizationEngine();
+
+  @Benchmark
+  public AmortizationSchedule generate() {
+    if ("scaled-long".equals(arithmetic)) {
+      return engine.generate(AMOUNT, RATE, 360, START, method);
+    }
+    return engine.generateExact(AMOUNT, RATE, 360, START, method);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(AmortizationBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -10,16 +10,31 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finova.loan.LoanManagementApplication;
 import com.finova.loan.controller.LoanController;
+import com.finova.loan.dto.AmortizationScheduleResponse;
+import com.finova.loan.dto.LoanPatchRequest;
+import com.finova.loan.dto.ScheduleEntry;
+import com.finova.loan.model.AmortizationMethod;
 import com.finova.loan.model.Loan;
+import com.finova.loan.model.LoanAccrualRun;
+import com.finova.loan.service.LoanAccrualJob;
 import com.finova.loan.service.LoanService;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -31,6 +46,8 @@ public class LoanControllerTest {
 
   @MockBean private LoanService loanService;
 
+  @MockBean private LoanAccrualJob accrualJob;
+
   // Helper to convert object to JSON string
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -161,4 +178,181 @@ public class LoanControllerTest {
 
     verify(loanService, times(1)).deleteLoan(1L);
   }
+
+  @Test
+  public void testGetAmortizationSchedule() throws Exception {
+    // Arrange
+    ScheduleEntry entry =
+        new ScheduleEntry(
+            13,
+            LocalDate.of(2025, 2, 15),
+            new BigDecimal("599.55"),
+            new BigDecimal("105.69"),
+            new BigDecimal("493.86"),
+            new BigDecimal("98666.54"));
+    AmortizationScheduleResponse schedule =
+        AmortizationScheduleResponse.builder()
+            .loanId(1L)
+            .method(AmortizationMethod.ANNUITY)
+            .termMonths(360)
+            .regularPayment(new BigDecimal("599.55"))
+            .entries(new PageImpl<>(List.of(entry), PageRequest.of(1, 12), 360))
+            .build();
+
+    when(loanService.getAmortizationSchedule(
+            eq(1L), eq(AmortizationMethod.ANNUITY), any(Pageable.class)))
+        .thenReturn(schedule);
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/loan/{id}/schedule", 1L).param("page", "1").param("size", "12"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.termMonths", is(360)))
+        .andExpect(jsonPath("$.regularPayment", is(599.55)))
+        .andExpect(jsonPath("$.entries.content[0].period", is(13)))
+        .andExpect(jsonPath("$.entries.totalElements", is(360)));
+
+    verify(loanService, times(1))
+        .getAmortizationSchedule(eq(1L), eq(AmortizationMethod.ANNUITY), eq(PageRequest.of(1, 12)));
+  }
+
+  @Test
+  public void testGetAmortizationScheduleForUnknownLoan() throws Exception {
+    when(loanService.getAmortizationSchedule(eq(2L), any(), any())).thenReturn(null);
+
+    mockMvc.perform(get("/loan/{id}/schedule", 2L)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  public void testGetAmortizationScheduleForIncompleteTerms() throws Exception {
+    when(loanService.getAmortizationSchedule(eq(3L), eq(AmortizationMethod.EQUAL_PRINCIPAL), any()))
+        .thenThrow(new IllegalArgumentException("Term must be between 1 and 1200 months"));
+
+    mockMvc
+        .perform(get("/loan/{id}/schedule", 3L).param("method", "EQUAL_PRINCIPAL"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void testStartAccrual() throws Exception {
+    LocalDate date = LocalDate.of(2024, 3, 31);
+    when(accrualJob.start(date)).thenReturn(new CompletableFuture<>());
+
+    mockMvc
+        .perform(post("/loan/accruals/{date}", "2024-03-31"))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/loan/accruals/2024-03-31"));
+
+    verify(accrualJob, times(1)).start(date);
+  }
+
+  @Test
+  public void testGetAccrual() throws Exception {
+    LoanAccrualRun run = new LoanAccrualRun();
+    run.setAccrualDate(LocalDate.of(2024, 3, 31));
+    run.setStatus(LoanAccrualRun.Status.RUNNING);
+    run.setLastLoanId(40_000);
+    run.setMaxLoanId(100_000);
+    run.setLoansAccrued(39_512);
+
+    when(accrualJob.find(LocalDate.of(2024, 3, 31))).thenReturn(Optional.of(run));
+    when(accrualJob.find(LocalDate.of(2024, 4, 1))).thenReturn(Optional.empty());
+
+    mockMvc
+        .perform(get("/loan/accruals/{date}", "2024-03-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status", is("RUNNING")))
+        .andExpect(jsonPath("$.lastLoanId", is(40000)))
+        .andExpect(jsonPath("$.loansAccrued", is(39512)));
+    mockMvc.perform(get("/loan/accruals/{date}", "2024-04-01")).andExpect(status().isNotFound());
+  }
+
+  @Test
+  public void testGetLoanByIdReturnsVersionAsETag() throws Exception {
+    Loan loan = new Loan();
+    loan.setId(1L);
+    loan.setVersion(3L);
+
+    when(loanService.getLoanById(1L)).thenReturn(loan);
+
+    mockMvc
+        .perform(get("/loan/{id}", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    mockMvc
+        .perform(get("/loan/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  public void testUpdateLoanWithStaleIfMatch() throws Exception {
+    Loan loanUpdates = new Loan();
+    loanUpdates.setStatus("REJECTED");
+
+    when(loanService.updateLoan(eq(1L), any(Loan.class), eq(2L)))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Loan.class, 1L));
+
+    mockMvc
+        .perform(
+            put("/loan/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(loanUpdates)))
+        .andExpect(status().isPreconditionFailed());
+
+    verify(loanService, never()).updateLoan(eq(1L), any(Loan.class));
+  }
+
+  @Test
+  public void testPatchLoan() throws Exception {
+    LoanPatchRequest patch = new LoanPatchRequest();
+    patch.setStatus("APPROVED");
+
+    when(loanService.patchLoan(eq(1L), any(LoanPatchRequest.class), eq(4L))).thenReturn(5L);
+
+    mockMvc
+        .perform(
+            patch("/loan/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(patch)))
+        .andExpect(status().isNoContent())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+  }
+
+  @Test
+  public void testPatchLoanRequiresIfMatch() throws Exception {
+    mockMvc
+        .perform(
+            patch("/loan/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isPreconditionRequired());
+
+    verifyNoInteractions(loanService);
+  }
+
+  @Test
+  public void testPatchLoanConflicts() throws Exception {
+    when(loanService.patchLoan(eq(1L), any(LoanPatchRequest.class), eq(4L)))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Loan.class, 1L));
+    when(loanService.patchLoan(eq(1L), any(LoanPatchRequest.class), eq(-1L)))
+        .thenThrow(new OptimisticLockingFailureException("Loan 1 has changed"));
+
+    mockMvc
+        .perform(
+            patch("/loan/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isPreconditionFailed());
+    // A weak tag never matches
+    mockMvc
+        .perform(
+            patch("/loan/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isPreconditionFailed());
+  }
 }
@@ -0,0 +1,133 @@
+package com.finova.loan.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.loan.model.AmortizationMethod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+public class AmortizationEngineTest {
+
+  private static final LocalDate START = LocalDate.of(2024, 1, 15);
+
+  private final AmortizationEngine engine = new AmortizationEngine();
+
+  private AmortizationSchedule generate(
+      String amount, String rate, int termMonths, AmortizationMethod method) {
+    return engine.generate(new BigDecimal(amount), new BigDecimal(rate), termMonths, START, method);
+  }
+
+  private static void assertRepaid(AmortizationSchedule schedule, long principalCents) {
+    long repaid = 0;
+    for (int period = 1; period <= schedule.getPeriods(); period++) {
+      repaid += schedule.principalCents(period);
+    }
+    assertEquals(principalCents, repaid);
+    assertEquals(0, schedule.balanceCents(schedule.getPeriods()));
+  }
+
+  @Test
+  public void annuityMatchesTheStandardPayment() {
+    AmortizationSchedule schedule = generate("100000", "6", 360, AmortizationMethod.ANNUITY);
+
+    assertEquals(new BigDecimal("599.55"), schedule.getRegularPayment());
+    assertEquals(new BigDecimal("500.00"), schedule.entry(1).getInterest());
+    assertEquals(new BigDecimal("99.55"), schedule.entry(1).getPrincipal());
+    assertEquals(new BigDecimal("99900.45"), schedule.entry(1).getBalance());
+    assertEquals(LocalDate.of(2024, 2, 15), schedule.entry(1).getDueDate());
+    assertRepaid(schedule, 10_000_000);
+  }
+
+  @Test
+  public void scaledLongPathMatchesBigDecimal() {
+    String[] rates = {"0", "0.01", "3.875", "6", "7.125", "19.99", "24.123456789"};
+    int[] terms = {1, 12, 37, 360, 1200};
+    for (AmortizationMethod method : AmortizationMethod.values()) {
+      for (String rate : rates) {
+        for (int term : terms) {
+          BigDecimal amount = new BigDecimal("250123.47");
+          AmortizationSchedule fast =
+              engine.generate(amount, new BigDecimal(rate), term, START, method);
+          AmortizationSchedule exact =
+              engine.generateExact(amount, new BigDecimal(rate), term, START, method);
+          for (int period = 1; period <= term; period++) {
+            String at = method + " " + rate + "% " + term + "m period " + period;
+            assertEquals(exact.interestCents(period), fast.interestCents(period), at);
+            assertEquals(exact.principalCents(period), fast.principalCents(period), at);
+          }
+          assertRepaid(fast, 25_012_347);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void fallsBackToBigDecimalForHugeAmounts() {
+    AmortizationSchedule schedule =
+        generate("90000000000000000", "12.5", 24, AmortizationMethod.ANNUITY);
+
+    assertRepaid(schedule, 9_000_000_000_000_000_000L);
+  }
+
+  @Test
+  public void equalPrincipalRepaysAFixedInstalment() {
+    AmortizationSchedule schedule = generate("1000", "12", 3, AmortizationMethod.EQUAL_PRINCIPAL);
+
+    assertEquals(new BigDecimal("333.33"), schedule.entry(1).getPrincipal());
+    assertEquals(new BigDecimal("10.00"), schedule.entry(1).getInterest());
+    assertEquals(new BigDecimal("6.67"), schedule.entry(2).getInterest());
+    assertEquals(new BigDecimal("333.34"), schedule.entry(3).getPrincipal());
+    assertRepaid(schedule, 100_000);
+  }
+
+  @Test
+  public void interestOnlyRepaysEverythingAtTheEnd() {
+    AmortizationSchedule schedule = generate("1000", "12", 12, AmortizationMethod.INTEREST_ONLY);
+
+    assertEquals(new BigDecimal("10.00"), schedule.getRegularPayment());
+    assertEquals(0, schedule.principalCents(11));
+    assertEquals(new BigDecimal("1010.00"), schedule.entry(12).getPayment());
+    assertEquals(new BigDecimal("120.00"), schedule.getTotalInterest());
+    assertEquals(new BigDecimal("1120.00"), schedule.getTotalPayment());
+  }
+
+  @Test
+  public void zeroRateSplitsThePrincipal() {
+    AmortizationSchedule schedule = generate("100", "0", 3, AmortizationMethod.ANNUITY);
+
+    assertEquals(new BigDecimal("33.33"), schedule.getRegularPayment());
+    assertEquals(new BigDecimal("33.34"), schedule.entry(3).getPayment());
+    assertEquals(new BigDecimal("0.00"), schedule.getTotalInterest());
+  }
+
+  @Test
+  public void entriesArePagedAndClipped() {
+    AmortizationSchedule schedule = generate("100000", "6", 360, AmortizationMethod.ANNUITY);
+
+    assertEquals(12, schedule.entries(24, 12).size());
+    assertEquals(25, schedule.entries(24, 12).get(0).getPeriod());
+    assertEquals(5, schedule.entries(355, 12).size());
+    assertTrue(schedule.entries(360, 12).isEmpty());
+  }
+
+  @Test
+  public void rejectsUnusableTerms() {
+    AmortizationMethod annuity = AmortizationMethod.ANNUITY;
+    assertThrows(IllegalArgumentException.class, () -> generate("0", "5", 12, annuity));
+    assertThrows(IllegalArgumentException.class, () -> generate("1000", "-1", 12, annuity));
+    assertThrows(IllegalArgumentException.class, () -> generate("1000", "5", 0, annuity));
+    assertThrows(IllegalArgumentException.class, () -> generate("1000", "5", 1201, annuity));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> engine.generate(null, BigDecimal.ONE, 12, START, annuity));
+  }
+
+  @Test
+  public void divideHalfEvenRoundsTiesToEven() {
+    assertEquals(2, AmortizationEngine.divideHalfEven(5, 2));
+    assertEquals(4, AmortizationEngine.divideHalfEven(7, 2));
+    assertEquals(3, AmortizationEngine.divideHalfEven(8, 3));
+    assertEquals(2, AmortizationEngine.divideHalfEven(7, 3));
+  }
+}
@@ -0,0 +1,180 @@
+package com.finova.loan.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.loan.model.LoanAccrualRun;
+import com.finova.loan.repository.LeaseLostException;
+import com.finova.loan.repository.LoanAccrualRunStore;
+import com.finova.loan.repository.LoanAccrualWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class LoanAccrualJobTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 3, 31);
+
+  private JdbcTemplate jdbcTemplate;
+  private LoanAccrualJob job;
+
+  @BeforeEach
+  public void setUp() {
+    jdbcTemplate =
+        new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:accruals;DB_CLOSE_DELAY=-1"));
+    jdbcTemplate.execute(
+        "CREATE TABLE loan (id BIGINT PRIMARY KEY, amount DECIMAL(19,2),"
+            + " interest_rate DECIMAL(19,2), start_date TIMESTAMP, end_date TIMESTAMP,"
+            + " status VARCHAR(20))");
+    jdbcTemplate.execute(
+        "CREATE TABLE loan_accrual (loan_id BIGINT NOT NULL, accrual_date DATE NOT NULL,"
+            + " principal DECIMAL(19,2) NOT NULL, interest_rate DECIMAL(19,2) NOT NULL,"
+            + " interest DECIMAL(19,2) NOT NULL, PRIMARY KEY (loan_id, accrual_date))");
+    jdbcTemplate.execute(
+        "CREATE TABLE loan_accrual_run (accrual_date DATE PRIMARY KEY,"
+            + " status VARCHAR(20) NOT NULL, last_loan_id BIGINT NOT NULL,"
+            + " max_loan_id BIGINT NOT NULL, loans_accrued BIGINT NOT NULL, owner VARCHAR(36),"
+            + " claimed_until TIMESTAMP, started_at TIMESTAMP, completed_at TIMESTAMP)");
+    // 20 approved loans of 36,500.00 at 10%: exactly 10.00 a day each
+    for (long id = 1; id <= 20; id++) {
+      loan(id, "36500.00", "10.00", "APPROVED");
+    }
+    job =
+        new LoanAccrualJob(
+            new LoanAccrualWriter(jdbcTemplate, List.of("ACTIVE", "APPROVED")),
+            new LoanAccrualRunStore(jdbcTemplate),
+            3,
+            2,
+            60_000);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    job.stop();
+    jdbcTemplate.execute("DROP TABLE loan");
+    jdbcTemplate.execute("DROP TABLE loan_accrual");
+    jdbcTemplate.execute("DROP TABLE loan_accrual_run");
+  }
+
+  private void loan(long id, String amount, String rate, String status) {
+    jdbcTemplate.update(
+        "INSERT INTO loan (id, amount, interest_rate, start_date, status) VALUES (?, ?, ?, ?, ?)",
+        id,
+        new BigDecimal(amount),
+        new BigDecimal(rate),
+        LocalDateTime.of(2024, 1, 1, 9, 0),
+        status);
+  }
+
+  private int accrualCount() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_accrual", Integer.class);
+  }
+
+  private BigDecimal interest(long loanId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT interest FROM loan_accrual WHERE loan_id = ?", BigDecimal.class, loanId);
+  }
+
+  @Test
+  public void accruesEveryActiveLoanOnce() {
+    loan(21, "1000.00", "5.00", "PENDING");
+    loan(22, "1000.00", "7.30", "ACTIVE");
+    // Not started yet, and already ended
+    jdbcTemplate.update(
+        "UPDATE loan SET start_date = ? WHERE id = 3", LocalDateTime.of(2024, 4, 1, 0, 0));
+    jdbcTemplate.update(
+        "UPDATE loan SET end_date = ? WHERE id = 4", LocalDateTime.of(2024, 3, 30, 0, 0));
+
+    LoanAccrualRun run = job.run(DAY);
+
+    assertEquals(LoanAccrualRun.Status.COMPLETED, run.getStatus());
+    assertEquals(22, run.getLastLoanId());
+    assertEquals(19, run.getLoansAccrued());
+    assertEquals(19, accrualCount());
+    assertEquals(0, new BigDecimal("10.00").compareTo(interest(1)));
+    assertEquals(0, new BigDecimal("0.20").compareTo(interest(22)));
+
+    // A completed day is not accrued again
+    assertEquals(LoanAccrualRun.Status.COMPLETED, job.run(DAY).getStatus());
+    assertEquals(19, accrualCount());
+  }
+
+  @Test
+  public void resumesAfterTheLastCheckpoint() {
+    // A crashed run: loans up to 9 were checkpointed, and the chunk after it was half written
+    jdbcTemplate.update(
+        "INSERT INTO loan_accrual_run (accrual_date, status, last_loan_id, max_loan_id,"
+            + " loans_accrued, claimed_until) VALUES (?, 'RUNNING', 9, 20, 9, ?)",
+        DAY,
+        LocalDateTime.now().minusMinutes(1));
+    jdbcTemplate.update("INSERT INTO loan_accrual VALUES (10, ?, 36500.00, 10.00, 99.99)", DAY);
+    assertEquals(List.of(DAY), new LoanAccrualRunStore(jdbcTemplate).findAbandoned());
+
+    LoanAccrualRun run = job.run(DAY);
+
+    assertEquals(LoanAccrualRun.Status.COMPLETED, run.getStatus());
+    assertEquals(20, run.getLoansAccrued());
+    // Loans 1 to 9 were skipped; 10 was rewritten rather than duplicated
+    assertEquals(11, accrualCount());
+    assertEquals(0, new BigDecimal("10.00").compareTo(interest(10)));
+  }
+
+  @Test
+  public void leavesARunHeldByAnotherInstance() {
+    jdbcTemplate.update(
+        "INSERT INTO loan_accrual_run (accrual_date, status, last_loan_id, max_loan_id,"
+            + " loans_accrued, claimed_until) VALUES (?, 'RUNNING', 0, 20, 0, ?)",
+        DAY,
+        LocalDateTime.now().plusMinutes(5));
+
+    LoanAccrualRun run = job.run(DAY);
+
+    assertEquals(LoanAccrualRun.Status.RUNNING, run.getStatus());
+    assertEquals(0, accrualCount());
+  }
+
+  @Test
+  public void failedChunkReleasesTheRunAtItsCheckpoint() {
+    jdbcTemplate.execute("ALTER TABLE loan_accrual ADD CONSTRAINT small CHECK (loan_id < 8)");
+
+    assertThrows(RuntimeException.class, () -> job.run(DAY));
+
+    LoanAccrualRun run = job.find(DAY).orElseThrow();
+    assertEquals(LoanAccrualRun.Status.RUNNING, run.getStatus());
+    assertEquals(6, run.getLastLoanId());
+    assertEquals(List.of(DAY), new LoanAccrualRunStore(jdbcTemplate).findAbandoned());
+  }
+
+  @Test
+  public void stopsWhenAnotherInstanceTookTheRunOver() {
+    LocalDateTime theirLease = LocalDateTime.now().plusMinutes(5).withNano(0);
+    LoanAccrualWriter stalled =
+        new LoanAccrualWriter(jdbcTemplate, List.of("ACTIVE", "APPROVED")) {
+          @Override
+          public int accrue(LocalDate date, long afterId, long throughId) {
+            if (afterId == 0) {
+              // Our lease ran out while the first chunk was being written
+              jdbcTemplate.update(
+                  "UPDATE loan_accrual_run SET owner = 'other', claimed_until = ?", theirLease);
+            }
+            return super.accrue(date, afterId, throughId);
+          }
+        };
+    job.stop();
+    job = new LoanAccrualJob(stalled, new LoanAccrualRunStore(jdbcTemplate), 3, 2, 60_000);
+
+    assertThrows(LeaseLostException.class, () -> job.run(DAY));
+
+    // Neither checkpointed nor released: the run is left as the new owner holds it
+    LoanAccrualRun run = job.find(DAY).orElseThrow();
+    assertEquals(LoanAccrualRun.Status.RUNNING, run.getStatus());
+    assertEquals("other", run.getOwner());
+    assertEquals(0, run.getLastLoanId());
+    assertEquals(theirLease, run.getClaimedUntil());
+  }
+}
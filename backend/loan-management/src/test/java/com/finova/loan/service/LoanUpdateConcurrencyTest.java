@@ -0,0 +1,119 @@
+package com.finova.loan.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.loan.LoanManagementApplication;
+import com.finova.loan.dto.LoanPatchRequest;
+import com.finova.loan.model.Loan;
+import com.finova.loan.repository.LoanRepository;
+import java.math.BigDecimal;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Each call commits on its own, as two concurrent clients' requests would
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = LoanManagementApplication.class)
+@Import({LoanServiceImpl.class, AmortizationScheduleCache.class, AmortizationEngine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LoanUpdateConcurrencyTest {
+
+  @Autowired private LoanService loanService;
+
+  @Autowired private LoanRepository loanRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private Long loanId;
+
+  @BeforeEach
+  public void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    Loan loan = new Loan();
+    loan.setLoanNumber("LOAN123456");
+    loan.setAmount(new BigDecimal("10000.00"));
+    loan.setInterestRate(new BigDecimal("5.25"));
+    loan.setTermMonths(36);
+    loan.setStatus("PENDING");
+    loanId = loanService.createLoan(loan).getId();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    loanRepository.deleteAll();
+  }
+
+  private static LoanPatchRequest status(String status) {
+    LoanPatchRequest patch = new LoanPatchRequest();
+    patch.setStatus(status);
+    return patch;
+  }
+
+  @Test
+  public void patchIsOneUpdateOfTheChangedColumns() {
+    LoanPatchRequest patch = status("APPROVED");
+    patch.setPurpose("Car");
+    statistics.clear();
+
+    assertEquals(1L, loanService.patchLoan(loanId, patch, 0));
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    Loan loan = loanService.getLoanById(loanId);
+    assertEquals("APPROVED", loan.getStatus());
+    assertEquals("Car", loan.getPurpose());
+    assertEquals(0, new BigDecimal("10000.00").compareTo(loan.getAmount()));
+    assertEquals(36, loan.getTermMonths());
+    assertEquals(1L, loan.getVersion());
+  }
+
+  @Test
+  public void secondPatchFromTheSameVersionIsRejected() {
+    // Both clients read version 0
+    loanService.patchLoan(loanId, status("APPROVED"), 0);
+
+    assertThrows(
+        OptimisticLockingFailureException.class,
+        () -> loanService.patchLoan(loanId, status("REJECTED"), 0));
+    assertEquals("APPROVED", loanService.getLoanById(loanId).getStatus());
+  }
+
+  @Test
+  public void staleReplaceIsRejected() {
+    Loan first = loanService.getLoanById(loanId);
+    Loan second = loanService.getLoanById(loanId);
+
+    first.setStatus("APPROVED");
+    loanService.updateLoan(loanId, first, first.getVersion());
+    second.setStatus("REJECTED");
+
+    assertThrows(
+        OptimisticLockingFailureException.class,
+        () -> loanService.updateLoan(loanId, second, second.getVersion()));
+    // A stale copy saved directly is caught by the @Version check in the UPDATE
+    assertThrows(OptimisticLockingFailureException.class, () -> loanRepository.save(second));
+    assertEquals("APPROVED", loanService.getLoanById(loanId).getStatus());
+  }
+
+  @Test
+  public void patchOfAMissingLoanReturnsNull() {
+    assertNull(loanService.patchLoan(loanId + 1, status("APPROVED"), 0));
+  }
+
+  @Test
+  public void emptyPatchIsRejected() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> loanService.patchLoan(loanId, new LoanPatchRequest(), 0));
+  }
+}
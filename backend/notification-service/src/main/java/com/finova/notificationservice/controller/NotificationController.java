@@ -2,7 +2,11 @@ package com.finova.notificationservice.controller;
 
 import com.finova.notificationservice.model.NotificationRequest;
 import com.finova.notificationservice.service.NotificationService;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,8 +20,26 @@ public class NotificationController {
     this.notificationService = notificationService;
   }
 
+  /**
+   * 202 once queued for delivery; 400 without a recipient or for an unknown template; 503 with
+   * Retry-After when too many notifications are already waiting.
+   */
   @PostMapping("/send")
-  public void sendNotification(@RequestBody NotificationRequest notificationRequest) {
-    notificationService.sendNotification(notificationRequest);
+  public ResponseEntity<Void> sendNotification(
+      @RequestBody NotificationRequest notificationRequest) {
+    String recipient = notificationRequest.getRecipientEmail();
+    if (recipient == null || recipient.isBlank()) {
+      return ResponseEntity.badRequest().build();
+    }
+    try {
+      notificationService.sendNotification(notificationRequest);
+      return ResponseEntity.accepted().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .build();
+    }
   }
 }
@@ -0,0 +1,44 @@
+package com.finova.notificationservice.model;
+
+import java.time.LocalDateTime;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An email that could not be delivered, kept for inspection and manual resend. */
+@Entity
+@Table(
+    name = "dead_letter_notifications",
+    indexes = {@Index(name = "idx_dead_letter_failed_at", columnList = "failed_at")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterNotification {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "recipient_email", length = 320)
+  private String recipientEmail;
+
+  @Column(length = 998)
+  private String subject;
+
+  // Template properties as JSON
+  @Lob
+  @Column(name = "properties_json")
+  private String propertiesJson;
+
+  @Column(nullable = false)
+  private Integer attempts;
+
+  @Column(name = "last_error", length = 2000)
+  private String lastError;
+
+  @Column(name = "failed_at", nullable = false)
+  private LocalDateTime failedAt;
+}
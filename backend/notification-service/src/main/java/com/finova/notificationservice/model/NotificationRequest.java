@@ -7,5 +7,9 @@ import lombok.Data;
 public class NotificationRequest {
   private String recipientEmail;
   private String subject;
+  // Registered template name; defaults to TemplateRegistry.DEFAULT_TEMPLATE
+  private String template;
+  // BCP 47 language tag, e.g. "fr-CA"; the template's default variant when absent
+  private String locale;
   private Map<String, Object> properties;
 }
@@ -0,0 +1,397 @@
+package com.finova.notificationservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.NotificationRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only log of accepted notification requests, so a restart does not lose them.
+ *
+ * <p>Each request is appended to a memory-mapped segment file and made durable before {@link
+ * #append} returns; the API only acknowledges it after that. Once a request has been delivered or
+ * dead-lettered, {@link #complete} marks it done. The checkpoint is the highest sequence up to
+ * which everything is done; it is written to disk every {@code checkpoint-interval-ms}, and
+ * segments entirely at or below it are deleted. On start, every record after the checkpoint is
+ * handed to {@link #replay}. Delivery is therefore at least once: a request completed after the
+ * last checkpoint, or out of order, is sent again after a crash.
+ *
+ * <p>{@code fsync} controls durability:
+ *
+ * <ul>
+ *   <li>{@code group} (default): appenders wait for an {@code msync} that covers their record.
+ *       Whoever finds no sync in progress runs one for everything written so far, so concurrent
+ *       appends share a single flush (group commit).
+ *   <li>{@code always}: every append flushes its own record before the next can start.
+ *   <li>{@code none}: never flushes explicitly. Mapped pages survive a process crash but not a
+ *       power loss or kernel crash.
+ * </ul>
+ */
+@Component
+@Slf4j
+public class NotificationOutbox {
+
+  public enum SyncMode {
+    ALWAYS,
+    GROUP,
+    NONE
+  }
+
+  private static final String CHECKPOINT_FILE = "checkpoint";
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final SyncMode syncMode;
+  private final ObjectMapper objectMapper;
+  private final long checkpointIntervalMs;
+  private final List<OutboxSegment> segments = new CopyOnWriteArrayList<>();
+  // Appended but not yet completed
+  private final NavigableSet<Long> outstanding = new ConcurrentSkipListSet<>();
+  private final List<Replayed> recovered = new ArrayList<>();
+  private final ScheduledExecutorService checkpointer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "outbox-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Guarded by this
+  private OutboxSegment active;
+  private long nextSequence;
+
+  private final Object syncMonitor = new Object();
+  // Guarded by syncMonitor
+  private long durableSequence;
+  private boolean syncInProgress;
+
+  private final Object checkpointLock = new Object();
+  private volatile long checkpoint;
+
+  public NotificationOutbox(
+      ObjectMapper objectMapper,
+      @Value("${notification.outbox.directory:data/outbox}") String directory,
+      @Value("${notification.outbox.segment-bytes:67108864}") int segmentBytes,
+      @Value("${notification.outbox.fsync:group}") String syncMode,
+      @Value("${notification.outbox.checkpoint-interval-ms:1000}") long checkpointIntervalMs) {
+    this.objectMapper = objectMapper;
+    this.directory = Paths.get(directory);
+    this.segmentBytes = segmentBytes;
+    this.syncMode = SyncMode.valueOf(syncMode.toUpperCase(Locale.ROOT));
+    this.checkpointIntervalMs = checkpointIntervalMs;
+    try {
+      Files.createDirectories(this.directory);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open notification outbox in " + directory, e);
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    checkpointer.scheduleWithFixedDelay(
+        this::checkpointSafely,
+        checkpointIntervalMs,
+        checkpointIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    checkpointer.shutdownNow();
+    checkpoint();
+  }
+
+  /**
+   * Durably records an accepted request.
+   *
+   * @return the request's sequence, to pass to {@link #complete} once it is finished
+   * @throws IllegalArgumentException if the request does not fit in a segment
+   */
+  public long append(NotificationRequest request) {
+    byte[] payload = serialize(request);
+    if (OutboxSegment.HEADER_BYTES + payload.length > segmentBytes) {
+      throw new IllegalArgumentException("Notification too large for the outbox");
+    }
+    long sequence;
+    synchronized (this) {
+      sequence = nextSequence++;
+      if (!active.fits(payload.length)) {
+        roll(sequence);
+      }
+      active.append(sequence, payload);
+      outstanding.add(sequence);
+      if (syncMode == SyncMode.ALWAYS) {
+        syncActive(sequence);
+        return sequence;
+      }
+    }
+    if (syncMode == SyncMode.GROUP) {
+      awaitDurable(sequence);
+    }
+    return sequence;
+  }
+
+  /** Marks requests delivered or dead-lettered; they will not be replayed. */
+  public void complete(long... sequences) {
+    for (long sequence : sequences) {
+      outstanding.remove(sequence);
+    }
+  }
+
+  /**
+   * Hands every request recovered from disk at startup to {@code consumer}, once. Each must later
+   * be passed to {@link #complete} like a newly appended one.
+   */
+  public synchronized void replay(ReplayConsumer consumer) {
+    for (Replayed record : recovered) {
+      consumer.accept(record.sequence, record.request);
+    }
+    if (!recovered.isEmpty()) {
+      log.info("Replayed {} notification(s) from the outbox", recovered.size());
+    }
+    recovered.clear();
+  }
+
+  public long getCheckpoint() {
+    return checkpoint;
+  }
+
+  public int getOutstandingCount() {
+    return outstanding.size();
+  }
+
+  /** Persists the checkpoint and deletes segments that lie entirely below it. */
+  public void checkpoint() {
+    synchronized (checkpointLock) {
+      long completedThrough;
+      synchronized (this) {
+        completedThrough = outstanding.isEmpty() ? nextSequence - 1 : outstanding.first() - 1;
+      }
+      if (completedThrough <= checkpoint) {
+        return;
+      }
+      try {
+        writeCheckpoint(completedThrough);
+        checkpoint = completedThrough;
+        compact();
+      } catch (IOException e) {
+        log.warn("Outbox checkpoint failed: {}", e.toString());
+      }
+    }
+  }
+
+  private void checkpointSafely() {
+    try {
+      checkpoint();
+    } catch (RuntimeException e) {
+      log.error("Outbox checkpoint failed", e);
+    }
+  }
+
+  private void compact() throws IOException {
+    // A segment is done once the next one starts at or below checkpoint + 1
+    for (int i = 0; i < segments.size() - 1; i++) {
+      OutboxSegment segment = segments.get(i);
+      if (segments.get(i + 1).getFirstSequence() - 1 > checkpoint) {
+        break;
+      }
+      segments.remove(segment);
+      segment.delete();
+      i--;
+    }
+  }
+
+  private void recover() throws IOException {
+    checkpoint = readCheckpoint();
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(OutboxSegment::isSegment).sorted().collect(Collectors.toList());
+    }
+    long lastSequence = checkpoint;
+    for (Path file : files) {
+      OutboxSegment segment = OutboxSegment.open(file);
+      long[] last = {lastSequence};
+      segment.recover(
+          (sequence, payload) -> {
+            last[0] = Math.max(last[0], sequence);
+            NotificationRequest request = sequence > checkpoint ? deserialize(payload) : null;
+            if (request != null) {
+              recovered.add(new Replayed(sequence, request));
+              outstanding.add(sequence);
+            }
+          });
+      lastSequence = last[0];
+      segments.add(segment);
+    }
+    nextSequence = lastSequence + 1;
+    durableSequence = lastSequence;
+    // Always append to a fresh segment rather than after a possibly torn tail
+    roll(nextSequence);
+    log.info(
+        "Notification outbox opened: checkpoint {}, {} segment(s), {} to replay",
+        checkpoint,
+        segments.size(),
+        recovered.size());
+  }
+
+  // Caller holds the append lock
+  private void roll(long firstSequence) {
+    if (active != null && syncMode != SyncMode.NONE) {
+      // Everything before the new segment's first record lives in the old one
+      syncActive(firstSequence - 1);
+    }
+    try {
+      active = OutboxSegment.create(directory, firstSequence, segmentBytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create outbox segment", e);
+    }
+    segments.add(active);
+  }
+
+  // Caller holds the append lock; records up to through are durable once the active segment is
+  private void syncActive(long through) {
+    active.force(active.getSyncedPosition(), active.getPosition());
+    active.markSynced(active.getPosition());
+    synchronized (syncMonitor) {
+      durableSequence = Math.max(durableSequence, through);
+      syncMonitor.notifyAll();
+    }
+  }
+
+  /**
+   * Group commit: waits until {@code sequence} is durable, running the flush itself if nobody
+   * else is. The flush covers everything appended up to its start, including other waiters.
+   */
+  private void awaitDurable(long sequence) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        synchronized (syncMonitor) {
+          while (durableSequence < sequence && syncInProgress) {
+            try {
+              syncMonitor.wait();
+            } catch (InterruptedException e) {
+              // The record is already written; finish making it durable before giving up
+              interrupted = true;
+            }
+          }
+          if (durableSequence >= sequence) {
+            return;
+          }
+          syncInProgress = true;
+        }
+        long synced = -1;
+        try {
+          OutboxSegment segment;
+          int from;
+          int to;
+          synchronized (this) {
+            segment = active;
+            from = segment.getSyncedPosition();
+            to = segment.getPosition();
+            synced = nextSequence - 1;
+          }
+          // Outside the append lock, so appends continue while the device flushes
+          segment.force(from, to);
+          synchronized (this) {
+            segment.markSynced(to);
+          }
+        } finally {
+          synchronized (syncMonitor) {
+            syncInProgress = false;
+            durableSequence = Math.max(durableSequence, synced);
+            syncMonitor.notifyAll();
+          }
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private long readCheckpoint() throws IOException {
+    Path file = directory.resolve(CHECKPOINT_FILE);
+    if (!Files.exists(file)) {
+      return 0;
+    }
+    return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+  }
+
+  private void writeCheckpoint(long sequence) throws IOException {
+    Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+      channel.force(true);
+    }
+    Files.move(
+        temporary,
+        directory.resolve(CHECKPOINT_FILE),
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private byte[] serialize(NotificationRequest request) {
+    try {
+      return objectMapper.writeValueAsBytes(request);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Notification cannot be serialized", e);
+    }
+  }
+
+  private NotificationRequest deserialize(byte[] payload) {
+    try {
+      return objectMapper.readValue(payload, NotificationRequest.class);
+    } catch (IOException e) {
+      // Intact on disk but not a request any more, e.g. after an incompatible model change
+      log.error("Skipping unreadable outbox record: {}", e.toString());
+      return null;
+    }
+  }
+
+  /** Receives requests recovered from the outbox at startup. */
+  public interface ReplayConsumer {
+    void accept(long sequence, NotificationRequest request);
+  }
+
+  private static final class Replayed {
+    final long sequence;
+    final NotificationRequest request;
+
+    Replayed(long sequence, NotificationRequest request) {
+      this.sequence = sequence;
+      this.request = request;
+    }
+  }
+}
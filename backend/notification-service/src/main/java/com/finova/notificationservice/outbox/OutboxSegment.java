@@ -0,0 +1,152 @@
+package com.finova.notificationservice.outbox;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, preallocated outbox segment file, named after the sequence of its first
+ * record.
+ *
+ * <p>Records are {@code [int length][int crc32c][long sequence][payload]}, written back to back.
+ * The file is zero-filled when created, so a zero length marks the end of the written records; a
+ * record whose checksum does not match was torn by a crash and ends the segment too.
+ */
+final class OutboxSegment {
+
+  static final String SUFFIX = ".log";
+  static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+
+  private final Path path;
+  private final long firstSequence;
+  private final MappedByteBuffer buffer;
+  // Guarded by the owning NotificationOutbox's append lock
+  private int position;
+  private int syncedPosition;
+
+  private OutboxSegment(Path path, long firstSequence, MappedByteBuffer buffer) {
+    this.path = path;
+    this.firstSequence = firstSequence;
+    this.buffer = buffer;
+  }
+
+  static OutboxSegment create(Path directory, long firstSequence, int size) throws IOException {
+    Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // Mapping past the end extends the file with zeros
+      return new OutboxSegment(
+          path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+  }
+
+  static OutboxSegment open(Path path) throws IOException {
+    String name = path.getFileName().toString();
+    long firstSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return new OutboxSegment(
+          path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+    }
+  }
+
+  static boolean isSegment(Path path) {
+    return path.getFileName().toString().endsWith(SUFFIX);
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  long getFirstSequence() {
+    return firstSequence;
+  }
+
+  boolean fits(int payloadBytes) {
+    return buffer.capacity() - position >= HEADER_BYTES + payloadBytes;
+  }
+
+  void append(long sequence, byte[] payload) {
+    buffer.putInt(position + Integer.BYTES, checksum(sequence, payload));
+    buffer.putLong(position + Integer.BYTES * 2, sequence);
+    buffer.put(position + HEADER_BYTES, payload);
+    // Length last: a record is only visible to recovery once it is complete
+    buffer.putInt(position, payload.length);
+    position += HEADER_BYTES + payload.length;
+  }
+
+  int getPosition() {
+    return position;
+  }
+
+  int getSyncedPosition() {
+    return syncedPosition;
+  }
+
+  /** Flushes {@code [from, to)} to the device. Safe to call while appends continue past it. */
+  void force(int from, int to) {
+    if (to > from) {
+      buffer.force(from, to - from);
+    }
+  }
+
+  void markSynced(int to) {
+    syncedPosition = Math.max(syncedPosition, to);
+  }
+
+  /**
+   * Reads every intact record from the start, leaving the write position after the last one. A
+   * torn tail is zeroed so later appends cannot be mistaken for it.
+   */
+  void recover(RecordConsumer consumer) {
+    position = 0;
+    while (buffer.capacity() - position >= HEADER_BYTES) {
+      int length = buffer.getInt(position);
+      if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES) {
+        break;
+      }
+      int checksum = buffer.getInt(position + Integer.BYTES);
+      long sequence = buffer.getLong(position + Integer.BYTES * 2);
+      byte[] payload = new byte[length];
+      buffer.get(position + HEADER_BYTES, payload);
+      if (checksum != checksum(sequence, payload)) {
+        break;
+      }
+      consumer.accept(sequence, payload);
+      position += HEADER_BYTES + length;
+    }
+    if (buffer.capacity() - position >= Integer.BYTES && buffer.getInt(position) != 0) {
+      for (int i = position; i < buffer.capacity(); i++) {
+        buffer.put(i, (byte) 0);
+      }
+      buffer.force();
+    }
+    syncedPosition = position;
+  }
+
+  void delete() throws IOException {
+    // The mapping is released by the GC; unlinking a mapped file is fine on POSIX systems
+    Files.deleteIfExists(path);
+  }
+
+  private static int checksum(long sequence, byte[] payload) {
+    CRC32C crc = new CRC32C();
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      crc.update((int) (sequence >>> shift));
+    }
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  interface RecordConsumer {
+    void accept(long sequence, byte[] payload);
+  }
+}
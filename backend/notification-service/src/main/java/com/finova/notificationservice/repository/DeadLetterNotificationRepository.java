@@ -0,0 +1,9 @@
+package com.finova.notificationservice.repository;
+
+import com.finova.notificationservice.model.DeadLetterNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeadLetterNotificationRepository
+    extends JpaRepository<DeadLetterNotification, Long> {}
@@ -0,0 +1,361 @@
+package com.finova.notificationservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.DeadLetterNotification;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.repository.DeadLetterNotificationRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous email delivery.
+ *
+ * <p>Requests are accepted into a bounded queue and delivered by {@code workers} threads. Each
+ * worker keeps its own SMTP connection open and sends every message it drains (up to {@code
+ * batch-size} at a time) over it, so a busy worker pays the connect/EHLO/STARTTLS/AUTH handshake
+ * once rather than per message; the connection is closed after {@code idle-close-ms} without work
+ * and reopened on demand. A send that fails on a reused connection is retried once on a fresh one
+ * before it counts as a failed attempt.
+ *
+ * <p>Failed attempts are retried with exponential backoff and jitter, up to {@code max-attempts};
+ * messages that can never succeed (unrenderable, invalid address) and messages that run out of
+ * attempts go to the dead-letter table. At shutdown, messages still queued or awaiting a retry are
+ * left to the outbox to replay when they came with an {@code onFinished} callback, and are
+ * dead-lettered otherwise.
+ */
+@Component
+@Slf4j
+public class EmailDeliveryPipeline {
+
+  private final JavaMailSenderImpl mailSender;
+  private final EmailMessageFactory messageFactory;
+  private final DeadLetterNotificationRepository deadLetters;
+  private final ObjectMapper objectMapper;
+  private final NotificationMetrics metrics;
+  private final BlockingQueue<PendingEmail> queue;
+  private final int workerCount;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long initialBackoffMs;
+  private final long maxBackoffMs;
+  private final long idleCloseMs;
+  private final Set<PendingEmail> awaitingRetry = ConcurrentHashMap.newKeySet();
+  private final List<Thread> workers = new ArrayList<>();
+  private final ScheduledExecutorService retryScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "email-retry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private volatile boolean running;
+
+  public EmailDeliveryPipeline(
+      JavaMailSenderImpl mailSender,
+      EmailMessageFactory messageFactory,
+      DeadLetterNotificationRepository deadLetters,
+      ObjectMapper objectMapper,
+      NotificationMetrics metrics,
+      @Value("${notification.email.queue-capacity:10000}") int queueCapacity,
+      @Value("${notification.email.workers:4}") int workerCount,
+      @Value("${notification.email.batch-size:50}") int batchSize,
+      @Value("${notification.email.max-attempts:5}") int maxAttempts,
+      @Value("${notification.email.initial-backoff-ms:1000}") long initialBackoffMs,
+      @Value("${notification.email.max-backoff-ms:60000}") long maxBackoffMs,
+      @Value("${notification.email.idle-close-ms:30000}") long idleCloseMs) {
+    this.mailSender = mailSender;
+    this.messageFactory = messageFactory;
+    this.deadLetters = deadLetters;
+    this.objectMapper = objectMapper;
+    this.metrics = metrics;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.workerCount = workerCount;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMs = initialBackoffMs;
+    this.maxBackoffMs = maxBackoffMs;
+    this.idleCloseMs = idleCloseMs;
+    metrics.gauge("notifications.queue.depth", queue::size);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    for (int i = 0; i < workerCount; i++) {
+      Thread worker = new Thread(this::work, "email-delivery-" + i);
+      worker.setDaemon(true);
+      worker.start();
+      workers.add(worker);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    // No interrupt: a worker may be mid-SMTP. Workers exit once the queue is drained.
+    running = false;
+    for (Thread worker : workers) {
+      worker.join(TimeUnit.SECONDS.toMillis(30));
+    }
+    retryScheduler.shutdownNow();
+    for (PendingEmail email : awaitingRetry) {
+      abandon(email, "Shut down before retry: " + email.lastError);
+    }
+    PendingEmail email;
+    while ((email = queue.poll()) != null) {
+      abandon(email, "Shut down before delivery");
+    }
+  }
+
+  /**
+   * Accepts a request for delivery.
+   *
+   * @throws RejectedExecutionException if the queue is full or the pipeline is stopping
+   */
+  public void submit(NotificationRequest request) {
+    submit(request, null);
+  }
+
+  /**
+   * Accepts a request for delivery; {@code onFinished} runs once it has been sent or
+   * dead-lettered.
+   *
+   * @throws RejectedExecutionException if the queue is full or the pipeline is stopping
+   */
+  public void submit(NotificationRequest request, Runnable onFinished) {
+    if (!running || !queue.offer(new PendingEmail(request, onFinished))) {
+      throw new RejectedExecutionException("Email delivery queue is full");
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  private void work() {
+    SmtpConnection connection = new SmtpConnection();
+    List<PendingEmail> batch = new ArrayList<>(batchSize);
+    try {
+      while (running || !queue.isEmpty()) {
+        PendingEmail first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          connection.closeIfIdle();
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        for (PendingEmail email : batch) {
+          deliver(connection, email);
+        }
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      connection.close();
+    }
+  }
+
+  private void deliver(SmtpConnection connection, PendingEmail email) {
+    MimeMessage message;
+    try {
+      message = messageFactory.create(mailSender.getSession(), email.request);
+    } catch (MessagingException | RuntimeException e) {
+      // Rendering or addressing problems do not go away on retry
+      email.attempts++;
+      deadLetter(email, e.toString());
+      return;
+    }
+    try {
+      email.attempts++;
+      connection.send(message);
+      // Includes time spent waiting for retries
+      metrics.delivered(System.nanoTime() - email.enqueuedAt);
+      finish(email);
+    } catch (SendFailedException e) {
+      if (e.getValidUnsentAddresses() == null || e.getValidUnsentAddresses().length == 0) {
+        // Every recipient was refused: permanent
+        deadLetter(email, e.toString());
+      } else {
+        retryLater(email, e.toString());
+      }
+    } catch (MessagingException | RuntimeException e) {
+      connection.close();
+      retryLater(email, e.toString());
+    }
+  }
+
+  private void retryLater(PendingEmail email, String error) {
+    email.lastError = error;
+    if (email.attempts >= maxAttempts || !running) {
+      deadLetter(email, error);
+      return;
+    }
+    long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(email.attempts - 1, 30));
+    // Full jitter in the upper half keeps retries after an outage from arriving in lockstep
+    long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    log.debug("Email attempt {} failed, retrying in {} ms: {}", email.attempts, delay, error);
+    awaitingRetry.add(email);
+    schedule(email, delay);
+  }
+
+  private void schedule(PendingEmail email, long delayMs) {
+    try {
+      retryScheduler.schedule(() -> requeue(email), delayMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // Shutting down; stop() dead-letters whatever is still awaiting retry
+    }
+  }
+
+  private void requeue(PendingEmail email) {
+    if (queue.offer(email)) {
+      awaitingRetry.remove(email);
+    } else {
+      schedule(email, initialBackoffMs);
+    }
+  }
+
+  private void deadLetter(PendingEmail email, String error) {
+    awaitingRetry.remove(email);
+    NotificationRequest request = email.request;
+    log.warn(
+        "Email to {} dead-lettered after {} attempt(s): {}",
+        request.getRecipientEmail(),
+        email.attempts,
+        error);
+    try {
+      deadLetters.save(
+          DeadLetterNotification.builder()
+              .recipientEmail(request.getRecipientEmail())
+              .subject(request.getSubject())
+              .propertiesJson(toJson(request))
+              .attempts(email.attempts)
+              .lastError(truncate(error, 2000))
+              .failedAt(LocalDateTime.now())
+              .build());
+    } catch (RuntimeException e) {
+      log.error("Failed to store dead letter for {}", request.getRecipientEmail(), e);
+    }
+    finish(email);
+  }
+
+  private void abandon(PendingEmail email, String reason) {
+    if (email.onFinished == null) {
+      deadLetter(email, reason);
+    } else {
+      awaitingRetry.remove(email);
+      log.info("Email to {} left for outbox replay: {}", email.request.getRecipientEmail(), reason);
+    }
+  }
+
+  private void finish(PendingEmail email) {
+    if (email.onFinished != null) {
+      try {
+        email.onFinished.run();
+      } catch (RuntimeException e) {
+        log.error("Delivery completion callback failed", e);
+      }
+    }
+  }
+
+  private String toJson(NotificationRequest request) {
+    try {
+      return objectMapper.writeValueAsString(request.getProperties());
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  private static String truncate(String value, int maxLength) {
+    return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+  }
+
+  private static final class PendingEmail {
+    final NotificationRequest request;
+    final Runnable onFinished;
+    final long enqueuedAt = System.nanoTime();
+    int attempts;
+    String lastError;
+
+    PendingEmail(NotificationRequest request, Runnable onFinished) {
+      this.request = request;
+      this.onFinished = onFinished;
+    }
+  }
+
+  /** One worker's SMTP connection, reused across messages and batches. */
+  private final class SmtpConnection {
+
+    private Transport transport;
+    private long lastUsed;
+
+    void send(MimeMessage message) throws MessagingException {
+      boolean reused = transport != null;
+      try {
+        transport().sendMessage(message, message.getAllRecipients());
+      } catch (SendFailedException e) {
+        throw e;
+      } catch (MessagingException e) {
+        if (!reused) {
+          throw e;
+        }
+        // The server may have dropped an idle pooled connection; try once on a fresh one
+        close();
+        transport().sendMessage(message, message.getAllRecipients());
+      }
+      lastUsed = System.currentTimeMillis();
+    }
+
+    private Transport transport() throws MessagingException {
+      if (transport == null) {
+        Transport connecting = mailSender.getSession().getTransport(mailSender.getProtocol());
+        connecting.connect(
+            mailSender.getHost(),
+            mailSender.getPort(),
+            mailSender.getUsername(),
+            mailSender.getPassword());
+        transport = connecting;
+        lastUsed = System.currentTimeMillis();
+      }
+      return transport;
+    }
+
+    void closeIfIdle() {
+      if (transport != null && System.currentTimeMillis() - lastUsed >= idleCloseMs) {
+        close();
+      }
+    }
+
+    void close() {
+      if (transport != null) {
+        try {
+          transport.close();
+        } catch (MessagingException e) {
+          log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+        transport = null;
+      }
+    }
+  }
+}
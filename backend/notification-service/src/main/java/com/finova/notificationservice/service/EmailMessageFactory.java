@@ -0,0 +1,49 @@
+package com.finova.notificationservice.service;
+
+import com.finova.notificationservice.model.NotificationRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+/** Renders a {@link NotificationRequest} into a ready-to-send HTML message. */
+@Component
+public class EmailMessageFactory {
+
+  private final TemplateRegistry templateRegistry;
+  private final String from;
+
+  public EmailMessageFactory(
+      TemplateRegistry templateRegistry,
+      @Value("${notification.email.from:noreply@finovabank.com}") String from) {
+    this.templateRegistry = templateRegistry;
+    this.from = from;
+  }
+
+  static String templateName(NotificationRequest request) {
+    String template = request.getTemplate();
+    return template != null ? template : TemplateRegistry.DEFAULT_TEMPLATE;
+  }
+
+  public MimeMessage create(Session session, NotificationRequest request)
+      throws MessagingException {
+    MimeMessage message = new MimeMessage(session);
+    MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+
+    helper.setFrom(from);
+    helper.setTo(request.getRecipientEmail());
+    helper.setSubject(request.getSubject());
+
+    Locale locale = request.getLocale() != null ? Locale.forLanguageTag(request.getLocale()) : null;
+    helper.setText(
+        templateRegistry.render(templateName(request), locale, request.getProperties()), true);
+
+    // Transport.sendMessage, unlike JavaMailSender.send, does not do this itself
+    message.saveChanges();
+    return message;
+  }
+}
@@ -1,50 +1,71 @@
 package com.finova.notificationservice.service;
 
 import com.finova.notificationservice.model.NotificationRequest;
-import javax.mail.internet.MimeMessage;
+import com.finova.notificationservice.outbox.NotificationOutbox;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.*;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 @Service
+@Slf4j
 public class EmailNotificationService implements NotificationService {
 
-  private JavaMailSender mailSender;
-  private TemplateEngine templateEngine;
+  private NotificationOutbox outbox;
+  private NotificationCoalescer coalescer;
+  private TemplateRegistry templateRegistry;
 
   @Autowired
-  public EmailNotificationService(JavaMailSender mailSender, TemplateEngine templateEngine) {
-    this.mailSender = mailSender;
-    this.templateEngine = templateEngine;
+  public EmailNotificationService(
+      NotificationOutbox outbox,
+      NotificationCoalescer coalescer,
+      TemplateRegistry templateRegistry) {
+    this.outbox = outbox;
+    this.coalescer = coalescer;
+    this.templateRegistry = templateRegistry;
   }
 
+  /** Resumes requests accepted before the last shutdown or crash but not yet finished. */
+  @PostConstruct
+  public void replayOutbox() {
+    outbox.replay(
+        (sequence, request) -> {
+          if (hasRecipient(request)) {
+            coalescer.restore(request, sequence);
+          } else {
+            // Accepted before recipients were validated; it can never be delivered
+            log.warn("Discarding outbox record {} without a recipient", sequence);
+            outbox.complete(sequence);
+          }
+        });
+  }
+
+  /**
+   * Records the email in the outbox, then queues it; coalescing, rendering, delivery, retries and
+   * dead-lettering happen asynchronously.
+   */
   @Override
   public void sendNotification(NotificationRequest notificationRequest) {
+    if (!hasRecipient(notificationRequest)) {
+      throw new IllegalArgumentException("Recipient email is required");
+    }
+    // Reject unknown templates up front rather than dead-lettering them later
+    String template = EmailMessageFactory.templateName(notificationRequest);
+    if (!templateRegistry.contains(template)) {
+      throw new IllegalArgumentException("Unknown email template: " + template);
+    }
+    long sequence = outbox.append(notificationRequest);
     try {
-      MimeMessage message = mailSender.createMimeMessage();
-      MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-      helper.setTo(notificationRequest.getRecipientEmail());
-      helper.setSubject(notificationRequest.getSubject());
-
-      // Use Thymeleaf template
-      Context context = new Context();
-      context.setVariables(notificationRequest.getProperties());
-      String htmlContent = templateEngine.process("email-template", context);
-
-      helper.setText(htmlContent, true);
-
-      // Add attachment if needed
-      // helper.addAttachment("attachment.pdf", new ClassPathResource("attachment.pdf"));
-
-      mailSender.send(message);
-
-    } catch (MailException | javax.mail.MessagingException e) {
-      e.printStackTrace();
-      // Handle exception
+      coalescer.submit(notificationRequest, sequence);
+    } catch (RejectedExecutionException e) {
+      // The caller is told to retry, so this copy must not be replayed as well
+      outbox.complete(sequence);
+      throw e;
     }
   }
+
+  private static boolean hasRecipient(NotificationRequest request) {
+    return request.getRecipientEmail() != null && !request.getRecipientEmail().isBlank();
+  }
 }
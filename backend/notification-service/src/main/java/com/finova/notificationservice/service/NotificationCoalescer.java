@@ -0,0 +1,347 @@
+package com.finova.notificationservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.DeadLetterNotification;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.outbox.NotificationOutbox;
+import com.finova.notificationservice.repository.DeadLetterNotificationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Groups requests for the same recipient and template so a burst of events becomes one email.
+ *
+ * <p>A group is held for {@code window-ms} after its first request. It is then sent as-is if it
+ * holds a single request, or as one {@link #DIGEST_TEMPLATE} message listing every request
+ * otherwise. A group whose recipient is over its {@link RecipientRateLimiter} limit stays open and
+ * keeps collecting until a token is available, so throttling yields bigger digests rather than
+ * lost notifications. A digest lists at most {@code max-digest-items} entries and counts the rest.
+ *
+ * <p>Every request carries its {@link NotificationOutbox} sequence; the whole group is completed in
+ * the outbox once its email has been sent or dead-lettered. A group that cannot even be handed to
+ * the pipeline has each of its requests dead-lettered here. Groups still held at shutdown are
+ * dropped and replayed from the outbox on the next start.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+  public static final String DIGEST_TEMPLATE = "digest";
+
+  private final EmailDeliveryPipeline deliveryPipeline;
+  private final RecipientRateLimiter rateLimiter;
+  private final NotificationOutbox outbox;
+  private final DeadLetterNotificationRepository deadLetters;
+  private final ObjectMapper objectMapper;
+  private final NotificationMetrics metrics;
+  private final long windowNanos;
+  private final long tickMillis;
+  private final int maxDigestItems;
+  private final int maxPending;
+  private final LongSupplier nanoClock;
+  private final Map<GroupKey, Group> groups = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final ScheduledExecutorService flusher =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public NotificationCoalescer(
+      EmailDeliveryPipeline deliveryPipeline,
+      RecipientRateLimiter rateLimiter,
+      NotificationOutbox outbox,
+      DeadLetterNotificationRepository deadLetters,
+      ObjectMapper objectMapper,
+      NotificationMetrics metrics,
+      @Value("${notification.coalescing.window-ms:5000}") long windowMs,
+      @Value("${notification.coalescing.max-digest-items:50}") int maxDigestItems,
+      @Value("${notification.coalescing.max-pending:10000}") int maxPending) {
+    this(
+        deliveryPipeline,
+        rateLimiter,
+        outbox,
+        deadLetters,
+        objectMapper,
+        metrics,
+        windowMs,
+        maxDigestItems,
+        maxPending,
+        System::nanoTime);
+  }
+
+  NotificationCoalescer(
+      EmailDeliveryPipeline deliveryPipeline,
+      RecipientRateLimiter rateLimiter,
+      NotificationOutbox outbox,
+      DeadLetterNotificationRepository deadLetters,
+      ObjectMapper objectMapper,
+      NotificationMetrics metrics,
+      long windowMs,
+      int maxDigestItems,
+      int maxPending,
+      LongSupplier nanoClock) {
+    this.deliveryPipeline = deliveryPipeline;
+    this.rateLimiter = rateLimiter;
+    this.outbox = outbox;
+    this.deadLetters = deadLetters;
+    this.objectMapper = objectMapper;
+    this.metrics = metrics;
+    this.windowNanos = Duration.ofMillis(windowMs).toNanos();
+    this.tickMillis = Math.max(10, windowMs / 5);
+    this.maxDigestItems = maxDigestItems;
+    this.maxPending = maxPending;
+    this.nanoClock = nanoClock;
+    metrics.gauge("notifications.coalescing.pending", pending::get);
+  }
+
+  @PostConstruct
+  public void start() {
+    flusher.scheduleWithFixedDelay(
+        this::flushSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    flusher.shutdownNow();
+    if (!groups.isEmpty()) {
+      log.info("Leaving {} held notification(s) for outbox replay", pending.get());
+    }
+  }
+
+  /**
+   * Adds a request to its recipient's open group, opening one if needed.
+   *
+   * @param sequence the request's outbox sequence
+   * @throws RejectedExecutionException if {@code max-pending} requests are already held
+   */
+  public void submit(NotificationRequest request, long sequence) {
+    if (pending.incrementAndGet() > maxPending) {
+      pending.decrementAndGet();
+      throw new RejectedExecutionException("Notification coalescing buffer is full");
+    }
+    metrics.received();
+    hold(request, sequence);
+  }
+
+  /** Re-adds a request replayed from the outbox; it was accepted before, so no limit applies. */
+  public void restore(NotificationRequest request, long sequence) {
+    pending.incrementAndGet();
+    hold(request, sequence);
+  }
+
+  private void hold(NotificationRequest request, long sequence) {
+    GroupKey key =
+        new GroupKey(request.getRecipientEmail(), EmailMessageFactory.templateName(request));
+    long now = nanoClock.getAsLong();
+    // compute() serialises appends with the flusher's removal, so a removed group is complete
+    groups.compute(
+        key,
+        (k, group) -> {
+          Group target = group != null ? group : new Group(now);
+          target.add(request, sequence);
+          return target;
+        });
+  }
+
+  int getPendingCount() {
+    return pending.get();
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("Notification coalescer flush failed", e);
+    }
+  }
+
+  /** Dispatches every group whose window has closed and whose recipient has a token. */
+  void flush() {
+    long now = nanoClock.getAsLong();
+    for (Map.Entry<GroupKey, Group> entry : groups.entrySet()) {
+      GroupKey key = entry.getKey();
+      Group group = entry.getValue();
+      try {
+        flush(key, group, now);
+      } catch (RuntimeException e) {
+        // A group that cannot be sent would fail on every tick and hold up the groups after it
+        log.error(
+            "Dead-lettering {} notification(s) for {} that could not be dispatched",
+            group.size(),
+            key.recipient,
+            e);
+        discard(key, group, e);
+      }
+    }
+    rateLimiter.evictFull();
+  }
+
+  private void flush(GroupKey key, Group group, long now) {
+    if (now - group.openedAt < windowNanos) {
+      return;
+    }
+    if (!rateLimiter.tryAcquire(key.recipient)) {
+      metrics.rateLimited();
+      return;
+    }
+    if (groups.remove(key, group)) {
+      dispatch(key, group);
+    }
+  }
+
+  private void discard(GroupKey key, Group group, RuntimeException error) {
+    groups.remove(key, group);
+    pending.addAndGet(-group.size());
+    String lastError = truncate(String.valueOf(error.getMessage()), 2000);
+    for (NotificationRequest request : group.requests) {
+      try {
+        deadLetters.save(
+            DeadLetterNotification.builder()
+                .recipientEmail(request.getRecipientEmail())
+                .subject(request.getSubject())
+                .propertiesJson(toJson(request))
+                .attempts(0)
+                .lastError(lastError)
+                .failedAt(LocalDateTime.now())
+                .build());
+      } catch (RuntimeException e) {
+        // Left in the outbox: replayed on the next start instead of lost
+        log.error("Failed to store dead letter for {}", request.getRecipientEmail(), e);
+        return;
+      }
+    }
+    // Completed so the outbox does not replay it into the same failure on every restart
+    outbox.complete(group.sequences.stream().mapToLong(Long::longValue).toArray());
+  }
+
+  private String toJson(NotificationRequest request) {
+    try {
+      return objectMapper.writeValueAsString(request.getProperties());
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  private static String truncate(String value, int maxLength) {
+    return value.length() <= maxLength ? value : value.substring(0, maxLength);
+  }
+
+  private void dispatch(GroupKey key, Group group) {
+    NotificationRequest email = group.size() == 1 ? group.requests.get(0) : digest(key, group);
+    long[] sequences = group.sequences.stream().mapToLong(Long::longValue).toArray();
+    try {
+      deliveryPipeline.submit(email, () -> outbox.complete(sequences));
+    } catch (RejectedExecutionException e) {
+      // Delivery is saturated; fold the group back in and try again on a later tick
+      groups.merge(key, group, (newer, older) -> older.absorb(newer));
+      return;
+    }
+    pending.addAndGet(-group.size());
+    metrics.dispatched(group.size(), nanoClock.getAsLong() - group.openedAt);
+  }
+
+  private NotificationRequest digest(GroupKey key, Group group) {
+    List<NotificationRequest> listed =
+        group.requests.subList(0, Math.min(group.size(), maxDigestItems));
+    List<Map<String, Object>> items = new ArrayList<>(listed.size());
+    for (NotificationRequest request : listed) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      if (request.getProperties() != null) {
+        item.putAll(request.getProperties());
+      }
+      item.put("subject", request.getSubject());
+      items.add(item);
+    }
+    NotificationRequest first = group.requests.get(0);
+    Map<String, Object> properties = new LinkedHashMap<>();
+    if (first.getProperties() != null && first.getProperties().get("name") != null) {
+      properties.put("name", first.getProperties().get("name"));
+    }
+    properties.put("template", key.template);
+    properties.put("count", group.size());
+    properties.put("omitted", group.size() - listed.size());
+    properties.put("items", items);
+
+    NotificationRequest digest = new NotificationRequest();
+    digest.setRecipientEmail(key.recipient);
+    digest.setSubject("You have " + group.size() + " new notifications");
+    digest.setTemplate(DIGEST_TEMPLATE);
+    digest.setLocale(first.getLocale());
+    digest.setProperties(properties);
+    return digest;
+  }
+
+  private static final class GroupKey {
+    final String recipient;
+    final String template;
+
+    GroupKey(String recipient, String template) {
+      this.recipient = recipient;
+      this.template = template;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof GroupKey)) {
+        return false;
+      }
+      GroupKey that = (GroupKey) other;
+      return Objects.equals(recipient, that.recipient) && template.equals(that.template);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(recipient, template);
+    }
+  }
+
+  /** Requests held for one recipient and template; only mutated inside {@code compute}. */
+  private static final class Group {
+    final long openedAt;
+    // Every request, so a failed group can be dead-lettered in full; a digest lists a prefix
+    final List<NotificationRequest> requests = new ArrayList<>();
+    final List<Long> sequences = new ArrayList<>();
+
+    Group(long openedAt) {
+      this.openedAt = openedAt;
+    }
+
+    void add(NotificationRequest request, long sequence) {
+      requests.add(request);
+      sequences.add(sequence);
+    }
+
+    int size() {
+      return requests.size();
+    }
+
+    Group absorb(Group newer) {
+      requests.addAll(newer.requests);
+      sequences.addAll(newer.sequences);
+      return this;
+    }
+  }
+}
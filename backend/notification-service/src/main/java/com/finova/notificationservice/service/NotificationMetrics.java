@@ -0,0 +1,82 @@
+package com.finova.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the notification pipeline.
+ *
+ * <ul>
+ *   <li>{@code notifications.received}: requests accepted by the API.
+ *   <li>{@code notifications.dispatched}: emails handed to delivery, tagged {@code kind=single} or
+ *       {@code kind=digest}.
+ *   <li>{@code notifications.coalescing.ratio}: requests received per email dispatched.
+ *   <li>{@code notifications.rate-limited}: group flushes deferred by a recipient's rate limit.
+ *   <li>{@code notifications.coalescing.delay}: from a group's first request to its dispatch.
+ *   <li>{@code notifications.queue.latency}: from delivery enqueue to a successful SMTP send.
+ * </ul>
+ */
+@Component
+public class NotificationMetrics {
+
+  private final MeterRegistry registry;
+  private final Counter received;
+  private final Counter dispatchedSingle;
+  private final Counter dispatchedDigest;
+  private final Counter rateLimited;
+  private final Timer coalescingDelay;
+  private final Timer queueLatency;
+
+  @Autowired
+  public NotificationMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+    // Without actuator the meters are still kept, just not exported
+    this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+  NotificationMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.received = registry.counter("notifications.received");
+    this.dispatchedSingle = registry.counter("notifications.dispatched", "kind", "single");
+    this.dispatchedDigest = registry.counter("notifications.dispatched", "kind", "digest");
+    this.rateLimited = registry.counter("notifications.rate-limited");
+    this.coalescingDelay = registry.timer("notifications.coalescing.delay");
+    this.queueLatency = registry.timer("notifications.queue.latency");
+    registry.gauge("notifications.coalescing.ratio", this, NotificationMetrics::coalescingRatio);
+  }
+
+  /** Exposes a gauge, e.g. a queue depth, read from {@code value} on each scrape. */
+  void gauge(String name, Supplier<Number> value) {
+    Gauge.builder(name, value).strongReference(true).register(registry);
+  }
+
+  void received() {
+    received.increment();
+  }
+
+  void dispatched(int coalescedRequests, long delayNanos) {
+    (coalescedRequests > 1 ? dispatchedDigest : dispatchedSingle).increment();
+    coalescingDelay.record(delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  void rateLimited() {
+    rateLimited.increment();
+  }
+
+  void delivered(long queuedNanos) {
+    queueLatency.record(queuedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Requests received per email dispatched so far; 1 when nothing was coalesced. */
+  public double coalescingRatio() {
+    double emails = dispatchedSingle.count() + dispatchedDigest.count();
+    return emails == 0 ? 1 : received.count() / emails;
+  }
+}
@@ -3,5 +3,14 @@ package com.finova.notificationservice.service;
 import com.finova.notificationservice.model.NotificationRequest;
 
 public interface NotificationService {
+
+  /**
+   * Accepts a notification for asynchronous delivery.
+   *
+   * @throws IllegalArgumentException if the requested template does not exist or the
+   *     request is too large to store
+   * @throws java.util.concurrent.RejectedExecutionException if too many notifications are
+   *     waiting to be sent
+   */
   void sendNotification(NotificationRequest notificationRequest);
 }
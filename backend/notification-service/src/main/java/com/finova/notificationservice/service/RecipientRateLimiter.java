@@ -0,0 +1,51 @@
+package com.finova.notificationservice.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the emails sent to each recipient: bursts of up to {@code burst}, then {@code per-minute}.
+ * Buckets are created on first use and dropped by {@link #evictFull()} once refilled, so idle
+ * recipients cost nothing.
+ */
+@Component
+public class RecipientRateLimiter {
+
+  private final int burst;
+  private final long refillNanos;
+  private final LongSupplier nanoClock;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  @Autowired
+  public RecipientRateLimiter(
+      @Value("${notification.rate-limit.burst:5}") int burst,
+      @Value("${notification.rate-limit.per-minute:10}") int perMinute) {
+    this(burst, perMinute, System::nanoTime);
+  }
+
+  RecipientRateLimiter(int burst, int perMinute, LongSupplier nanoClock) {
+    this.burst = burst;
+    this.refillNanos = Duration.ofMinutes(1).toNanos() / perMinute;
+    this.nanoClock = nanoClock;
+  }
+
+  public boolean tryAcquire(String recipient) {
+    return buckets
+        .computeIfAbsent(recipient, r -> new TokenBucket(burst, refillNanos, nanoClock))
+        .tryAcquire();
+  }
+
+  /** Drops buckets that have refilled; a recipient seen again simply gets a new full bucket. */
+  public void evictFull() {
+    buckets.values().removeIf(TokenBucket::isFull);
+  }
+
+  int trackedRecipients() {
+    return buckets.size();
+  }
+}
@@ -0,0 +1,236 @@
+package com.finova.notificationservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICacheEntryValidity;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+/**
+ * Email templates, parsed once and kept for the life of the registry.
+ *
+ * <p>Every {@code <location>*.html} file is a template; {@code name_<locale>.html} is a locale
+ * variant of {@code name}. Each variant is registered under its name, locale and version (a hash
+ * of its source) and parsed at load time by a private engine whose template cache never expires,
+ * independent of {@code spring.thymeleaf.cache}. A changed template therefore gets a new cache
+ * entry on {@link #reload()} instead of serving a stale parse. Sources of the previous load are
+ * kept until the next one, so a render that picked its variant just before a reload still parses
+ * the version it picked; a variant whose source is gone fails rather than rendering empty.
+ *
+ * <p>Files under {@code <location>fragments/} are static fragments (headers, footers, legal
+ * text). They are rendered once at load and exposed to templates as {@code ${fragments.<name>}},
+ * to be written with {@code th:utext}, so each render copies a string instead of processing them.
+ */
+@Component
+@Slf4j
+public class TemplateRegistry {
+
+  public static final String DEFAULT_TEMPLATE = "email-template";
+  static final String FRAGMENTS_VARIABLE = "fragments";
+
+  private final String location;
+  private final SpringTemplateEngine engine;
+  // Engine template key -> source, read by the resolver on a parse
+  private final Map<String, String> sources = new ConcurrentHashMap<>();
+
+  private volatile Map<String, Map<Locale, String>> templates = Collections.emptyMap();
+  private volatile Map<String, String> fragments = Collections.emptyMap();
+  private Set<String> previousKeys = Collections.emptySet();
+
+  public TemplateRegistry(
+      @Value("${notification.templates.location:classpath*:templates/}") String location) {
+    this.location = location;
+    StandardCacheManager cacheManager = new StandardCacheManager();
+    cacheManager.setTemplateCacheMaxSize(1000);
+    this.engine = new SpringTemplateEngine();
+    engine.setCacheManager(cacheManager);
+    engine.setTemplateResolver(new RegistryResolver());
+    reload();
+  }
+
+  /** Rescans the template location, re-parses changed templates and re-renders fragments. */
+  public synchronized void reload() {
+    Map<String, Map<Locale, String>> loadedTemplates = new HashMap<>();
+    Map<String, String> loadedFragments = new HashMap<>();
+    try {
+      for (Resource resource : resources("fragments/*.html")) {
+        String name = baseName(resource);
+        String key = register("fragment:" + name, read(resource));
+        loadedFragments.put(name, engine.process(key, new Context(Locale.ROOT)));
+      }
+      for (Resource resource : resources("*.html")) {
+        String baseName = baseName(resource);
+        int separator = baseName.indexOf('_');
+        String name = separator < 0 ? baseName : baseName.substring(0, separator);
+        Locale locale =
+            separator < 0
+                ? Locale.ROOT
+                : Locale.forLanguageTag(baseName.substring(separator + 1).replace('_', '-'));
+        String key = register(name + "/" + locale.toLanguageTag(), read(resource));
+        loadedTemplates.computeIfAbsent(name, n -> new HashMap<>()).put(locale, key);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot load email templates from " + location, e);
+    }
+    Set<String> live = new HashSet<>();
+    loadedTemplates.values().forEach(variants -> live.addAll(variants.values()));
+    engine.clearTemplateCache();
+    fragments = Collections.unmodifiableMap(loadedFragments);
+    templates = Collections.unmodifiableMap(loadedTemplates);
+    // Drop sources two loads old; fragments are already rendered and need none
+    Set<String> retained = new HashSet<>(live);
+    retained.addAll(previousKeys);
+    sources.keySet().retainAll(retained);
+    previousKeys = live;
+    templates.values().forEach(variants -> variants.values().forEach(this::warmUp));
+    log.info("Loaded {} email templates and {} fragments", templates.size(), fragments.size());
+  }
+
+  public boolean contains(String name) {
+    return templates.containsKey(name);
+  }
+
+  /**
+   * Renders the named template in the closest available locale: the exact locale, then its
+   * language, then the default variant.
+   *
+   * @throws IllegalArgumentException if there is no template with that name
+   */
+  public String render(String name, Locale locale, Map<String, Object> variables) {
+    return process(variant(name, locale), locale, variables);
+  }
+
+  /** The engine key of the variant {@link #render} would use. */
+  String variant(String name, Locale locale) {
+    Map<Locale, String> variants = templates.get(name);
+    if (variants == null) {
+      throw new IllegalArgumentException("Unknown email template: " + name);
+    }
+    Locale effective = locale != null ? locale : Locale.ROOT;
+    String key = variants.get(effective);
+    if (key == null) {
+      key = variants.get(new Locale(effective.getLanguage()));
+    }
+    if (key == null) {
+      key = variants.get(Locale.ROOT);
+    }
+    if (key == null) {
+      key = variants.values().iterator().next();
+    }
+    return key;
+  }
+
+  String process(String key, Locale locale, Map<String, Object> variables) {
+    Context context = new Context(locale != null ? locale : Locale.ROOT);
+    if (variables != null) {
+      context.setVariables(variables);
+    }
+    context.setVariable(FRAGMENTS_VARIABLE, fragments);
+    return engine.process(key, context);
+  }
+
+  private String register(String name, String source) {
+    String key = name + "@" + version(source);
+    sources.put(key, source);
+    return key;
+  }
+
+  private void warmUp(String key) {
+    // Parsing is cached before processing starts, so the parse sticks even if this render fails
+    try {
+      Context context = new Context(Locale.ROOT);
+      context.setVariable(FRAGMENTS_VARIABLE, fragments);
+      engine.process(key, context);
+    } catch (RuntimeException e) {
+      log.debug("Warm-up render of {} failed without variables: {}", key, e.getMessage());
+    }
+  }
+
+  private Resource[] resources(String pattern) throws IOException {
+    return new PathMatchingResourcePatternResolver().getResources(location + pattern);
+  }
+
+  private static String baseName(Resource resource) {
+    String filename = resource.getFilename();
+    return filename.substring(0, filename.length() - ".html".length());
+  }
+
+  private static String read(Resource resource) throws IOException {
+    try (InputStream in = resource.getInputStream()) {
+      return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static String version(String source) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder();
+      for (int i = 0; i < 6; i++) {
+        hex.append(String.format("%02x", digest[i]));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Serves registered sources; parses are cached until {@link #reload()} clears them. */
+  private final class RegistryResolver extends AbstractTemplateResolver {
+
+    @Override
+    protected ITemplateResource computeTemplateResource(
+        IEngineConfiguration configuration,
+        String ownerTemplate,
+        String template,
+        Map<String, Object> templateResolutionAttributes) {
+      String source = sources.get(template);
+      if (source == null) {
+        throw new TemplateInputException("Email template source is no longer loaded: " + template);
+      }
+      return new StringTemplateResource(source);
+    }
+
+    @Override
+    protected TemplateMode computeTemplateMode(
+        IEngineConfiguration configuration,
+        String ownerTemplate,
+        String template,
+        Map<String, Object> templateResolutionAttributes) {
+      return TemplateMode.HTML;
+    }
+
+    @Override
+    protected ICacheEntryValidity computeValidity(
+        IEngineConfiguration configuration,
+        String ownerTemplate,
+        String template,
+        Map<String, Object> templateResolutionAttributes) {
+      return AlwaysValidCacheEntryValidity.INSTANCE;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.finova.notificationservice.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens, refilled one per {@code
+ * refillNanos}.
+ *
+ * <p>The whole state is a single {@code long}: the time at which the bucket will be full again
+ * (the generic cell rate algorithm's "theoretical arrival time"). Taking a token pushes it one
+ * refill interval later, which is a single compare-and-set with no separate token count to keep
+ * consistent.
+ */
+final class TokenBucket {
+
+  private final long refillNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final AtomicLong fullAt;
+
+  TokenBucket(int capacity, long refillNanos, LongSupplier nanoClock) {
+    this.refillNanos = refillNanos;
+    this.burstNanos = capacity * refillNanos;
+    this.nanoClock = nanoClock;
+    this.fullAt = new AtomicLong(nanoClock.getAsLong());
+  }
+
+  boolean tryAcquire() {
+    long now = nanoClock.getAsLong();
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current, now) + refillNanos;
+      if (next - now > burstNanos) {
+        return false;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /** True when the bucket has refilled completely and can be discarded without losing state. */
+  boolean isFull() {
+    return fullAt.get() - nanoClock.getAsLong() <= 0;
+  }
+}
@@ -2,13 +2,17 @@ package com.finova.notification.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.finova.notificationservice.controller.NotificationController;
 import com.finova.notificationservice.model.NotificationRequest;
 import com.finova.notificationservice.service.NotificationService;
+import java.util.concurrent.RejectedExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -43,10 +47,58 @@ public class NotificationControllerTest {
             post("/notifications/send")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(
-                    "{\"userId\":\"123\",\"message\":\"Test notification\",\"type\":\"EMAIL\"}"))
-        .andExpect(status().isOk());
+                    "{\"recipientEmail\":\"a@example.com\",\"subject\":\"Test notification\"}"))
+        .andExpect(status().isAccepted());
 
     // Verify
     verify(notificationService).sendNotification(any(NotificationRequest.class));
   }
+
+  @Test
+  public void testSendNotificationWhenQueueIsFull() throws Exception {
+    doThrow(new RejectedExecutionException("full"))
+        .when(notificationService)
+        .sendNotification(any(NotificationRequest.class));
+
+    mockMvc
+        .perform(
+            post("/notifications/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"recipientEmail\":\"a@example.com\",\"subject\":\"Hi\"}"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  public void testSendNotificationWithUnknownTemplate() throws Exception {
+    doThrow(new IllegalArgumentException("Unknown email template: missing"))
+        .when(notificationService)
+        .sendNotification(any(NotificationRequest.class));
+
+    mockMvc
+        .perform(
+            post("/notifications/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"recipientEmail\":\"a@example.com\",\"template\":\"missing\"}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void testSendNotificationWithoutRecipient() throws Exception {
+    mockMvc
+        .perform(
+            post("/notifications/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"userId\":\"123\",\"message\":\"Test notification\",\"type\":\"EMAIL\"}"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            post("/notifications/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"recipientEmail\":\"  \",\"subject\":\"Hi\"}"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(notificationService);
+  }
 }
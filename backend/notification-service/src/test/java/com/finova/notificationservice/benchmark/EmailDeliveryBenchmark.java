@@ -0,0 +1,111 @@
+package com.finova.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.repository.DeadLetterNotificationRepository;
+import com.finova.notificationservice.service.EmailDeliveryPipeline;
+import com.finova.notificationservice.service.EmailMessageFactory;
+import com.finova.notificationservice.service.NotificationMetrics;
+import com.finova.notificationservice.service.TemplateRegistry;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * End-to-end email delivery through {@link EmailDeliveryPipeline} into a local GreenMail SMTP
+ * server: rendering, pooled SMTP sessions and batching per connection. Each invocation submits a
+ * burst of {@value #BURST} messages to 100 recipients and waits until all of them have arrived,
+ * so the score is delivered messages per second. The target is at least 1,000 with 4 workers.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.notificationservice.benchmark.EmailDeliveryBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailDeliveryBenchmark {
+
+  private static final int BURST = 1_000;
+
+  @Param({"4"})
+  public int workers;
+
+  private GreenMail greenMail;
+  private EmailDeliveryPipeline pipeline;
+  private NotificationRequest[] requests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    greenMail = new GreenMail(ServerSetupTest.SMTP);
+    greenMail.start();
+    JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    pipeline =
+        new EmailDeliveryPipeline(
+            mailSender,
+            new EmailMessageFactory(
+                new TemplateRegistry("classpath*:templates/"), "noreply@finovabank.com"),
+            Mockito.mock(DeadLetterNotificationRepository.class),
+            new ObjectMapper(),
+            new NotificationMetrics(
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)),
+            10_000,
+            workers,
+            50,
+            3,
+            10,
+            100,
+            30_000);
+    pipeline.start();
+    requests = new NotificationRequest[BURST];
+    for (int i = 0; i < BURST; i++) {
+      NotificationRequest request = new NotificationRequest();
+      request.setRecipientEmail("customer" + (i % 100) + "@example.com");
+      request.setSubject("Statement " + i);
+      request.setProperties(Map.of("name", "Customer " + i, "message", "Your statement is ready"));
+      requests[i] = request;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    pipeline.stop();
+    greenMail.stop();
+  }
+
+  // Delivered mail is kept in memory; a burst of 1,000 is long enough for a per-invocation reset
+  @Setup(Level.Invocation)
+  public void purge() throws Exception {
+    greenMail.purgeEmailFromAllMailboxes();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BURST)
+  public boolean deliverBurst() {
+    for (NotificationRequest request : requests) {
+      pipeline.submit(request);
+    }
+    return greenMail.waitForIncomingEmail(30_000, BURST);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(EmailDeliveryBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
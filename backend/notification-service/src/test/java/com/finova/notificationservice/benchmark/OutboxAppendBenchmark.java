@@ -0,0 +1,79 @@
+package com.finova.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.outbox.NotificationOutbox;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Durable outbox appends from concurrent request threads, flushing every record on its own
+ * ({@code always}), flushing once per batch of concurrent appends ({@code group}), and never
+ * flushing explicitly ({@code none}, for reference). Each append is completed right away so the
+ * checkpoint and compaction keep up as they would in steady state.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.notificationservice.benchmark.OutboxAppendBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class OutboxAppendBenchmark {
+
+  @Param({"always", "group", "none"})
+  public String fsync;
+
+  private Path directory;
+  private NotificationOutbox outbox;
+  private NotificationRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("outbox-benchmark");
+    outbox =
+        new NotificationOutbox(new ObjectMapper(), directory.toString(), 64 << 20, fsync, 1_000);
+    outbox.start();
+    request = new NotificationRequest();
+    request.setRecipientEmail("customer@example.com");
+    request.setSubject("Card transaction");
+    request.setTemplate("transaction-alert");
+    request.setProperties(
+        Map.of("name", "Ada", "amount", "125.40", "currency", "EUR", "accountNumber", "****1234"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    outbox.stop();
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public long append() {
+    long sequence = outbox.append(request);
+    outbox.complete(sequence);
+    return sequence;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(OutboxAppendBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
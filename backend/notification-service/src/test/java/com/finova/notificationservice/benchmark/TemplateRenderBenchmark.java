@@ -0,0 +1,79 @@
+package com.finova.notificationservice.benchmark;
+
+import com.finova.notificationservice.service.TemplateRegistry;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Renders the default notification email with a template engine that re-reads and re-parses the
+ * template and its fragments on every render (the behaviour with {@code spring.thymeleaf.cache}
+ * off) and with {@link TemplateRegistry}, which parses once and splices pre-rendered fragments.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.notificationservice.benchmark.TemplateRenderBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+  @Param({"uncached", "registry"})
+  public String mode;
+
+  private SpringTemplateEngine uncachedEngine;
+  private TemplateRegistry registry;
+  private Map<String, Object> variables;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    variables = new HashMap<>();
+    variables.put("name", "Ada Lovelace");
+    variables.put("message", "Your monthly statement is ready to view.");
+    if ("uncached".equals(mode)) {
+      ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+      resolver.setPrefix("templates/");
+      resolver.setSuffix(".html");
+      resolver.setTemplateMode(TemplateMode.HTML);
+      resolver.setCacheable(false);
+      uncachedEngine = new SpringTemplateEngine();
+      uncachedEngine.setTemplateResolver(resolver);
+    } else {
+      registry = new TemplateRegistry("classpath*:templates/");
+    }
+  }
+
+  @Benchmark
+  public String render() {
+    if (registry != null) {
+      return registry.render(TemplateRegistry.DEFAULT_TEMPLATE, Locale.ROOT, variables);
+    }
+    Map<String, String> fragments = new HashMap<>();
+    fragments.put("header", uncachedEngine.process("fragments/header", new Context()));
+    fragments.put("footer", uncachedEngine.process("fragments/footer", new Context()));
+    Context context = new Context(Locale.ROOT, variables);
+    context.setVariable("fragments", fragments);
+    return uncachedEngine.process(TemplateRegistry.DEFAULT_TEMPLATE, context);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(TemplateRenderBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,155 @@
+package com.finova.notificationservice.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.NotificationRequest;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class NotificationOutboxTest {
+
+  @TempDir Path directory;
+
+  private NotificationOutbox open(int segmentBytes, String fsync) {
+    return new NotificationOutbox(
+        new ObjectMapper(), directory.toString(), segmentBytes, fsync, 60_000);
+  }
+
+  private static NotificationRequest request(int i) {
+    NotificationRequest request = new NotificationRequest();
+    request.setRecipientEmail("customer" + i + "@example.com");
+    request.setSubject("Statement " + i);
+    request.setProperties(Map.of("message", "Your statement is ready"));
+    return request;
+  }
+
+  private static List<String> replayedRecipients(NotificationOutbox outbox) {
+    List<String> recipients = new ArrayList<>();
+    outbox.replay((sequence, request) -> recipients.add(request.getRecipientEmail()));
+    return recipients;
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(OutboxSegment::isSegment).count();
+    }
+  }
+
+  @Test
+  public void replaysRequestsNotCompletedBeforeRestart() {
+    NotificationOutbox outbox = open(64 * 1024, "group");
+    long first = outbox.append(request(1));
+    outbox.append(request(2));
+    long third = outbox.append(request(3));
+    outbox.complete(first);
+    outbox.checkpoint();
+    outbox.complete(third);
+    // 3 is done but 2 is not, so the checkpoint stays at 1 and both are replayed
+    outbox.checkpoint();
+
+    NotificationOutbox reopened = open(64 * 1024, "group");
+
+    assertEquals(first, reopened.getCheckpoint());
+    assertEquals(
+        List.of("customer2@example.com", "customer3@example.com"), replayedRecipients(reopened));
+    assertEquals(2, reopened.getOutstandingCount());
+    assertTrue(replayedRecipients(reopened).isEmpty());
+  }
+
+  @Test
+  public void sequencesContinueAfterRestart() {
+    NotificationOutbox outbox = open(64 * 1024, "always");
+    long last = outbox.append(request(1));
+
+    NotificationOutbox reopened = open(64 * 1024, "always");
+
+    assertEquals(last + 1, reopened.append(request(2)));
+  }
+
+  @Test
+  public void checkpointDeletesCompletedSegments() throws IOException {
+    NotificationOutbox outbox = open(512, "none");
+    List<Long> sequences = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      sequences.add(outbox.append(request(i)));
+    }
+    assertTrue(segmentCount() > 5);
+
+    sequences.forEach(outbox::complete);
+    outbox.checkpoint();
+
+    assertEquals(1, segmentCount());
+    assertTrue(replayedRecipients(open(512, "none")).isEmpty());
+  }
+
+  @Test
+  public void tornRecordEndsRecovery() throws IOException {
+    NotificationOutbox outbox = open(4096, "always");
+    outbox.append(request(1));
+    outbox.append(request(2));
+
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment = files.filter(OutboxSegment::isSegment).sorted().findFirst().get();
+    }
+    // Corrupt the last written byte, inside the second record's payload
+    byte[] content = Files.readAllBytes(segment);
+    int last = content.length - 1;
+    while (content[last] == 0) {
+      last--;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(last);
+      file.write(content[last] ^ 0x01);
+    }
+
+    assertEquals(List.of("customer1@example.com"), replayedRecipients(open(4096, "always")));
+  }
+
+  @Test
+  public void concurrentGroupCommitAppendsAreAllRecorded() throws InterruptedException {
+    NotificationOutbox outbox = open(16 * 1024, "group");
+    Set<Long> sequences = ConcurrentHashMap.newKeySet();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int thread = t;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int i = 0; i < 100; i++) {
+                  sequences.add(outbox.append(request(thread * 1_000 + i)));
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(800, sequences.size());
+    List<String> replayed = replayedRecipients(open(16 * 1024, "group"));
+    assertEquals(800, replayed.size());
+    assertEquals(800, replayed.stream().collect(Collectors.toSet()).size());
+  }
+
+  @Test
+  public void rejectsRequestsLargerThanASegment() {
+    NotificationOutbox outbox = open(128, "group");
+    NotificationRequest request = request(1);
+    request.setProperties(Map.of("message", "x".repeat(256)));
+
+    assertThrows(IllegalArgumentException.class, () -> outbox.append(request));
+  }
+}
@@ -0,0 +1,147 @@
+package com.finova.notificationservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.DeadLetterNotification;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.repository.DeadLetterNotificationRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+public class EmailDeliveryPipelineTest {
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  private final DeadLetterNotificationRepository deadLetters =
+      mock(DeadLetterNotificationRepository.class);
+
+  private EmailDeliveryPipeline pipeline;
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    if (pipeline != null) {
+      pipeline.stop();
+    }
+  }
+
+  private EmailDeliveryPipeline pipeline(int port, int workers, int maxAttempts) {
+    return pipeline(port, workers, maxAttempts, 10_000);
+  }
+
+  private EmailDeliveryPipeline pipeline(
+      int port, int workers, int maxAttempts, int queueCapacity) {
+    JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(port);
+    mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "1000");
+    EmailDeliveryPipeline created =
+        new EmailDeliveryPipeline(
+            mailSender,
+            new EmailMessageFactory(
+                new TemplateRegistry("classpath*:templates/"), "noreply@finovabank.com"),
+            deadLetters,
+            new ObjectMapper(),
+            new NotificationMetrics(new SimpleMeterRegistry()),
+            queueCapacity,
+            workers,
+            50,
+            maxAttempts,
+            10,
+            100,
+            30_000);
+    created.start();
+    return created;
+  }
+
+  private static NotificationRequest request(String recipient, int i) {
+    NotificationRequest request = new NotificationRequest();
+    request.setRecipientEmail(recipient);
+    request.setSubject("Statement " + i);
+    request.setProperties(Map.of("name", "Customer " + i, "message", "Your statement is ready"));
+    return request;
+  }
+
+  @Test
+  public void testMessagesAreRenderedAndDelivered() {
+    pipeline = pipeline(ServerSetupTest.SMTP.getPort(), 2, 3);
+
+    for (int i = 0; i < 10; i++) {
+      pipeline.submit(request("customer" + i + "@example.com", i));
+    }
+
+    assertTrue(greenMail.waitForIncomingEmail(5_000, 10));
+    String body = GreenMailUtil.getBody(greenMail.getReceivedMessages()[0]);
+    assertTrue(body.contains("Your statement is ready"));
+    verifyNoInteractions(deadLetters);
+  }
+
+  @Test
+  public void testEveryMessageOfABurstIsDelivered() {
+    // Throughput is measured by EmailDeliveryBenchmark; this only checks nothing is lost
+    pipeline = pipeline(ServerSetupTest.SMTP.getPort(), 4, 3);
+
+    int messages = 2_000;
+    for (int i = 0; i < messages; i++) {
+      pipeline.submit(request("customer" + (i % 100) + "@example.com", i));
+    }
+
+    assertTrue(greenMail.waitForIncomingEmail(30_000, messages));
+    assertEquals(messages, greenMail.getReceivedMessages().length);
+    assertEquals(20, greenMail.getReceivedMessagesForDomain("customer7@example.com").length);
+    verifyNoInteractions(deadLetters);
+  }
+
+  @Test
+  public void testUnreachableServerIsRetriedThenDeadLettered() throws IOException {
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    pipeline = pipeline(closedPort, 1, 3);
+
+    pipeline.submit(request("customer@example.com", 1));
+
+    ArgumentCaptor<DeadLetterNotification> captor =
+        ArgumentCaptor.forClass(DeadLetterNotification.class);
+    verify(deadLetters, timeout(5_000)).save(captor.capture());
+    assertEquals(3, captor.getValue().getAttempts());
+    assertEquals("customer@example.com", captor.getValue().getRecipientEmail());
+    assertTrue(captor.getValue().getPropertiesJson().contains("Customer 1"));
+  }
+
+  @Test
+  public void testUnaddressableMessageIsDeadLetteredWithoutRetry() {
+    pipeline = pipeline(ServerSetupTest.SMTP.getPort(), 1, 3);
+
+    pipeline.submit(request(null, 1));
+
+    ArgumentCaptor<DeadLetterNotification> captor =
+        ArgumentCaptor.forClass(DeadLetterNotification.class);
+    verify(deadLetters, timeout(5_000)).save(captor.capture());
+    assertEquals(1, captor.getValue().getAttempts());
+  }
+
+  @Test
+  public void testFullQueueRejects() {
+    // No workers, so nothing drains the single queue slot
+    pipeline = pipeline(ServerSetupTest.SMTP.getPort(), 0, 3, 1);
+
+    pipeline.submit(request("a@example.com", 1));
+    assertThrows(
+        RejectedExecutionException.class, () -> pipeline.submit(request("b@example.com", 2)));
+  }
+}
@@ -0,0 +1,231 @@
+package com.finova.notificationservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.notificationservice.model.DeadLetterNotification;
+import com.finova.notificationservice.model.NotificationRequest;
+import com.finova.notificationservice.outbox.NotificationOutbox;
+import com.finova.notificationservice.repository.DeadLetterNotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class NotificationCoalescerTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000L);
+  private final EmailDeliveryPipeline deliveryPipeline = mock(EmailDeliveryPipeline.class);
+  private final NotificationOutbox outbox = mock(NotificationOutbox.class);
+  private final DeadLetterNotificationRepository deadLetters =
+      mock(DeadLetterNotificationRepository.class);
+  private long nextSequence = 1;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final NotificationMetrics metrics = new NotificationMetrics(meterRegistry);
+
+  private NotificationCoalescer coalescer(int burst, int maxDigestItems, int maxPending) {
+    return new NotificationCoalescer(
+        deliveryPipeline,
+        new RecipientRateLimiter(burst, 30, now::get),
+        outbox,
+        deadLetters,
+        new ObjectMapper(),
+        metrics,
+        1_000,
+        maxDigestItems,
+        maxPending,
+        now::get);
+  }
+
+  private static NotificationRequest alert(String recipient, int i) {
+    NotificationRequest request = new NotificationRequest();
+    request.setRecipientEmail(recipient);
+    request.setSubject("Card transaction " + i);
+    request.setTemplate("transaction-alert");
+    request.setProperties(Map.of("name", "Ada", "amount", i + ".00", "currency", "EUR"));
+    return request;
+  }
+
+  private void advance(Duration duration) {
+    now.addAndGet(duration.toNanos());
+  }
+
+  private void submit(NotificationCoalescer coalescer, NotificationRequest request) {
+    coalescer.submit(request, nextSequence++);
+  }
+
+  private List<NotificationRequest> dispatched(int times) {
+    ArgumentCaptor<NotificationRequest> sent = ArgumentCaptor.forClass(NotificationRequest.class);
+    verify(deliveryPipeline, times(times)).submit(sent.capture(), any());
+    return sent.getAllValues();
+  }
+
+  @Test
+  public void holdsRequestsUntilTheWindowCloses() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 100);
+    submit(coalescer, alert("a@example.com", 1));
+
+    advance(Duration.ofMillis(999));
+    coalescer.flush();
+    verifyNoInteractions(deliveryPipeline);
+
+    advance(Duration.ofMillis(1));
+    coalescer.flush();
+    NotificationRequest sent = dispatched(1).get(0);
+    assertEquals("transaction-alert", sent.getTemplate());
+    assertEquals("Card transaction 1", sent.getSubject());
+    assertEquals(0, coalescer.getPendingCount());
+  }
+
+  @Test
+  public void burstForOneRecipientBecomesOneDigest() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 1_000);
+    for (int i = 0; i < 200; i++) {
+      submit(coalescer, alert("a@example.com", i));
+    }
+    submit(coalescer, alert("b@example.com", 0));
+
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+
+    List<NotificationRequest> sent = dispatched(2);
+    NotificationRequest digest =
+        sent.stream().filter(r -> r.getRecipientEmail().equals("a@example.com")).findFirst().get();
+    assertEquals(NotificationCoalescer.DIGEST_TEMPLATE, digest.getTemplate());
+    assertEquals(200, digest.getProperties().get("count"));
+    assertEquals(150, digest.getProperties().get("omitted"));
+    assertEquals(50, ((List<?>) digest.getProperties().get("items")).size());
+    assertEquals("Ada", digest.getProperties().get("name"));
+    assertEquals(201.0 / 2, metrics.coalescingRatio());
+    assertEquals(1, meterRegistry.counter("notifications.dispatched", "kind", "digest").count());
+  }
+
+  @Test
+  public void groupsByTemplate() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 100);
+    submit(coalescer, alert("a@example.com", 1));
+    NotificationRequest statement = new NotificationRequest();
+    statement.setRecipientEmail("a@example.com");
+    statement.setSubject("Statement");
+    submit(coalescer, statement);
+
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+
+    assertTrue(
+        dispatched(2).stream()
+            .noneMatch(r -> NotificationCoalescer.DIGEST_TEMPLATE.equals(r.getTemplate())));
+  }
+
+  @Test
+  public void rateLimitedRecipientKeepsCollecting() {
+    NotificationCoalescer coalescer = coalescer(1, 50, 100);
+    submit(coalescer, alert("a@example.com", 1));
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+    dispatched(1);
+
+    // The only token is spent: the next group is held past its window and grows
+    submit(coalescer, alert("a@example.com", 2));
+    advance(Duration.ofMillis(1_000));
+    coalescer.flush();
+    submit(coalescer, alert("a@example.com", 3));
+    verify(deliveryPipeline, times(1)).submit(any(), any());
+    assertEquals(1, meterRegistry.counter("notifications.rate-limited").count());
+
+    // 30 per minute: a token is back two seconds after the first send
+    advance(Duration.ofMillis(1_000));
+    coalescer.flush();
+    NotificationRequest digest = dispatched(2).get(1);
+    assertEquals(2, digest.getProperties().get("count"));
+  }
+
+  @Test
+  public void rejectedDispatchIsRetriedOnALaterFlush() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 100);
+    doThrow(new RejectedExecutionException("full"))
+        .doNothing()
+        .when(deliveryPipeline)
+        .submit(any(), any());
+    submit(coalescer, alert("a@example.com", 1));
+
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+    assertEquals(1, coalescer.getPendingCount());
+
+    coalescer.flush();
+    assertEquals(0, coalescer.getPendingCount());
+    verify(deliveryPipeline, times(2)).submit(any(), any());
+  }
+
+  @Test
+  public void rejectsWhenTooManyRequestsAreHeld() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 2);
+    submit(coalescer, alert("a@example.com", 1));
+    submit(coalescer, alert("b@example.com", 1));
+
+    assertThrows(
+        RejectedExecutionException.class, () -> submit(coalescer, alert("c@example.com", 1)));
+    assertEquals(2, coalescer.getPendingCount());
+  }
+
+  @Test
+  public void completesEveryCoalescedSequenceOnceDelivered() {
+    NotificationCoalescer coalescer = coalescer(5, 1, 100);
+    submit(coalescer, alert("a@example.com", 1));
+    submit(coalescer, alert("a@example.com", 2));
+    submit(coalescer, alert("a@example.com", 3));
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+
+    ArgumentCaptor<Runnable> onFinished = ArgumentCaptor.forClass(Runnable.class);
+    verify(deliveryPipeline).submit(any(), onFinished.capture());
+    verifyNoInteractions(outbox);
+    onFinished.getValue().run();
+    verify(outbox).complete(1, 2, 3);
+  }
+
+  @Test
+  public void restoredRequestsBypassThePendingLimit() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 1);
+    coalescer.restore(alert("a@example.com", 1), 7);
+    coalescer.restore(alert("b@example.com", 1), 8);
+
+    assertEquals(2, coalescer.getPendingCount());
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+    dispatched(2);
+  }
+
+  @Test
+  public void failingGroupDoesNotHoldUpTheOthers() {
+    NotificationCoalescer coalescer = coalescer(5, 50, 100);
+    doThrow(new IllegalStateException("cannot render"))
+        .when(deliveryPipeline)
+        .submit(argThat(r -> "bad@example.com".equals(r.getRecipientEmail())), any());
+    submit(coalescer, alert("bad@example.com", 0));
+    for (int i = 0; i < 10; i++) {
+      submit(coalescer, alert("user" + i + "@example.com", i));
+    }
+
+    advance(Duration.ofSeconds(1));
+    coalescer.flush();
+
+    assertEquals(11, dispatched(11).size());
+    assertEquals(0, coalescer.getPendingCount());
+    // The failed request is kept as a dead letter instead of being replayed on every start
+    ArgumentCaptor<DeadLetterNotification> deadLetter =
+        ArgumentCaptor.forClass(DeadLetterNotification.class);
+    verify(deadLetters).save(deadLetter.capture());
+    assertEquals("bad@example.com", deadLetter.getValue().getRecipientEmail());
+    assertEquals("Card transaction 0", deadLetter.getValue().getSubject());
+    assertEquals("cannot render", deadLetter.getValue().getLastError());
+    assertTrue(deadLetter.getValue().getPropertiesJson().contains("EUR"));
+    verify(outbox).complete(1);
+  }
+}
@@ -0,0 +1,90 @@
+package com.finova.notificationservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class RecipientRateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+  @Test
+  public void allowsBurstThenRefillsAtConfiguredRate() {
+    RecipientRateLimiter limiter = new RecipientRateLimiter(3, 6, now::get);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(limiter.tryAcquire("a@example.com"));
+    }
+    assertFalse(limiter.tryAcquire("a@example.com"));
+
+    // 6 per minute: one token every 10 seconds
+    now.addAndGet(Duration.ofSeconds(9).toNanos());
+    assertFalse(limiter.tryAcquire("a@example.com"));
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertTrue(limiter.tryAcquire("a@example.com"));
+    assertFalse(limiter.tryAcquire("a@example.com"));
+  }
+
+  @Test
+  public void recipientsHaveIndependentBuckets() {
+    RecipientRateLimiter limiter = new RecipientRateLimiter(1, 1, now::get);
+
+    assertTrue(limiter.tryAcquire("a@example.com"));
+    assertFalse(limiter.tryAcquire("a@example.com"));
+    assertTrue(limiter.tryAcquire("b@example.com"));
+  }
+
+  @Test
+  public void evictsOnlyRefilledBuckets() {
+    RecipientRateLimiter limiter = new RecipientRateLimiter(2, 60, now::get);
+    limiter.tryAcquire("a@example.com");
+    limiter.tryAcquire("b@example.com");
+    limiter.tryAcquire("b@example.com");
+
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    limiter.evictFull();
+
+    assertEquals(1, limiter.trackedRecipients());
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    limiter.evictFull();
+    assertEquals(0, limiter.trackedRecipients());
+  }
+
+  @Test
+  public void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+    RecipientRateLimiter limiter = new RecipientRateLimiter(100, 1, now::get);
+    AtomicInteger granted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                  if (limiter.tryAcquire("a@example.com")) {
+                    granted.incrementAndGet();
+                  }
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(100, granted.get());
+  }
+}
@@ -0,0 +1,137 @@
+package com.finova.notificationservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thymeleaf.exceptions.TemplateInputException;
+
+public class TemplateRegistryTest {
+
+  @TempDir Path directory;
+
+  private TemplateRegistry classpathRegistry() {
+    return new TemplateRegistry("classpath*:templates/");
+  }
+
+  private TemplateRegistry directoryRegistry() {
+    return new TemplateRegistry(directory.toUri().toString());
+  }
+
+  private void write(String path, String content) throws IOException {
+    Path file = directory.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void rendersDefaultTemplateWithFragments() {
+    String html =
+        classpathRegistry()
+            .render(
+                TemplateRegistry.DEFAULT_TEMPLATE,
+                null,
+                Map.of("name", "Ada", "message", "Your statement is ready."));
+
+    assertTrue(html.contains("Dear Ada,"));
+    assertTrue(html.contains("Your statement is ready."));
+    assertTrue(html.contains("FinovaBank</td>"));
+    assertTrue(html.contains("This is an automated message from FinovaBank."));
+  }
+
+  @Test
+  public void rendersNamedTemplate() {
+    String html =
+        classpathRegistry()
+            .render(
+                "transaction-alert",
+                null,
+                Map.of("amount", "125.40", "currency", "EUR", "accountNumber", "****1234"));
+
+    assertTrue(html.contains("125.40"));
+    assertTrue(html.contains("EUR"));
+    assertTrue(html.contains("****1234"));
+  }
+
+  @Test
+  public void rendersDigestItems() {
+    String html =
+        classpathRegistry()
+            .render(
+                NotificationCoalescer.DIGEST_TEMPLATE,
+                null,
+                Map.of(
+                    "count", 3,
+                    "omitted", 1,
+                    "items",
+                        List.of(
+                            Map.of("subject", "Card payment", "amount", "12.00", "currency", "EUR"),
+                            Map.of("subject", "Statement", "message", "Your statement is ready"))));
+
+    assertTrue(html.contains("Card payment"));
+    assertTrue(html.contains("12.00"));
+    assertTrue(html.contains("Your statement is ready"));
+    assertTrue(html.contains("And 1 more."));
+  }
+
+  @Test
+  public void unknownTemplateIsRejected() {
+    TemplateRegistry registry = classpathRegistry();
+
+    assertFalse(registry.contains("missing"));
+    assertThrows(IllegalArgumentException.class, () -> registry.render("missing", null, Map.of()));
+  }
+
+  @Test
+  public void fallsBackToClosestLocale() throws IOException {
+    write("greeting.html", "<p>Hello</p>");
+    write("greeting_fr.html", "<p>Bonjour</p>");
+    write("greeting_fr_CA.html", "<p>Allo</p>");
+    TemplateRegistry registry = directoryRegistry();
+
+    assertEquals("<p>Allo</p>", registry.render("greeting", Locale.CANADA_FRENCH, Map.of()));
+    assertEquals("<p>Bonjour</p>", registry.render("greeting", Locale.FRANCE, Map.of()));
+    assertEquals("<p>Hello</p>", registry.render("greeting", Locale.GERMANY, Map.of()));
+    assertEquals("<p>Hello</p>", registry.render("greeting", null, Map.of()));
+  }
+
+  @Test
+  public void reloadPicksUpChangedTemplatesAndFragments() throws IOException {
+    write("fragments/sign-off.html", "<p>Regards</p>");
+    write("letter.html", "<div th:utext=\"${fragments['sign-off']}\"></div>");
+    TemplateRegistry registry = directoryRegistry();
+    assertEquals("<div><p>Regards</p></div>", registry.render("letter", null, Map.of()));
+
+    write("fragments/sign-off.html", "<p>Kind regards</p>");
+    write("letter.html", "<section th:utext=\"${fragments['sign-off']}\"></section>");
+    // Parsed sources are kept until an explicit reload
+    assertEquals("<div><p>Regards</p></div>", registry.render("letter", null, Map.of()));
+
+    registry.reload();
+    assertEquals(
+        "<section><p>Kind regards</p></section>", registry.render("letter", null, Map.of()));
+  }
+
+  @Test
+  public void variantPickedBeforeAReloadStillRendersThenFails() throws IOException {
+    write("letter.html", "<p>First</p>");
+    TemplateRegistry registry = directoryRegistry();
+    String first = registry.variant("letter", null);
+
+    write("letter.html", "<p>Second</p>");
+    registry.reload();
+    // A render that picked its variant just before the reload gets that version, not ""
+    assertEquals("<p>First</p>", registry.process(first, null, Map.of()));
+    assertEquals("<p>Second</p>", registry.render("letter", null, Map.of()));
+
+    registry.reload();
+    assertThrows(TemplateInputException.class, () -> registry.process(first, null, Map.of()));
+  }
+}
@@ -1,29 +1,209 @@
 package com.finova.transaction.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.transaction.dto.CursorPage;
+import com.finova.transaction.dto.IngestionResult;
+import com.finova.transaction.model.DailyAccountAggregate;
 import com.finova.transaction.model.Transaction;
 import com.finova.transaction.service.TransactionService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/transaction")
 public class TransactionController {
 
+  // Rows per pipeline submission and submissions in flight while reading a stream
+  private static final int STREAM_CHUNK_SIZE = 1000;
+  private static final int STREAM_MAX_IN_FLIGHT = 4;
+
   @Autowired private TransactionService transactionService;
 
+  @Autowired private ObjectMapper objectMapper;
+
   @GetMapping("/{id}")
   public Transaction getTransactionById(@PathVariable Long id) {
     return transactionService.getTransactionById(id);
   }
 
+  /**
+   * @deprecated loads every transaction into memory; use {@code GET
+   *     /transaction/account/{accountId}} instead
+   */
+  @Deprecated
   @GetMapping
   public List<Transaction> getAllTransactions() {
     return transactionService.getAllTransactions();
   }
 
+  /**
+   * Newest-first page of an account's transactions, optionally limited to {@code [from, to)}.
+   * Pass {@code nextCursor} from the previous page to continue.
+   */
+  @GetMapping("/account/{accountId}")
+  public CursorPage<Transaction> getAccountTransactions(
+      @PathVariable Long accountId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    return transactionService.getAccountTransactions(accountId, from, to, cursor, size);
+  }
+
+  /** Precomputed per-day totals and closing balances; a year-long statement reads ~365 rows. */
+  @GetMapping("/account/{accountId}/daily")
+  public List<DailyAccountAggregate> getDailyAggregates(
+      @PathVariable Long accountId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate to) {
+    return transactionService.getDailyAggregates(accountId, from, to);
+  }
+
   @PostMapping
   public Transaction createTransaction(@RequestBody Transaction transaction) {
-    return transactionService.createTransaction(transaction);
+    try {
+      return transactionService.createTransaction(transaction);
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+    }
+  }
+
+  /** Inserts a batch with the next group commit; responds once the rows are committed. */
+  @PostMapping("/batch")
+  public CompletableFuture<List<Transaction>> createTransactions(
+      @RequestBody List<Transaction> transactions) {
+    try {
+      return transactionService.ingestTransactions(transactions);
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads newline-delimited JSON transactions and ingests them in chunks as they arrive.
+   *
+   * <p>Each chunk of {@value #STREAM_CHUNK_SIZE} rows commits on its own, and a failure does not
+   * undo chunks that already committed. On failure, reading stops, the chunks already submitted
+   * are allowed to finish, and the response has an error status: 400 for malformed input, 503 if
+   * the ingestion queue stays full, 500 if a commit failed. The body is always the result: {@code
+   * ingested} counts the committed rows, and {@code uncommitted} gives the row ranges to send
+   * again. Chunks behind a failed one may still have committed, so resending from the first
+   * failed row would duplicate them.
+   */
+  @PostMapping(path = "/stream", consumes = "application/x-ndjson")
+  public ResponseEntity<IngestionResult> streamTransactions(InputStream body) {
+    StreamIngestion ingestion = new StreamIngestion();
+    HttpStatus status = HttpStatus.OK;
+    try (MappingIterator<Transaction> rows =
+        objectMapper.readerFor(Transaction.class).readValues(body)) {
+      List<Transaction> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+      while (!ingestion.failed() && rows.hasNextValue()) {
+        chunk.add(rows.nextValue());
+        if (chunk.size() == STREAM_CHUNK_SIZE) {
+          ingestion.submit(chunk);
+          chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        }
+      }
+      if (!ingestion.failed()) {
+        ingestion.submit(chunk);
+        ingestion.readAll = true;
+      }
+    } catch (JsonProcessingException e) {
+      status = HttpStatus.BAD_REQUEST;
+      ingestion.result.setError(e.getOriginalMessage());
+    } catch (RejectedExecutionException e) {
+      status = HttpStatus.SERVICE_UNAVAILABLE;
+      ingestion.result.setError(e.getMessage());
+    } catch (IOException | RuntimeException e) {
+      status = HttpStatus.INTERNAL_SERVER_ERROR;
+      ingestion.result.setError(e.getMessage());
+    }
+    ingestion.finish();
+    if (status == HttpStatus.OK && ingestion.failed()) {
+      status = HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+    return ResponseEntity.status(status).body(ingestion.result);
+  }
+
+  /** Chunks of one stream in submission order, and what became of them. */
+  private final class StreamIngestion {
+    final IngestionResult result = new IngestionResult();
+    final Deque<StreamChunk> inFlight = new ArrayDeque<>();
+    long submitted;
+    boolean readAll;
+
+    void submit(List<Transaction> chunk) {
+      if (chunk.isEmpty()) {
+        return;
+      }
+      // Back-pressure: wait for the oldest commit before reading further
+      if (inFlight.size() >= STREAM_MAX_IN_FLIGHT) {
+        settle(inFlight.poll());
+      }
+      CompletableFuture<List<Transaction>> commit = transactionService.ingestTransactions(chunk);
+      inFlight.add(new StreamChunk(submitted, chunk.size(), commit));
+      submitted += chunk.size();
+    }
+
+    boolean failed() {
+      return !result.getUncommitted().isEmpty();
+    }
+
+    /** Waits for every submitted chunk; if reading stopped early, the rest is uncommitted. */
+    void finish() {
+      while (!inFlight.isEmpty()) {
+        settle(inFlight.poll());
+      }
+      if (!readAll) {
+        result.addUncommitted(submitted, null);
+      }
+    }
+
+    private void settle(StreamChunk chunk) {
+      try {
+        chunk.commit.join();
+        result.setIngested(result.getIngested() + chunk.size);
+      } catch (CompletionException | CancellationException e) {
+        result.addUncommitted(chunk.offset, chunk.offset + chunk.size);
+        if (result.getError() == null) {
+          Throwable cause = e.getCause() != null ? e.getCause() : e;
+          result.setError(cause.getMessage());
+        }
+      }
+    }
+  }
+
+  private static final class StreamChunk {
+    final long offset;
+    final int size;
+    final CompletableFuture<List<Transaction>> commit;
+
+    StreamChunk(long offset, int size, CompletableFuture<List<Transaction>> commit) {
+      this.offset = offset;
+      this.size = size;
+      this.commit = commit;
+    }
   }
 }
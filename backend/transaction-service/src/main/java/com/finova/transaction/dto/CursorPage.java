@@ -0,0 +1,20 @@
+package com.finova.transaction.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to clients and is null on
+ * the last page; no total count is computed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> content;
+  private String nextCursor;
+  private boolean hasNext;
+}
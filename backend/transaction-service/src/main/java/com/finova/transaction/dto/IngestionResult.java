@@ -0,0 +1,42 @@
+package com.finova.transaction.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a streamed ingestion. {@code ingested} rows are committed. After a failure, {@code
+ * uncommitted} lists the rows that are not, by 0-based position in the stream; the last range is
+ * open-ended and covers everything that was not read.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class IngestionResult {
+
+  private long ingested;
+  private String error;
+  private List<RowRange> uncommitted = new ArrayList<>();
+
+  /** Adds {@code [from, to)}, or everything from {@code from} on if {@code to} is null. */
+  public void addUncommitted(long from, Long to) {
+    RowRange last = uncommitted.isEmpty() ? null : uncommitted.get(uncommitted.size() - 1);
+    if (last != null && last.getTo() != null && last.getTo() == from) {
+      last.setTo(to);
+    } else {
+      uncommitted.add(new RowRange(from, to));
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class RowRange {
+    private long from;
+    private Long to;
+  }
+}
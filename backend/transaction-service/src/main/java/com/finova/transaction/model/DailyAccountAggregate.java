@@ -0,0 +1,57 @@
+package com.finova.transaction.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-account, per-day rollup of transactions, maintained incrementally as transactions are
+ * inserted. {@code closingBalance} is the running net of every CREDIT and DEBIT transaction for
+ * the account up to and including {@code businessDate}, whatever the case of its type; it does
+ * not include any opening balance held by account-management. Transactions stored before the
+ * rollup existed are folded in once by {@code DailyAggregateBackfill}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@IdClass(DailyAccountAggregate.Key.class)
+@Table(name = "daily_account_aggregate")
+public class DailyAccountAggregate {
+
+  // The (account_id, business_date) primary key also serves statement range reads
+  @Id private Long accountId;
+
+  @Id private LocalDate businessDate;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal creditTotal;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal debitTotal;
+
+  @Column(nullable = false)
+  private long creditCount;
+
+  @Column(nullable = false)
+  private long debitCount;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal closingBalance;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long accountId;
+    private LocalDate businessDate;
+  }
+}
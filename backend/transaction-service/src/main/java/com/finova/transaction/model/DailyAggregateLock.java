@@ -0,0 +1,20 @@
+package com.finova.transaction.model;
+
+import javax.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per account that has daily rollups. Writers of {@link DailyAccountAggregate} lock it
+ * first, so concurrent updates to the same account's days are applied one after the other.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "daily_account_aggregate_lock")
+public class DailyAggregateLock {
+
+  @Id private Long accountId;
+}
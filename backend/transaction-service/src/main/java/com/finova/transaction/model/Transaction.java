@@ -11,11 +11,21 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "transaction")
+@Table(
+    name = "transaction",
+    indexes = {
+      // Account statements: equality on accountId, range and seek on (timestamp, id)
+      @Index(name = "idx_transaction_account_ts", columnList = "accountId, timestamp, id")
+    })
 public class Transaction {
 
+  // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+  @SequenceGenerator(
+      name = "transaction_seq",
+      sequenceName = "transaction_seq",
+      allocationSize = 500)
   private Long id;
 
   private Long accountId;
@@ -0,0 +1,13 @@
+package com.finova.transaction.repository;
+
+import com.finova.transaction.model.DailyAccountAggregate;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DailyAccountAggregateRepository
+    extends JpaRepository<DailyAccountAggregate, DailyAccountAggregate.Key> {
+
+  List<DailyAccountAggregate> findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAsc(
+      Long accountId, LocalDate from, LocalDate to);
+}
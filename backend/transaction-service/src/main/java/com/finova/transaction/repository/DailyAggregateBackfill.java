@@ -0,0 +1,80 @@
+package com.finova.transaction.repository;
+
+import com.finova.transaction.model.Transaction;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds {@code daily_account_aggregate} from the transactions already stored, the first time the
+ * rollup starts on a database that has history.
+ *
+ * <p>Runs at startup only while the rollup is empty, before this instance ingests anything (the
+ * ingestion pipeline depends on it). Transactions are read in id order, {@code chunk-size} at a
+ * time, and folded in by {@link DailyAggregateWriter}, all in one database transaction: a failed
+ * backfill leaves the rollup empty and runs again on the next start. Other instances must not
+ * ingest meanwhile, so the first start after the rollup is introduced should be a single instance.
+ */
+@Component
+@Slf4j
+public class DailyAggregateBackfill {
+
+  private static final String ANY_AGGREGATE_SQL =
+      "SELECT account_id FROM daily_account_aggregate LIMIT 1";
+
+  private static final String PAGE_SQL =
+      "SELECT * FROM transaction WHERE id > ? ORDER BY id LIMIT ?";
+
+  private static final RowMapper<Transaction> TRANSACTION_MAPPER =
+      new BeanPropertyRowMapper<>(Transaction.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DailyAggregateWriter writer;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  @Autowired
+  public DailyAggregateBackfill(
+      JdbcTemplate jdbcTemplate,
+      DailyAggregateWriter writer,
+      PlatformTransactionManager transactionManager,
+      @Value("${transaction.aggregates.backfill-chunk-size:5000}") int chunkSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.writer = writer;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+  }
+
+  @PostConstruct
+  public void backfill() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          if (!jdbcTemplate.queryForList(ANY_AGGREGATE_SQL, Long.class).isEmpty()) {
+            return;
+          }
+          long lastId = 0;
+          long folded = 0;
+          List<Transaction> page;
+          do {
+            page = jdbcTemplate.query(PAGE_SQL, TRANSACTION_MAPPER, lastId, chunkSize);
+            if (page.isEmpty()) {
+              break;
+            }
+            writer.apply(page);
+            lastId = page.get(page.size() - 1).getId();
+            folded += page.size();
+          } while (page.size() == chunkSize);
+          if (folded > 0) {
+            log.info("Built daily aggregates from {} existing transactions", folded);
+          }
+        });
+  }
+}
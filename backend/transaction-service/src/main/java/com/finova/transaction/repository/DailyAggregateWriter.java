@@ -0,0 +1,213 @@
+package com.finova.transaction.repository;
+
+import com.finova.transaction.model.Transaction;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Folds newly inserted transactions into {@code daily_account_aggregate}.
+ *
+ * <p>Rows are first coalesced in memory per (account, day), so a batch of thousands of postings
+ * costs two JDBC batches plus one insert per account-day seen for the first time. All updates are
+ * relative, and a backdated day shifts the closing balance of every later day. Must run in the
+ * transaction that inserts the rows.
+ *
+ * <p>A new day reads the previous closing balance, and a shift only reaches days that are already
+ * committed, so two writers touching the same account must not overlap. Every batch first locks
+ * the {@code daily_account_aggregate_lock} row of each of its accounts, in id order, and holds the
+ * locks until its transaction ends; writers on other instances then wait for each other per
+ * account. Missing lock rows are created in their own short transactions, so two writers seeing
+ * an account for the first time do not fail each other.
+ */
+@Repository
+public class DailyAggregateWriter {
+
+  private static final String UPDATE_DAY_SQL =
+      "UPDATE daily_account_aggregate SET credit_total = credit_total + ?,"
+          + " debit_total = debit_total + ?, credit_count = credit_count + ?,"
+          + " debit_count = debit_count + ?, closing_balance = closing_balance + ?"
+          + " WHERE account_id = ? AND business_date = ?";
+
+  private static final String SHIFT_LATER_DAYS_SQL =
+      "UPDATE daily_account_aggregate SET closing_balance = closing_balance + ?"
+          + " WHERE account_id = ? AND business_date > ?";
+
+  private static final String PREVIOUS_CLOSING_SQL =
+      "SELECT closing_balance FROM daily_account_aggregate"
+          + " WHERE account_id = ? AND business_date < ?"
+          + " ORDER BY business_date DESC LIMIT 1";
+
+  private static final String INSERT_DAY_SQL =
+      "INSERT INTO daily_account_aggregate (account_id, business_date, credit_total, debit_total,"
+          + " credit_count, debit_count, closing_balance) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_LOCK_SQL =
+      "INSERT INTO daily_account_aggregate_lock (account_id) VALUES (?)";
+
+  private static final String LOCK_SQL =
+      "SELECT account_id FROM daily_account_aggregate_lock WHERE account_id IN (%s)"
+          + " ORDER BY account_id FOR UPDATE";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate newTransaction;
+
+  public DailyAggregateWriter(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void apply(Collection<Transaction> transactions) {
+    List<DayDelta> deltas = coalesce(transactions);
+    if (deltas.isEmpty()) {
+      return;
+    }
+    lockAccounts(deltas);
+
+    int[] updated =
+        jdbcTemplate.batchUpdate(
+            UPDATE_DAY_SQL,
+            deltas,
+            deltas.size(),
+            (ps, delta) -> {
+              ps.setBigDecimal(1, delta.creditTotal);
+              ps.setBigDecimal(2, delta.debitTotal);
+              ps.setLong(3, delta.creditCount);
+              ps.setLong(4, delta.debitCount);
+              ps.setBigDecimal(5, delta.net());
+              ps.setLong(6, delta.accountId);
+              ps.setDate(7, Date.valueOf(delta.businessDate));
+            })[0];
+
+    // Additions commute, so every later day can be shifted in one batch before any inserts
+    jdbcTemplate.batchUpdate(
+        SHIFT_LATER_DAYS_SQL,
+        deltas,
+        deltas.size(),
+        (ps, delta) -> {
+          ps.setBigDecimal(1, delta.net());
+          ps.setLong(2, delta.accountId);
+          ps.setDate(3, Date.valueOf(delta.businessDate));
+        });
+
+    // Ascending (account, day) order: an earlier new day is visible to a later one's lookup
+    for (int i = 0; i < deltas.size(); i++) {
+      if (updated[i] == 0) {
+        insertDay(deltas.get(i));
+      }
+    }
+  }
+
+  private void lockAccounts(List<DayDelta> deltas) {
+    // Deltas are sorted by account, so the ids come out ascending and locks are taken in order
+    List<Long> accountIds =
+        deltas.stream().map(delta -> delta.accountId).distinct().collect(Collectors.toList());
+    String placeholders = String.join(",", Collections.nCopies(accountIds.size(), "?"));
+    String sql = String.format(LOCK_SQL, placeholders);
+    List<Long> locked = jdbcTemplate.queryForList(sql, Long.class, accountIds.toArray());
+    if (locked.size() == accountIds.size()) {
+      return;
+    }
+    Set<Long> present = new HashSet<>(locked);
+    for (Long accountId : accountIds) {
+      if (!present.contains(accountId)) {
+        createLock(accountId);
+      }
+    }
+    jdbcTemplate.queryForList(sql, Long.class, accountIds.toArray());
+  }
+
+  private void createLock(Long accountId) {
+    try {
+      newTransaction.executeWithoutResult(
+          status -> jdbcTemplate.update(INSERT_LOCK_SQL, accountId));
+    } catch (DuplicateKeyException e) {
+      // Another writer created it first; either way the row now exists
+    }
+  }
+
+  private void insertDay(DayDelta delta) {
+    Date businessDate = Date.valueOf(delta.businessDate);
+    List<BigDecimal> previous =
+        jdbcTemplate.queryForList(
+            PREVIOUS_CLOSING_SQL, BigDecimal.class, delta.accountId, businessDate);
+    BigDecimal opening = previous.isEmpty() ? BigDecimal.ZERO : previous.get(0);
+    jdbcTemplate.update(
+        INSERT_DAY_SQL,
+        delta.accountId,
+        businessDate,
+        delta.creditTotal,
+        delta.debitTotal,
+        delta.creditCount,
+        delta.debitCount,
+        opening.add(delta.net()));
+  }
+
+  static List<DayDelta> coalesce(Collection<Transaction> transactions) {
+    Map<Long, Map<LocalDate, DayDelta>> byAccount = new TreeMap<>();
+    for (Transaction transaction : transactions) {
+      // Types are free-form, and "credit" must count the same as "CREDIT"
+      boolean credit = "CREDIT".equalsIgnoreCase(transaction.getType());
+      boolean debit = "DEBIT".equalsIgnoreCase(transaction.getType());
+      if ((!credit && !debit)
+          || transaction.getAccountId() == null
+          || transaction.getAmount() == null
+          || transaction.getTimestamp() == null) {
+        continue;
+      }
+      LocalDate day = transaction.getTimestamp().toLocalDate();
+      DayDelta delta =
+          byAccount
+              .computeIfAbsent(transaction.getAccountId(), id -> new TreeMap<>())
+              .computeIfAbsent(day, d -> new DayDelta(transaction.getAccountId(), d));
+      if (credit) {
+        delta.creditTotal = delta.creditTotal.add(transaction.getAmount());
+        delta.creditCount++;
+      } else {
+        delta.debitTotal = delta.debitTotal.add(transaction.getAmount());
+        delta.debitCount++;
+      }
+    }
+    List<DayDelta> deltas = new ArrayList<>();
+    byAccount.values().forEach(days -> deltas.addAll(days.values()));
+    return deltas;
+  }
+
+  static final class DayDelta {
+    final Long accountId;
+    final LocalDate businessDate;
+    BigDecimal creditTotal = BigDecimal.ZERO;
+    BigDecimal debitTotal = BigDecimal.ZERO;
+    long creditCount;
+    long debitCount;
+
+    DayDelta(Long accountId, LocalDate businessDate) {
+      this.accountId = accountId;
+      this.businessDate = businessDate;
+    }
+
+    BigDecimal net() {
+      return creditTotal.subtract(debitTotal);
+    }
+  }
+}
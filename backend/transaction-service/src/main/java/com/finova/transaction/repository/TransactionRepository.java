@@ -1,6 +1,32 @@
 package com.finova.transaction.repository;
 
 import com.finova.transaction.model.Transaction;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {}
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+  /**
+   * Keyset page of an account's transactions in {@code [from, to)}, newest first, strictly after
+   * the position {@code (afterTimestamp, afterId)}. The first page passes {@code to} and {@link
+   * Long#MAX_VALUE}. Served by the {@code (account_id, timestamp, id)} index; {@code limit} is
+   * always a first page, never an offset.
+   */
+  @Query(
+      "SELECT t FROM Transaction t WHERE t.accountId = :accountId"
+          + " AND t.timestamp >= :from AND t.timestamp < :to"
+          + " AND (t.timestamp < :afterTimestamp"
+          + " OR (t.timestamp = :afterTimestamp AND t.id < :afterId))"
+          + " ORDER BY t.timestamp DESC, t.id DESC")
+  List<Transaction> findPageByAccountId(
+      @Param("accountId") Long accountId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("afterTimestamp") LocalDateTime afterTimestamp,
+      @Param("afterId") Long afterId,
+      Pageable limit);
+}
@@ -0,0 +1,68 @@
+package com.finova.transaction.repository;
+
+import com.finova.transaction.model.Transaction;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Raises {@code transaction_seq} above the ids already in the table.
+ *
+ * <p>Ids used to come from an IDENTITY column. On an existing database the sequence created by
+ * {@code ddl-auto} starts at 1, and the pooled generator would hand out ids that are already taken.
+ * At startup, before any insert, the sequence is moved past {@code max(id)} by at least one
+ * allocation block. It is only ever moved forwards, so blocks other instances already hold stay
+ * valid.
+ */
+@Component
+@Slf4j
+public class TransactionSequenceSeeder {
+
+  static final String SEQUENCE = "transaction_seq";
+  // Must match the allocationSize of the @SequenceGenerator on Transaction
+  static final int ALLOCATION_SIZE = 500;
+
+  private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM transaction";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String nextValueSql;
+
+  @Autowired
+  public TransactionSequenceSeeder(
+      JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+    this(
+        jdbcTemplate,
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+            .getSequenceNextValString(SEQUENCE));
+  }
+
+  TransactionSequenceSeeder(JdbcTemplate jdbcTemplate, String nextValueSql) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.nextValueSql = nextValueSql;
+  }
+
+  @PostConstruct
+  public void seed() {
+    long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+    // The pooled optimizer hands out the block below each value it reads
+    long required = maxId + ALLOCATION_SIZE + 1;
+    // Reading the sequence costs one block per startup, which is cheap next to a collision
+    long next = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+    if (next < required) {
+      log.info(
+          "Moving {} from {} to {}, past the existing {} ids",
+          SEQUENCE,
+          next,
+          required,
+          Transaction.class.getSimpleName());
+      jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + required);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.finova.transaction.service;
+
+import com.finova.transaction.model.Transaction;
+import com.finova.transaction.repository.DailyAggregateWriter;
+import com.finova.transaction.repository.TransactionRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Group-commit writer for transaction ingestion.
+ *
+ * <p>Callers enqueue batches and get a future. A single writer thread drains whatever batches are
+ * waiting (up to {@code max-group-size} rows), inserts them in one database transaction using
+ * Hibernate JDBC batching, and completes every future in the group after the commit. Under load
+ * many HTTP requests share one commit; when idle a batch is written as soon as it arrives.
+ *
+ * <p>The daily rollup is updated in the same transaction, and because there is one writer thread
+ * per instance the rollup never sees concurrent updates from this node.
+ */
+@Component
+// History is folded into the rollup before the first batch is written
+@DependsOn("dailyAggregateBackfill")
+@Slf4j
+public class TransactionIngestionPipeline {
+
+  private final TransactionRepository transactionRepository;
+  private final DailyAggregateWriter aggregateWriter;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingBatch> queue;
+  private final int maxGroupSize;
+  private final long offerTimeoutMs;
+
+  private volatile boolean running;
+  private Thread writer;
+
+  public TransactionIngestionPipeline(
+      TransactionRepository transactionRepository,
+      DailyAggregateWriter aggregateWriter,
+      PlatformTransactionManager transactionManager,
+      @Value("${transaction.ingestion.queue-capacity:1000}") int queueCapacity,
+      @Value("${transaction.ingestion.max-group-size:5000}") int maxGroupSize,
+      @Value("${transaction.ingestion.offer-timeout-ms:1000}") long offerTimeoutMs) {
+    this.transactionRepository = transactionRepository;
+    this.aggregateWriter = aggregateWriter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxGroupSize = maxGroupSize;
+    this.offerTimeoutMs = offerTimeoutMs;
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    writer = new Thread(this::run, "transaction-ingestion-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    // No interrupt: the writer may be inside a JDBC call. It exits after draining the queue.
+    running = false;
+    if (writer != null) {
+      writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+  }
+
+  /**
+   * Enqueues a batch for the next group commit. The future completes with the saved transactions
+   * once they are durable, or exceptionally if the insert fails.
+   *
+   * @throws RejectedExecutionException if the queue stays full for {@code offer-timeout-ms}
+   */
+  public CompletableFuture<List<Transaction>> submit(List<Transaction> transactions) {
+    PendingBatch batch = new PendingBatch(transactions);
+    if (transactions.isEmpty()) {
+      batch.future.complete(transactions);
+      return batch.future;
+    }
+    try {
+      if (!running || !queue.offer(batch, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+        throw new RejectedExecutionException("Transaction ingestion queue is full");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while enqueueing transactions", e);
+    }
+    return batch.future;
+  }
+
+  private void run() {
+    List<PendingBatch> group = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingBatch first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        group.add(first);
+        int rows = first.transactions.size();
+        PendingBatch next;
+        while (rows < maxGroupSize && (next = queue.poll()) != null) {
+          group.add(next);
+          rows += next.transactions.size();
+        }
+        commit(group, rows);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Unexpected error in ingestion writer", e);
+      } finally {
+        group.clear();
+      }
+    }
+  }
+
+  // Package-private so tests can drive a group commit without the writer thread
+  void commit(List<PendingBatch> group, int rows) {
+    List<Transaction> all = new ArrayList<>(rows);
+    for (PendingBatch batch : group) {
+      all.addAll(batch.transactions);
+    }
+    try {
+      insert(all);
+      group.forEach(batch -> batch.future.complete(batch.transactions));
+      log.debug("Group commit of {} transactions from {} batches", rows, group.size());
+    } catch (RuntimeException e) {
+      if (group.size() == 1) {
+        group.get(0).future.completeExceptionally(e);
+        return;
+      }
+      // Isolate the failing batch so one bad request does not fail its neighbours
+      log.warn("Group commit of {} batches failed, retrying individually", group.size(), e);
+      for (PendingBatch batch : group) {
+        try {
+          insert(batch.transactions);
+          batch.future.complete(batch.transactions);
+        } catch (RuntimeException batchError) {
+          batch.future.completeExceptionally(batchError);
+        }
+      }
+    }
+  }
+
+  private void insert(List<Transaction> transactions) {
+    LocalDateTime now = LocalDateTime.now();
+    for (Transaction transaction : transactions) {
+      // Ids are assigned by the pooled sequence; a retried batch must not look detached
+      transaction.setId(null);
+      if (transaction.getTimestamp() == null) {
+        transaction.setTimestamp(now);
+      }
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          transactionRepository.saveAll(transactions);
+          aggregateWriter.apply(transactions);
+        });
+  }
+
+  static final class PendingBatch {
+    final List<Transaction> transactions;
+    final CompletableFuture<List<Transaction>> future = new CompletableFuture<>();
+
+    PendingBatch(List<Transaction> transactions) {
+      this.transactions = transactions;
+    }
+  }
+}
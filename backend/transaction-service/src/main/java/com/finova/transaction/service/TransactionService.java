@@ -1,12 +1,36 @@
 package com.finova.transaction.service;
 
+import com.finova.transaction.dto.CursorPage;
+import com.finova.transaction.model.DailyAccountAggregate;
 import com.finova.transaction.model.Transaction;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface TransactionService {
   Transaction getTransactionById(Long id);
 
+  /**
+   * @deprecated unbounded; use {@link #getAccountTransactions} instead
+   */
+  @Deprecated
   List<Transaction> getAllTransactions();
 
+  /**
+   * Newest-first keyset page of an account's transactions in {@code [from, to)}. Either bound may
+   * be null. Pass the previous page's {@code nextCursor} to continue.
+   */
+  CursorPage<Transaction> getAccountTransactions(
+      Long accountId, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
   Transaction createTransaction(Transaction transaction);
+
+  /**
+   * Daily credit/debit totals, counts and closing balances for {@code [from, to]}, inclusive.
+   * Defaults to the twelve months ending today; days without transactions have no row.
+   */
+  List<DailyAccountAggregate> getDailyAggregates(Long accountId, LocalDate from, LocalDate to);
+
+  CompletableFuture<List<Transaction>> ingestTransactions(List<Transaction> transactions);
 }
@@ -1,29 +1,127 @@
 package com.finova.transaction.service.impl;
 
+import com.finova.transaction.dto.CursorPage;
+import com.finova.transaction.model.DailyAccountAggregate;
 import com.finova.transaction.model.Transaction;
+import com.finova.transaction.repository.DailyAccountAggregateRepository;
 import com.finova.transaction.repository.TransactionRepository;
+import com.finova.transaction.service.TransactionIngestionPipeline;
 import com.finova.transaction.service.TransactionService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
+  // Open range bounds; both fit a SQL timestamp column
+  private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int MAX_AGGREGATE_DAYS = 3660;
+
   @Autowired private TransactionRepository transactionRepository;
 
+  @Autowired private TransactionIngestionPipeline ingestionPipeline;
+
+  @Autowired private DailyAccountAggregateRepository aggregateRepository;
+
   @Override
   public Transaction getTransactionById(Long id) {
     return transactionRepository.findById(id).orElse(null);
   }
 
   @Override
+  @Deprecated
   public List<Transaction> getAllTransactions() {
     return transactionRepository.findAll();
   }
 
+  @Override
+  public CursorPage<Transaction> getAccountTransactions(
+      Long accountId, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+    int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    LocalDateTime lower = from != null ? from : EARLIEST;
+    LocalDateTime upper = to != null ? to : LATEST;
+
+    LocalDateTime afterTimestamp = upper;
+    Long afterId = Long.MAX_VALUE;
+    if (cursor != null && !cursor.isEmpty()) {
+      String[] position = decodeCursor(cursor);
+      afterTimestamp = LocalDateTime.parse(position[0]);
+      afterId = Long.parseLong(position[1]);
+    }
+
+    // One extra row tells us whether there is a next page without a count query
+    List<Transaction> rows =
+        transactionRepository.findPageByAccountId(
+            accountId, lower, upper, afterTimestamp, afterId, PageRequest.of(0, limit + 1));
+    boolean hasNext = rows.size() > limit;
+    List<Transaction> content = hasNext ? rows.subList(0, limit) : rows;
+    String nextCursor = hasNext ? encodeCursor(content.get(limit - 1)) : null;
+    return new CursorPage<>(content, nextCursor, hasNext);
+  }
+
   @Override
   public Transaction createTransaction(Transaction transaction) {
-    return transactionRepository.save(transaction);
+    // Single rows go through the pipeline too, so the daily rollup has one writer
+    try {
+      return ingestionPipeline.submit(List.of(transaction)).join().get(0);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public List<DailyAccountAggregate> getDailyAggregates(
+      Long accountId, LocalDate from, LocalDate to) {
+    LocalDate upper = to != null ? to : LocalDate.now();
+    LocalDate lower = from != null ? from : upper.minusYears(1).plusDays(1);
+    if (lower.isAfter(upper)) {
+      throw new RuntimeException("Invalid date range: " + lower + " is after " + upper);
+    }
+    if (lower.plusDays(MAX_AGGREGATE_DAYS).isBefore(upper)) {
+      throw new RuntimeException("Date range exceeds " + MAX_AGGREGATE_DAYS + " days");
+    }
+    return aggregateRepository.findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAsc(
+        accountId, lower, upper);
+  }
+
+  @Override
+  public CompletableFuture<List<Transaction>> ingestTransactions(List<Transaction> transactions) {
+    return ingestionPipeline.submit(transactions);
+  }
+
+  private static String encodeCursor(Transaction last) {
+    String position = last.getTimestamp() + "|" + last.getId();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static String[] decodeCursor(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      String[] position = decoded.split("\\|", -1);
+      if (position.length != 2) {
+        throw new IllegalArgumentException(decoded);
+      }
+      LocalDateTime.parse(position[0]);
+      Long.parseLong(position[1]);
+      return position;
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new RuntimeException("Invalid pagination cursor: " + cursor);
+    }
   }
 }
@@ -0,0 +1,97 @@
+package com.finova.transaction.benchmark;
+
+import com.finova.transaction.TransactionServiceApplication;
+import com.finova.transaction.model.Transaction;
+import com.finova.transaction.service.TransactionService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Inserts {@code rows} transactions per operation, once with one {@code createTransaction} call
+ * per row and once through the batched group-commit pipeline. Runs against in-memory H2 by
+ * default; pass {@code -Dbenchmark.datasource.url=jdbc:postgresql://...} (plus {@code
+ * benchmark.datasource.user/pass}, with the Postgres driver on the classpath) to measure against
+ * a real database, where the per-row round trips dominate.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.finova.transaction.benchmark.TransactionIngestionBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionIngestionBenchmark {
+
+  @Param({"1000"})
+  public int rows;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<String> args = new ArrayList<>();
+    args.add("--spring.jpa.show-sql=false");
+    args.add("--logging.level.root=WARN");
+    args.add("--server.port=0");
+    args.add("--eureka.client.enabled=false");
+    String url = System.getProperty("benchmark.datasource.url");
+    if (url != null) {
+      args.add("--spring.datasource.url=" + url);
+      args.add("--spring.datasource.username=" + System.getProperty("benchmark.datasource.user"));
+      args.add("--spring.datasource.password=" + System.getProperty("benchmark.datasource.pass"));
+    }
+    context =
+        SpringApplication.run(TransactionServiceApplication.class, args.toArray(new String[0]));
+    transactionService = context.getBean(TransactionService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  private List<Transaction> newRows() {
+    List<Transaction> transactions = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Transaction transaction = new Transaction();
+      transaction.setAccountId((long) (i % 100));
+      transaction.setAmount(new BigDecimal("12.34"));
+      transaction.setType(i % 2 == 0 ? "CREDIT" : "DEBIT");
+      transactions.add(transaction);
+    }
+    return transactions;
+  }
+
+  @Benchmark
+  public int perRow() {
+    List<Transaction> transactions = newRows();
+    for (Transaction transaction : transactions) {
+      transactionService.createTransaction(transaction);
+    }
+    return transactions.size();
+  }
+
+  @Benchmark
+  public int batched() {
+    return transactionService.ingestTransactions(newRows()).join().size();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder().include(TransactionIngestionBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,98 @@
+package com.finova.transaction.controller;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finova.transaction.model.Transaction;
+import com.finova.transaction.service.TransactionService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionStreamTest {
+
+  @Mock private TransactionService transactionService;
+
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+  @InjectMocks private TransactionController controller;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  public void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  private static String rows(int count) {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      body.append("{\"accountId\":1,\"type\":\"CREDIT\",\"amount\":1.00}\n");
+    }
+    return body.toString();
+  }
+
+  private static MockHttpServletRequestBuilder stream(String body) {
+    return post("/transaction/stream").contentType("application/x-ndjson").content(body);
+  }
+
+  private static CompletableFuture<List<Transaction>> committed() {
+    return CompletableFuture.completedFuture(List.of());
+  }
+
+  @Test
+  public void testStreamReportsEveryCommittedRow() throws Exception {
+    when(transactionService.ingestTransactions(anyList())).thenReturn(committed());
+
+    mockMvc
+        .perform(stream(rows(2500)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ingested").value(2500))
+        .andExpect(jsonPath("$.uncommitted").doesNotExist());
+  }
+
+  @Test
+  public void testFailedChunkIsReportedWithoutHidingTheOthers() throws Exception {
+    // The chunk behind the failed one was already submitted, and commits on its own
+    when(transactionService.ingestTransactions(anyList()))
+        .thenReturn(
+            committed(),
+            CompletableFuture.failedFuture(new IllegalStateException("commit failed")),
+            committed());
+
+    mockMvc
+        .perform(stream(rows(2500)))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.ingested").value(1500))
+        .andExpect(jsonPath("$.error").value("commit failed"))
+        .andExpect(jsonPath("$.uncommitted.length()").value(1))
+        .andExpect(jsonPath("$.uncommitted[0].from").value(1000))
+        .andExpect(jsonPath("$.uncommitted[0].to").value(2000));
+  }
+
+  @Test
+  public void testMalformedRowStopsTheStreamAfterTheCommittedChunks() throws Exception {
+    when(transactionService.ingestTransactions(anyList())).thenReturn(committed());
+
+    mockMvc
+        .perform(stream(rows(1200) + "{\"accountId\":\n" + rows(10)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.ingested").value(1000))
+        .andExpect(jsonPath("$.uncommitted[0].from").value(1000))
+        .andExpect(jsonPath("$.uncommitted[0].to").doesNotExist());
+    verify(transactionService, times(1)).ingestTransactions(anyList());
+  }
+}
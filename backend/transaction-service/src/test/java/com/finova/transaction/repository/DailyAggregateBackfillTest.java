@@ -0,0 +1,97 @@
+package com.finova.transaction.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class DailyAggregateBackfillTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private DailyAggregateBackfill backfill;
+
+  @BeforeEach
+  public void setUp() {
+    DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:backfill;DB_CLOSE_DELAY=-1");
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute(
+        "CREATE TABLE transaction (id BIGINT PRIMARY KEY, account_id BIGINT,"
+            + " amount DECIMAL(19,2), type VARCHAR(20), timestamp TIMESTAMP)");
+    jdbcTemplate.execute(
+        "CREATE TABLE daily_account_aggregate (account_id BIGINT NOT NULL,"
+            + " business_date DATE NOT NULL, credit_total DECIMAL(19,2) NOT NULL,"
+            + " debit_total DECIMAL(19,2) NOT NULL, credit_count BIGINT NOT NULL,"
+            + " debit_count BIGINT NOT NULL, closing_balance DECIMAL(19,2) NOT NULL,"
+            + " PRIMARY KEY (account_id, business_date))");
+    jdbcTemplate.execute(
+        "CREATE TABLE daily_account_aggregate_lock (account_id BIGINT PRIMARY KEY)");
+    backfill =
+        new DailyAggregateBackfill(
+            jdbcTemplate,
+            new DailyAggregateWriter(jdbcTemplate, transactionManager),
+            transactionManager,
+            2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    jdbcTemplate.execute("DROP TABLE transaction");
+    jdbcTemplate.execute("DROP TABLE daily_account_aggregate");
+    jdbcTemplate.execute("DROP TABLE daily_account_aggregate_lock");
+  }
+
+  private void transaction(long id, String type, String amount, int day) {
+    jdbcTemplate.update(
+        "INSERT INTO transaction VALUES (?, 1, ?, ?, ?)",
+        id,
+        new BigDecimal(amount),
+        type,
+        LocalDateTime.of(2024, 1, day, 10, 30));
+  }
+
+  private BigDecimal closing(int day) {
+    return jdbcTemplate.queryForObject(
+        "SELECT closing_balance FROM daily_account_aggregate"
+            + " WHERE account_id = 1 AND business_date = ?",
+        BigDecimal.class,
+        LocalDate.of(2024, 1, day));
+  }
+
+  @Test
+  public void testExistingHistoryIsFoldedInWhateverTheCaseOfItsType() {
+    // Out of date order across pages of two, as ids are not assigned by date
+    transaction(1, "CREDIT", "100.00", 5);
+    transaction(2, "credit", "10.00", 1);
+    transaction(3, "Debit", "30.00", 5);
+    transaction(4, "FEE", "1.00", 5);
+    transaction(5, "debit", "5.00", 3);
+
+    backfill.backfill();
+
+    assertEquals(0, new BigDecimal("10.00").compareTo(closing(1)));
+    assertEquals(0, new BigDecimal("5.00").compareTo(closing(3)));
+    assertEquals(0, new BigDecimal("75.00").compareTo(closing(5)));
+  }
+
+  @Test
+  public void testNothingIsFoldedInOnceTheRollupHasRows() {
+    transaction(1, "CREDIT", "100.00", 5);
+    backfill.backfill();
+    transaction(2, "CREDIT", "50.00", 6);
+
+    backfill.backfill();
+
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_account_aggregate", Integer.class));
+  }
+}
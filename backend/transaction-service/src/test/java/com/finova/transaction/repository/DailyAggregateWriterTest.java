@@ -0,0 +1,172 @@
+package com.finova.transaction.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.finova.transaction.model.Transaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class DailyAggregateWriterTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private DailyAggregateWriter writer;
+
+  @BeforeEach
+  public void setUp() {
+    DataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:aggregates;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    jdbcTemplate.execute(
+        "CREATE TABLE daily_account_aggregate (account_id BIGINT NOT NULL,"
+            + " business_date DATE NOT NULL, credit_total DECIMAL(19,2) NOT NULL,"
+            + " debit_total DECIMAL(19,2) NOT NULL, credit_count BIGINT NOT NULL,"
+            + " debit_count BIGINT NOT NULL, closing_balance DECIMAL(19,2) NOT NULL,"
+            + " PRIMARY KEY (account_id, business_date))");
+    jdbcTemplate.execute(
+        "CREATE TABLE daily_account_aggregate_lock (account_id BIGINT PRIMARY KEY)");
+    writer = new DailyAggregateWriter(jdbcTemplate, transactionManager);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    jdbcTemplate.execute("DROP TABLE daily_account_aggregate");
+    jdbcTemplate.execute("DROP TABLE daily_account_aggregate_lock");
+  }
+
+  private static Transaction transaction(long accountId, String type, String amount, int day) {
+    Transaction transaction = new Transaction();
+    transaction.setAccountId(accountId);
+    transaction.setType(type);
+    transaction.setAmount(new BigDecimal(amount));
+    transaction.setTimestamp(LocalDateTime.of(2024, 1, day, 10, 30));
+    return transaction;
+  }
+
+  private Map<String, Object> day(long accountId, int day) {
+    return jdbcTemplate.queryForMap(
+        "SELECT * FROM daily_account_aggregate WHERE account_id = ? AND business_date = ?",
+        accountId,
+        LocalDate.of(2024, 1, day));
+  }
+
+  private BigDecimal closing(long accountId, int day) {
+    return (BigDecimal) day(accountId, day).get("CLOSING_BALANCE");
+  }
+
+  @Test
+  public void testBatchIsCoalescedPerAccountAndDay() {
+    writer.apply(
+        List.of(
+            transaction(1, "CREDIT", "100.00", 1),
+            transaction(1, "DEBIT", "30.00", 1),
+            transaction(1, "CREDIT", "5.00", 1),
+            transaction(1, "DEBIT", "10.00", 2),
+            transaction(2, "CREDIT", "7.00", 1),
+            transaction(2, "FEE", "1.00", 1)));
+
+    Map<String, Object> first = day(1, 1);
+    assertEquals(0, new BigDecimal("105.00").compareTo((BigDecimal) first.get("CREDIT_TOTAL")));
+    assertEquals(0, new BigDecimal("30.00").compareTo((BigDecimal) first.get("DEBIT_TOTAL")));
+    assertEquals(2L, ((Number) first.get("CREDIT_COUNT")).longValue());
+    assertEquals(1L, ((Number) first.get("DEBIT_COUNT")).longValue());
+    assertEquals(0, new BigDecimal("75.00").compareTo(closing(1, 1)));
+    assertEquals(0, new BigDecimal("65.00").compareTo(closing(1, 2)));
+    assertEquals(0, new BigDecimal("7.00").compareTo(closing(2, 1)));
+  }
+
+  @Test
+  public void testLaterBatchesAccumulateAndBackdatedDaysShiftClosingBalances() {
+    writer.apply(List.of(transaction(1, "CREDIT", "50.00", 10)));
+    writer.apply(List.of(transaction(1, "CREDIT", "25.00", 10)));
+    writer.apply(List.of(transaction(1, "CREDIT", "20.00", 20)));
+
+    // Backdated: a new day before existing ones, and a posting to an existing earlier day
+    writer.apply(
+        List.of(transaction(1, "DEBIT", "5.00", 3), transaction(1, "DEBIT", "15.00", 10)));
+
+    assertEquals(0, new BigDecimal("-5.00").compareTo(closing(1, 3)));
+    assertEquals(0, new BigDecimal("55.00").compareTo(closing(1, 10)));
+    assertEquals(0, new BigDecimal("75.00").compareTo(closing(1, 20)));
+    assertEquals(2L, ((Number) day(1, 10).get("CREDIT_COUNT")).longValue());
+  }
+
+  @Test
+  public void testNewDayBetweenExistingDaysOpensFromPreviousClose() {
+    writer.apply(
+        List.of(transaction(3, "CREDIT", "10.00", 1), transaction(3, "CREDIT", "10.00", 9)));
+    writer.apply(List.of(transaction(3, "CREDIT", "1.00", 5)));
+
+    assertEquals(0, new BigDecimal("11.00").compareTo(closing(3, 5)));
+    assertEquals(0, new BigDecimal("21.00").compareTo(closing(3, 9)));
+  }
+
+  @Test
+  public void testConcurrentWritersToTheSameAccountAreSerialized() throws Exception {
+    CountDownLatch firstApplied = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> first =
+          executor.submit(
+              () ->
+                  transactionTemplate.executeWithoutResult(
+                      status -> {
+                        writer.apply(List.of(transaction(7, "CREDIT", "10.00", 5)));
+                        firstApplied.countDown();
+                        await(releaseFirst);
+                      }));
+      assertTrue(firstApplied.await(5, TimeUnit.SECONDS));
+
+      // Same new day, and a backdated new day whose shift must reach the first writer's row
+      Future<?> second =
+          executor.submit(
+              () ->
+                  transactionTemplate.executeWithoutResult(
+                      status ->
+                          writer.apply(
+                              List.of(
+                                  transaction(7, "CREDIT", "1.00", 3),
+                                  transaction(7, "CREDIT", "2.00", 5)))));
+      assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+      releaseFirst.countDown();
+      first.get(5, TimeUnit.SECONDS);
+      second.get(5, TimeUnit.SECONDS);
+    } finally {
+      releaseFirst.countDown();
+      executor.shutdownNow();
+    }
+
+    assertEquals(0, new BigDecimal("1.00").compareTo(closing(7, 3)));
+    assertEquals(0, new BigDecimal("13.00").compareTo(closing(7, 5)));
+    assertEquals(2L, ((Number) day(7, 5).get("CREDIT_COUNT")).longValue());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
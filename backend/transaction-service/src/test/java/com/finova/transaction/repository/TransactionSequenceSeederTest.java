@@ -0,0 +1,61 @@
+package com.finova.transaction.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class TransactionSequenceSeederTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionSequenceSeeder seeder;
+  private String nextValueSql;
+
+  @BeforeEach
+  public void setUp() {
+    jdbcTemplate =
+        new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:sequence;DB_CLOSE_DELAY=-1"));
+    // What ddl-auto creates next to a table that used to have IDENTITY ids
+    jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT PRIMARY KEY, amount DECIMAL(19,2))");
+    jdbcTemplate.execute("CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 500");
+    nextValueSql = new H2Dialect().getSequenceNextValString(TransactionSequenceSeeder.SEQUENCE);
+    seeder = new TransactionSequenceSeeder(jdbcTemplate, nextValueSql);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    jdbcTemplate.execute("DROP TABLE transaction");
+    jdbcTemplate.execute("DROP SEQUENCE transaction_seq");
+  }
+
+  private long nextValue() {
+    return jdbcTemplate.queryForObject(nextValueSql, Long.class);
+  }
+
+  @Test
+  public void movesTheSequencePastExistingIds() {
+    for (long id = 1; id <= 1_234; id++) {
+      jdbcTemplate.update("INSERT INTO transaction (id, amount) VALUES (?, 1.00)", id);
+    }
+
+    seeder.seed();
+
+    // The first block the pooled optimizer takes starts above every existing id
+    assertTrue(nextValue() - TransactionSequenceSeeder.ALLOCATION_SIZE + 1 > 1_234);
+  }
+
+  @Test
+  public void neverMovesTheSequenceBackwards() {
+    jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH 100001");
+    jdbcTemplate.update("INSERT INTO transaction (id, amount) VALUES (10, 1.00)");
+
+    seeder.seed();
+
+    // Untouched apart from the one value seed() read while checking
+    assertEquals(100_001 + 500, nextValue());
+  }
+}
@@ -0,0 +1,119 @@
+package com.finova.transaction.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.finova.transaction.model.Transaction;
+import com.finova.transaction.repository.DailyAggregateWriter;
+import com.finova.transaction.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TransactionIngestionPipelineTest {
+
+  @Mock private TransactionRepository transactionRepository;
+
+  @Mock private DailyAggregateWriter aggregateWriter;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private TransactionIngestionPipeline pipeline;
+
+  @BeforeEach
+  public void setUp() {
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    pipeline =
+        new TransactionIngestionPipeline(
+            transactionRepository, aggregateWriter, transactionManager, 10, 100, 100);
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    pipeline.stop();
+  }
+
+  private static List<Transaction> batch(int size, String type) {
+    List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Transaction transaction = new Transaction();
+      transaction.setAccountId((long) i);
+      transaction.setAmount(BigDecimal.ONE);
+      transaction.setType(type);
+      transactions.add(transaction);
+    }
+    return transactions;
+  }
+
+  @Test
+  public void testQueuedBatchesShareOneCommit() {
+    List<TransactionIngestionPipeline.PendingBatch> group = new ArrayList<>();
+    group.add(new TransactionIngestionPipeline.PendingBatch(batch(3, "CREDIT")));
+    group.add(new TransactionIngestionPipeline.PendingBatch(batch(2, "DEBIT")));
+
+    pipeline.commit(group, 5);
+
+    verify(transactionRepository, times(1)).saveAll(hasSize(5));
+    verify(transactionManager, times(1)).commit(any());
+    verify(aggregateWriter, times(1)).apply(hasSize(5));
+    assertTrue(group.get(0).future.isDone());
+    assertNotNull(group.get(1).future.join().get(0).getTimestamp());
+  }
+
+  @Test
+  public void testFailingBatchIsIsolatedFromItsGroup() {
+    when(transactionRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Transaction> rows = invocation.getArgument(0);
+              if (rows.stream().anyMatch(t -> "BAD".equals(t.getType()))) {
+                throw new IllegalStateException("constraint violation");
+              }
+              return rows;
+            });
+    List<TransactionIngestionPipeline.PendingBatch> group = new ArrayList<>();
+    group.add(new TransactionIngestionPipeline.PendingBatch(batch(2, "CREDIT")));
+    group.add(new TransactionIngestionPipeline.PendingBatch(batch(1, "BAD")));
+
+    pipeline.commit(group, 3);
+
+    assertEquals(2, group.get(0).future.join().size());
+    assertTrue(group.get(1).future.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testSubmitCompletesAfterWriterCommits() throws Exception {
+    pipeline.start();
+    CompletableFuture<List<Transaction>> future = pipeline.submit(batch(4, "CREDIT"));
+
+    assertEquals(4, future.get(5, TimeUnit.SECONDS).size());
+    verify(transactionRepository, times(1)).saveAll(anyList());
+  }
+
+  @Test
+  public void testSubmitIsRejectedWhenPipelineIsNotRunning() {
+    assertThrows(RejectedExecutionException.class, () -> pipeline.submit(batch(1, "CREDIT")));
+  }
+
+  private static List<Transaction> hasSize(int size) {
+    return ArgumentMatchers.<List<Transaction>>argThat(list -> list != null && list.size() == size);
+  }
+}
@@ -1,28 +1,94 @@
 package com.finovabank.services;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.finova.transaction.dto.CursorPage;
+import com.finova.transaction.model.Transaction;
+import com.finova.transaction.repository.TransactionRepository;
+import com.finova.transaction.service.impl.TransactionServiceImpl;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-// Placeholder: Replace with actual service and repository classes
-// import com.finova.transaction.service.impl.TransactionServiceImpl;
-// import com.finova.transaction.repository.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 public class TransactionServiceTest {
 
-  // @Mock
-  // private TransactionRepository transactionRepository;
+  @Mock private TransactionRepository transactionRepository;
+
+  @InjectMocks private TransactionServiceImpl transactionService;
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 12, 0);
 
-  // @InjectMocks
-  // private TransactionServiceImpl transactionService;
+  private static Transaction transaction(long id, LocalDateTime timestamp) {
+    Transaction transaction = new Transaction();
+    transaction.setId(id);
+    transaction.setAccountId(7L);
+    transaction.setTimestamp(timestamp);
+    return transaction;
+  }
+
+  private static List<Transaction> newestFirst(int count) {
+    List<Transaction> rows = new ArrayList<>();
+    for (int i = count; i > 0; i--) {
+      rows.add(transaction(i, T0.plusMinutes(i)));
+    }
+    return rows;
+  }
 
   @Test
   public void testGetTransactionsByAccountId() {
-    // Mock repository behavior
-    // Call service method
-    // Assert results
+    when(transactionRepository.findPageByAccountId(
+            eq(7L), any(), any(), any(), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 3))))
+        .thenReturn(newestFirst(3));
+
+    CursorPage<Transaction> page = transactionService.getAccountTransactions(7L, null, T0, null, 2);
+
+    assertEquals(2, page.getContent().size());
+    assertTrue(page.isHasNext());
+    assertNotNull(page.getNextCursor());
+  }
+
+  @Test
+  public void testCursorResumesAfterLastRowOfPreviousPage() {
+    when(transactionRepository.findPageByAccountId(
+            any(), any(), any(), any(), any(), any(Pageable.class)))
+        .thenReturn(newestFirst(3))
+        .thenReturn(List.of(transaction(1, T0.plusMinutes(1))));
+
+    CursorPage<Transaction> first =
+        transactionService.getAccountTransactions(7L, null, null, null, 2);
+    CursorPage<Transaction> second =
+        transactionService.getAccountTransactions(7L, null, null, first.getNextCursor(), 2);
+
+    ArgumentCaptor<LocalDateTime> afterTimestamp = ArgumentCaptor.forClass(LocalDateTime.class);
+    ArgumentCaptor<Long> afterId = ArgumentCaptor.forClass(Long.class);
+    verify(transactionRepository, times(2))
+        .findPageByAccountId(
+            eq(7L), any(), any(), afterTimestamp.capture(), afterId.capture(), any());
+    assertEquals(T0.plusMinutes(2), afterTimestamp.getAllValues().get(1));
+    assertEquals(2L, afterId.getAllValues().get(1));
+    assertFalse(second.isHasNext());
+    assertNull(second.getNextCursor());
   }
 
-  // Add more test methods for other service operations
+  @Test
+  public void testInvalidCursorIsRejected() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () -> transactionService.getAccountTransactions(7L, null, null, "bm9wZQ", 10));
+    assertEquals("Invalid pagination cursor: bm9wZQ", e.getMessage());
+    verifyNoInteractions(transactionRepository);
+  }
 }